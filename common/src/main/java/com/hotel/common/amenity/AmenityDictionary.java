@@ -0,0 +1,233 @@
+package com.hotel.common.amenity;
+
+import com.hotel.common.entity.Equipement;
+import com.hotel.common.exception.BusinessException;
+import com.hotel.common.repository.EquipementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Interned amenity names, each mapped to one bit of {@code chambres.equipements_mask}.
+ *
+ * <p>The dictionary is an immutable snapshot swapped on change, so a decoded room shares its name instances
+ * with every other room. Names are added in their own transaction: an id stays valid even when the room write
+ * that introduced it rolls back. Another API sharing the database may add names; an unknown bit or name
+ * triggers a reload.
+ */
+@Slf4j
+@Component
+public class AmenityDictionary implements InitializingBean {
+
+    /**
+     * One bit of a {@code BIGINT} per amenity.
+     */
+    public static final int CAPACITY = Long.SIZE;
+
+    private static final String LEGACY_TABLE = "chambre_equipements";
+    private static final long MIGRATION_LOCK = 0x484f54454c5f4551L;
+    private static final int INSERT_ATTEMPTS = 3;
+
+    private record Snapshot(String[] names, Map<String, Integer> ids) {
+    }
+
+    private final EquipementRepository repository;
+    private final DataSource dataSource;
+    private final TransactionTemplate ownTransaction;
+    private volatile Snapshot snapshot = new Snapshot(new String[0], Map.of());
+
+    public AmenityDictionary(EquipementRepository repository, DataSource dataSource,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.dataSource = dataSource;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            migrateLegacyTable();
+        }
+        reload();
+    }
+
+    /**
+     * Bitset of the given names, adding the unknown ones to the dictionary. Blank names are ignored.
+     */
+    public long encode(Collection<String> names) {
+        long mask = 0;
+        if (names != null) {
+            for (String name : names) {
+                String normalized = normalize(name);
+                if (normalized != null) {
+                    mask |= 1L << intern(normalized);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Bitset of the given names, or empty when one of them is in no room at all.
+     */
+    public OptionalLong lookup(Collection<String> names) {
+        long mask = 0;
+        for (String name : names) {
+            String normalized = normalize(name);
+            if (normalized == null) {
+                continue;
+            }
+            Integer id = snapshot.ids().get(normalized);
+            if (id == null) {
+                reload();
+                id = snapshot.ids().get(normalized);
+                if (id == null) {
+                    return OptionalLong.empty();
+                }
+            }
+            mask |= 1L << id;
+        }
+        return OptionalLong.of(mask);
+    }
+
+    /**
+     * Names of the bits set in {@code mask}, in id order.
+     */
+    public List<String> decode(Long mask) {
+        if (mask == null || mask == 0) {
+            return new ArrayList<>();
+        }
+        String[] names = snapshot.names();
+        if (64 - Long.numberOfLeadingZeros(mask) > names.length || !covers(names, mask)) {
+            reload();
+            names = snapshot.names();
+        }
+        List<String> decoded = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            int id = Long.numberOfTrailingZeros(bits);
+            if (id < names.length && names[id] != null) {
+                decoded.add(names[id]);
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Every known amenity, in id order.
+     */
+    public List<String> names() {
+        List<String> all = new ArrayList<>();
+        for (String name : snapshot.names()) {
+            if (name != null) {
+                all.add(name);
+            }
+        }
+        return all;
+    }
+
+    private int intern(String name) {
+        Integer id = snapshot.ids().get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            for (int attempt = 0; attempt < INSERT_ATTEMPTS; attempt++) {
+                reload();
+                id = snapshot.ids().get(name);
+                if (id != null) {
+                    return id;
+                }
+                if (snapshot.ids().size() >= CAPACITY) {
+                    break;
+                }
+                // Another API may take the same id meanwhile: nothing is inserted and the next attempt retries
+                ownTransaction.executeWithoutResult(status -> repository.insertNext(name, CAPACITY));
+            }
+            reload();
+            id = snapshot.ids().get(name);
+            if (id != null) {
+                return id;
+            }
+        }
+        throw new BusinessException("Impossible d'enregistrer l'équipement '" + name + "': le dictionnaire est limité à "
+                + CAPACITY + " équipements");
+    }
+
+    private void reload() {
+        List<Equipement> all = repository.findAll();
+        int size = all.stream().mapToInt(Equipement::getId).max().orElse(-1) + 1;
+        String[] names = new String[size];
+        Map<String, Integer> ids = new HashMap<>();
+        for (Equipement equipement : all) {
+            names[equipement.getId()] = equipement.getNom();
+            ids.put(equipement.getNom(), equipement.getId());
+        }
+        snapshot = new Snapshot(names, Map.copyOf(ids));
+    }
+
+    private static boolean covers(String[] names, long mask) {
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            if (names[Long.numberOfTrailingZeros(bits)] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.strip();
+    }
+
+    /**
+     * Moves the amenities of the former {@code chambre_equipements} collection table into the dictionary and the
+     * room bitsets, then renames the table so that this runs once. Serialized across the APIs.
+     */
+    private void migrateLegacyTable() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            jdbc.queryForList("SELECT pg_advisory_xact_lock(?)", MIGRATION_LOCK);
+            if (!Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                    LEGACY_TABLE))) {
+                return;
+            }
+            jdbc.update("INSERT INTO equipements (id, nom) " +
+                    "SELECT (SELECT COALESCE(MAX(id) + 1, 0) FROM equipements) + ROW_NUMBER() OVER (ORDER BY n.nom) - 1, n.nom " +
+                    "FROM (SELECT DISTINCT btrim(equipement) AS nom FROM " + LEGACY_TABLE +
+                    " WHERE btrim(equipement) <> '') n " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM equipements e WHERE e.nom = n.nom)");
+            Integer maxId = jdbc.queryForObject("SELECT MAX(id) FROM equipements", Integer.class);
+            if (maxId != null && maxId >= CAPACITY) {
+                status.setRollbackOnly();
+                log.error("Migration des équipements annulée: plus de {} équipements distincts dans {}",
+                        CAPACITY, LEGACY_TABLE);
+                return;
+            }
+            int rooms = jdbc.update("UPDATE chambres c SET equipements_mask = COALESCE(c.equipements_mask, 0) | m.mask " +
+                    "FROM (SELECT ce.chambre_id, bit_or(1::bigint << e.id) AS mask FROM " + LEGACY_TABLE + " ce " +
+                    "JOIN equipements e ON e.nom = btrim(ce.equipement) GROUP BY ce.chambre_id) m " +
+                    "WHERE c.id = m.chambre_id");
+            jdbc.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME TO " + LEGACY_TABLE + "_legacy");
+            log.info("Équipements de {} chambres migrés vers le dictionnaire", rooms);
+        });
+    }
+}
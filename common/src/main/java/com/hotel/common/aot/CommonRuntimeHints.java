@@ -0,0 +1,44 @@
+package com.hotel.common.aot;
+
+import com.hotel.common.cache.CacheInvalidationListener;
+import com.hotel.common.catalog.RoomCatalogListener;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.HoldDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.hold.HoldRegistry.SharedHold;
+import com.hotel.common.metrics.EntityLoadListener;
+import com.hotel.common.repository.BookedDates;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Native-image hints for what Spring AOT does not infer from the common module. Registered in
+ * {@code META-INF/spring/aot.factories}.
+ */
+public class CommonRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson reaches the DTOs through every API, not only through controller signatures
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ChambreDTO.class, ClientDTO.class, ReservationDTO.class, HoldDTO.class, QuoteDTO.class,
+                QuoteFilter.class, SharedHold.class);
+
+        // Created through Spring for Hibernate, which then invokes the callbacks reflectively
+        for (Class<?> listener : List.of(EntityLoadListener.class, RoomCatalogListener.class,
+                CacheInvalidationListener.class)) {
+            hints.reflection().registerType(listener, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // JPQL constructor expression
+        hints.reflection().registerType(BookedDates.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
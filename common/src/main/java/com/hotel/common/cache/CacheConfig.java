@@ -0,0 +1,17 @@
+package com.hotel.common.cache;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Nothing depends on the bus until the first write: under lazy initialization it would not listen before.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter cacheInvalidationBusExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CacheInvalidationBus.class);
+    }
+}
@@ -0,0 +1,370 @@
+package com.hotel.common.cache;
+
+import com.hotel.common.catalog.RoomCatalog;
+import com.hotel.common.hold.HoldRegistry;
+import com.hotel.common.version.TableVersions;
+import com.hotel.common.version.TableVersions.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Versions committed writes to every versioned table and broadcasts them to the other API instances over
+ * PostgreSQL {@code LISTEN/NOTIFY}, which every module already reaches. Each write takes its version from the
+ * table's {@code hotel_version_<table>} sequence, so all instances share one counter per table. Receivers drop
+ * the ids from both cache tiers, re-read written rooms into the {@link RoomCatalog}, then advance their
+ * {@link TableVersions}, so their validators match the writer's and are never paired with older data. The bus
+ * runs whether or not the caches are enabled; set-based writes are sent without ids.
+ *
+ * <p>Both ends use their own connection to the primary, outside the pools: a notification is sent after the
+ * commit, while the writing transaction still holds its pooled connection. While the listening connection is
+ * down, notifications are lost, so whenever it is re-established the near caches are cleared, the catalog
+ * reloaded and every table version read back from its sequence. A write that cannot be published leaves this
+ * instance's versions behind the data, so it also forces that resynchronization. {@link #isListening()} tells
+ * whether versions are currently in step with the other instances.
+ *
+ * <p>The bus also carries the {@link HoldRegistry} events, which are not table writes, so that every instance
+ * sees the holds placed on the others; the registry resends its holds whenever the listener reconnects.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements InitializingBean, AutoCloseable {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    /** NOTIFY payloads are limited to 8000 bytes. */
+    private static final int MAX_PAYLOAD = 7_900;
+    private static final int POLL_MILLIS = 500;
+    private static final long RECONNECT_MILLIS = 1_000;
+    private static final String SEQUENCE_PREFIX = "hotel_version_";
+    /** Marks hold events: {@code <origin> HOLD <event>}. */
+    private static final String HOLD = "HOLD";
+
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheProperties properties;
+    private final DtoCaches caches;
+    private final TableVersions tableVersions;
+    private final ObjectProvider<RoomCatalog> roomCatalog;
+    private final ObjectProvider<HoldRegistry> holdRegistry;
+    private volatile boolean running;
+    private volatile boolean listening;
+    /** Set when a write could not be published; the listener then reconnects and resynchronizes. */
+    private volatile boolean resync;
+    /** Tables with a committed write the other instances were not told about. */
+    private final Set<Table> unpublished = ConcurrentHashMap.newKeySet();
+    private Thread listener;
+    private Connection publisher;
+
+    public CacheInvalidationBus(DataSourceProperties dataSourceProperties, CacheProperties properties,
+                                DtoCaches caches, TableVersions tableVersions,
+                                ObjectProvider<RoomCatalog> roomCatalog,
+                                ObjectProvider<HoldRegistry> holdRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.caches = caches;
+        this.tableVersions = tableVersions;
+        this.roomCatalog = roomCatalog;
+        this.holdRegistry = holdRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Canal d'invalidation invalide: " + properties.getChannel());
+        }
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.warn("Invalidations du cache non diffusées: la base n'est pas PostgreSQL ({})", url);
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Whether notifications from the other instances are being received and the table versions are in step
+     * with theirs right now.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Versions and sends a write to {@code table} that is not tracked per id, e.g. a set-based update, after
+     * clearing this instance's cache of the table; call once it is committed.
+     */
+    public void publish(Table table) {
+        caches.invalidate(table, List.of());
+        publish(table, List.of());
+    }
+
+    /**
+     * Versions the write of {@code ids} and sends their invalidation to the other instances; call once the
+     * write is committed.
+     */
+    public void publish(Table table, Collection<Long> ids) {
+        if (!running) {
+            tableVersions.bump(table);
+            return;
+        }
+        synchronized (this) {
+            try {
+                if (publisher == null || publisher.isClosed()) {
+                    publisher = open();
+                }
+                long version;
+                try (Statement statement = publisher.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT nextval('" + sequence(table) + "')")) {
+                    rs.next();
+                    version = rs.getLong(1);
+                }
+                try (PreparedStatement statement = publisher.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    for (String payload : payloads(table, version, ids)) {
+                        statement.setString(1, properties.getChannel());
+                        statement.setString(2, payload);
+                        statement.execute();
+                    }
+                }
+                tableVersions.advance(table, version);
+            } catch (SQLException e) {
+                log.warn("Diffusion de l'invalidation {} {} impossible: {}", table, ids, e.getMessage());
+                closeQuietly(publisher);
+                publisher = null;
+                // Until resynchronized, this instance's versions no longer describe its data
+                unpublished.add(table);
+                resync = true;
+                listening = false;
+            }
+        }
+    }
+
+    /**
+     * Sends a {@link HoldRegistry} event to the other instances. An event that cannot be sent forces a
+     * resynchronization, which makes the registry send its holds again.
+     *
+     * @return false when the event does not fit in one notification; nothing is sent
+     */
+    public boolean publishHold(String event) {
+        String payload = origin + " " + HOLD + " " + event;
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD) {
+            return false;
+        }
+        if (!running) {
+            return true;
+        }
+        synchronized (this) {
+            try {
+                if (publisher == null || publisher.isClosed()) {
+                    publisher = open();
+                }
+                try (PreparedStatement statement = publisher.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    statement.execute();
+                }
+            } catch (SQLException e) {
+                log.warn("Diffusion de l'option impossible: {}", e.getMessage());
+                closeQuietly(publisher);
+                publisher = null;
+                resync = true;
+                listening = false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code <origin> <table> <version> <id>,<id>...}, split to fit the payload limit.
+     */
+    private List<String> payloads(Table table, long version, Collection<Long> ids) {
+        String header = origin + " " + table.name() + " " + version + " ";
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(header);
+        for (Long id : ids) {
+            String value = String.valueOf(id);
+            if (payload.length() > header.length() && payload.length() + 1 + value.length() > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(header.length());
+            }
+            if (payload.length() > header.length()) {
+                payload.append(',');
+            }
+            payload.append(value);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = open()) {
+                resync = false;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                // Whatever was sent while not listening is lost
+                caches.clearNear();
+                roomCatalog.ifAvailable(catalog -> catalog.reload(List.of()));
+                synchronize(connection);
+                // Holds sent while not listening are lost too: ask for them and resend ours
+                holdRegistry.ifAvailable(HoldRegistry::resync);
+                // A new version for writes that were never published moves every instance past them
+                for (Table table : Table.values()) {
+                    if (unpublished.remove(table)) {
+                        publish(table);
+                    }
+                }
+                listening = true;
+                if (resync) {
+                    listening = false;
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running && !resync) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+                listening = false;
+            } catch (SQLException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Écoute des invalidations du cache interrompue: {}", e.getMessage());
+                }
+            }
+            if (running && !pause()) {
+                return;
+            }
+        }
+        listening = false;
+    }
+
+    /**
+     * Waits before reconnecting.
+     *
+     * @return false when interrupted
+     */
+    private static boolean pause() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Reads every table version back from its sequence.
+     */
+    private void synchronize(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Table table : Table.values()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " + sequence(table))) {
+                    rs.next();
+                    tableVersions.advance(table, rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        String[] parts = payload.split(" ", 4);
+        if (parts.length < 3 || parts[0].equals(origin)) {
+            return;
+        }
+        if (parts[1].equals(HOLD)) {
+            String event = payload.substring(parts[0].length() + HOLD.length() + 2);
+            holdRegistry.ifAvailable(registry -> registry.apply(event));
+            return;
+        }
+        try {
+            Table table = Table.valueOf(parts[1]);
+            long version = Long.parseLong(parts[2]);
+            List<Long> ids = new ArrayList<>();
+            if (parts.length == 4 && !parts[3].isEmpty()) {
+                for (String id : parts[3].split(",")) {
+                    ids.add(Long.valueOf(id));
+                }
+            }
+            caches.invalidate(table, ids);
+            if (table == Table.CHAMBRES) {
+                roomCatalog.ifAvailable(catalog -> catalog.reload(ids));
+            }
+            tableVersions.advance(table, version);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalidation du cache ignorée: '{}'", payload);
+        }
+    }
+
+    /**
+     * Opens a connection to the primary; the version sequences are created on first use.
+     */
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            for (Table table : Table.values()) {
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence(table));
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private static String sequence(Table table) {
+        return SEQUENCE_PREFIX + table.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Already broken
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        listening = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        synchronized (this) {
+            closeQuietly(publisher);
+            publisher = null;
+        }
+    }
+}
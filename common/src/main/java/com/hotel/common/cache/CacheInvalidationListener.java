@@ -0,0 +1,79 @@
+package com.hotel.common.cache;
+
+import com.hotel.common.entity.Chambre;
+import com.hotel.common.entity.Client;
+import com.hotel.common.entity.Reservation;
+import com.hotel.common.version.TableVersions.Table;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * JPA entity listener versioning committed writes and invalidating them in this instance's caches and in the other
+ * instances'. Every write to a versioned table goes through {@link CacheInvalidationBus#publish}, creations and
+ * reservations included, which gives it its table version. Versioning after the commit keeps a concurrent reader
+ * from pairing the new version with pre-commit data.
+ * The caches are looked up lazily: they depend on beans that need the entity manager factory this listener is
+ * created with.
+ */
+public class CacheInvalidationListener {
+
+    private final ObjectProvider<DtoCaches> caches;
+    private final ObjectProvider<CacheInvalidationBus> bus;
+
+    public CacheInvalidationListener(ObjectProvider<DtoCaches> caches, ObjectProvider<CacheInvalidationBus> bus) {
+        this.caches = caches;
+        this.bus = bus;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        Table table = tableOf(entity);
+        List<Long> ids = List.of(idOf(entity));
+        afterCommit(() -> {
+            DtoCaches dtoCaches = caches.getObject();
+            if (dtoCaches.covers(table)) {
+                dtoCaches.invalidate(table, ids);
+            }
+            bus.getObject().publish(table, ids);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Table tableOf(Object entity) {
+        return switch (entity) {
+            case Client c -> Table.CLIENTS;
+            case Chambre c -> Table.CHAMBRES;
+            case Reservation r -> Table.RESERVATIONS;
+            default -> throw new IllegalArgumentException("Entité non versionnée: " + entity.getClass());
+        };
+    }
+
+    private static Long idOf(Object entity) {
+        return switch (entity) {
+            case Client c -> c.getId();
+            case Chambre c -> c.getId();
+            case Reservation r -> r.getId();
+            default -> null;
+        };
+    }
+}
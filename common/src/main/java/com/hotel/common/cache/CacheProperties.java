@@ -0,0 +1,43 @@
+package com.hotel.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Two-level cache of rooms and clients by id, {@code hotel.cache.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+
+    /** PostgreSQL channel carrying the invalidations between the API instances. */
+    private String channel = "hotel_cache_invalidation";
+
+    private Near near = new Near();
+
+    private Shared shared = new Shared();
+
+    @Data
+    public static class Near {
+        /** Entries kept per cache in this process. */
+        private int maxEntries = 10_000;
+        /** Bounds staleness should an invalidation be lost. */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Shared {
+        /** E.g. {@code redis://localhost:6379/0}; without it an in-process stand-in replaces the shared tier. */
+        private String redisUrl;
+        private Duration ttl = Duration.ofMinutes(30);
+        /** Redis command timeout; a slow or unreachable server is treated as a miss. */
+        private Duration timeout = Duration.ofMillis(200);
+        private String keyPrefix = "hotel:";
+    }
+}
@@ -0,0 +1,105 @@
+package com.hotel.common.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The two-level caches of the DTOs served by id, one per table. The shared tier is Redis when
+ * {@code hotel.cache.shared.redis-url} is set, an in-process stand-in otherwise.
+ */
+@Slf4j
+@Component
+public class DtoCaches implements AutoCloseable {
+
+    private final boolean enabled;
+    private final SharedCache shared;
+    private final Map<Table, TwoLevelCache<?>> caches = new EnumMap<>(Table.class);
+    private final TwoLevelCache<ChambreDTO> chambres;
+    private final TwoLevelCache<ClientDTO> clients;
+
+    public DtoCaches(CacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        String redisUrl = properties.getShared().getRedisUrl();
+        if (redisUrl != null && !redisUrl.isBlank()) {
+            this.shared = new RedisSharedCache(redisUrl, properties.getShared().getTimeout(), meterRegistry);
+            log.info("Cache partagé sur {}", redisUrl.replaceAll("//[^@/]*@", "//***@"));
+        } else {
+            this.shared = new LocalSharedCache();
+        }
+        // Own mapper: a bean would replace the one Boot configures for the web layer
+        ObjectMapper codec = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.chambres = new TwoLevelCache<>("chambres", ChambreDTO.class, DtoCaches::copy, shared, codec,
+                properties, meterRegistry);
+        this.clients = new TwoLevelCache<>("clients", ClientDTO.class, client -> client.toBuilder().build(), shared,
+                codec, properties, meterRegistry);
+        caches.put(Table.CHAMBRES, chambres);
+        caches.put(Table.CLIENTS, clients);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ChambreDTO chambre(Long id, Function<Long, ChambreDTO> loader) {
+        return enabled ? chambres.get(id, loader) : loader.apply(id);
+    }
+
+    public ClientDTO client(Long id, Function<Long, ClientDTO> loader) {
+        return enabled ? clients.get(id, loader) : loader.apply(id);
+    }
+
+    /**
+     * Whether writes to {@code table} have to be invalidated.
+     */
+    public boolean covers(Table table) {
+        return enabled && caches.containsKey(table);
+    }
+
+    /**
+     * Drops the ids from both tiers; without ids, e.g. after a set-based update, the whole cache of the table.
+     */
+    public void invalidate(Table table, Collection<Long> ids) {
+        TwoLevelCache<?> cache = caches.get(table);
+        if (enabled && cache != null) {
+            if (ids.isEmpty()) {
+                cache.clear();
+            } else {
+                cache.invalidate(ids);
+            }
+        }
+    }
+
+    public void clearNear() {
+        caches.values().forEach(TwoLevelCache::clearNear);
+    }
+
+    private static ChambreDTO copy(ChambreDTO chambre) {
+        return chambre.toBuilder()
+                .equipements(chambre.getEquipements() != null ? new ArrayList<>(chambre.getEquipements()) : null)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        shared.close();
+    }
+}
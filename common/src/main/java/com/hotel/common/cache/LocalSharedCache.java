@@ -0,0 +1,46 @@
+package com.hotel.common.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for the shared tier, used when no Redis server is configured. Values are stored encoded,
+ * as on the server, so the two-level cache behaves the same; they are only shared within this process.
+ */
+public class LocalSharedCache implements SharedCache {
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    @Override
+    public void evictPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
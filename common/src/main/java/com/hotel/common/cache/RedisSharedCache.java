@@ -0,0 +1,142 @@
+package com.hotel.common.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Shared tier on a Redis-protocol server (Redis, Valkey, KeyDB...). The connection is opened on first use and
+ * re-established by Lettuce; failed commands are counted in {@code hotel.cache.shared.errors} and read as misses.
+ * After a failed connection attempt, the tier is skipped for {@link #CONNECT_BACKOFF}.
+ */
+@Slf4j
+public class RedisSharedCache implements SharedCache {
+
+    private static final Duration CONNECT_BACKOFF = Duration.ofSeconds(5);
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+    private static final int SCAN_COUNT = 500;
+
+    private final RedisClient client;
+    private final Duration timeout;
+    private final Counter errors;
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile long nextConnectAttempt;
+
+    public RedisSharedCache(String url, Duration timeout, MeterRegistry meterRegistry) {
+        this.client = RedisClient.create(url);
+        this.client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                .build());
+        this.timeout = timeout;
+        this.nextConnectAttempt = System.nanoTime();
+        this.errors = Counter.builder("hotel.cache.shared.errors")
+                .description("Failed commands on the shared cache tier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try {
+            return connection().sync().get(key);
+        } catch (RedisException e) {
+            failed("lecture", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        try {
+            connection().sync().set(key, value, SetArgs.Builder.px(ttl.toMillis()));
+        } catch (RedisException e) {
+            failed("écriture", e);
+        }
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            connection().sync().del(keys.toArray(String[]::new));
+        } catch (RedisException e) {
+            failed("invalidation", e);
+        }
+    }
+
+    /**
+     * {@code SCAN}s the keyspace in steps, so the server is never blocked as with {@code KEYS}.
+     */
+    @Override
+    public void evictPrefix(String prefix) {
+        try {
+            RedisCommands<String, byte[]> commands = connection().sync();
+            ScanArgs args = ScanArgs.Builder.matches(prefix.replaceAll("([*?\\[\\]\\\\])", "\\\\$1") + "*")
+                    .limit(SCAN_COUNT);
+            KeyScanCursor<String> cursor = commands.scan(args);
+            while (true) {
+                if (!cursor.getKeys().isEmpty()) {
+                    commands.del(cursor.getKeys().toArray(String[]::new));
+                }
+                if (cursor.isFinished()) {
+                    return;
+                }
+                cursor = commands.scan(cursor, args);
+            }
+        } catch (RedisException e) {
+            failed("invalidation", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    private StatefulRedisConnection<String, byte[]> connection() {
+        StatefulRedisConnection<String, byte[]> current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    if (System.nanoTime() - nextConnectAttempt < 0) {
+                        throw new RedisException("connexion en attente de nouvel essai");
+                    }
+                    try {
+                        current = client.connect(CODEC);
+                    } catch (RedisException e) {
+                        nextConnectAttempt = System.nanoTime() + CONNECT_BACKOFF.toNanos();
+                        throw e;
+                    }
+                    current.setTimeout(timeout);
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void failed(String operation, RedisException e) {
+        errors.increment();
+        log.debug("Cache partagé indisponible ({}): {}", operation, e.getMessage());
+    }
+}
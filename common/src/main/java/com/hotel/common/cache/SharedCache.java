@@ -0,0 +1,25 @@
+package com.hotel.common.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Cache tier shared by every API instance. Implementations never throw: an unavailable tier behaves as empty.
+ */
+public interface SharedCache extends AutoCloseable {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void evict(Collection<String> keys);
+
+    /**
+     * Drops every key starting with {@code prefix}.
+     */
+    void evictPrefix(String prefix);
+
+    @Override
+    default void close() {
+    }
+}
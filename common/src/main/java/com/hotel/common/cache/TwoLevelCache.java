@@ -0,0 +1,188 @@
+package com.hotel.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.common.datasource.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of one DTO type by id: a near cache in this process, then the {@link SharedCache}, then
+ * the loader. Every caller gets its own copy, so a caller modifying its DTO cannot change what the others read.
+ *
+ * <p>A load that overlaps an invalidation of this cache is returned but not stored, so a value read before a
+ * commit cannot outlive the invalidation of that commit. Loads overlapping a write made by another instance
+ * before its invalidation arrives are only bounded by the TTLs. Misses are loaded from the primary: a lagging
+ * replica could return a row older than the last invalidation, which would then be served by every instance
+ * until the shared TTL.
+ */
+@Slf4j
+public class TwoLevelCache<V> {
+
+    private record Near<V>(V value, long expiresAt) {
+    }
+
+    private final String name;
+    private final Class<V> type;
+    private final UnaryOperator<V> copy;
+    private final SharedCache shared;
+    private final ObjectMapper codec;
+    private final int maxEntries;
+    private final long nearTtlNanos;
+    private final Duration sharedTtl;
+    private final String keyPrefix;
+    private final Map<Long, Near<V>> near = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter nearHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public TwoLevelCache(String name, Class<V> type, UnaryOperator<V> copy, SharedCache shared, ObjectMapper codec,
+                         CacheProperties properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.copy = copy;
+        this.shared = shared;
+        this.codec = codec;
+        this.maxEntries = properties.getNear().getMaxEntries();
+        this.nearTtlNanos = properties.getNear().getTtl().toNanos();
+        this.sharedTtl = properties.getShared().getTtl();
+        this.keyPrefix = properties.getShared().getKeyPrefix() + name + ":";
+        this.nearHits = gets(meterRegistry, "near");
+        this.sharedHits = gets(meterRegistry, "shared");
+        this.misses = gets(meterRegistry, "miss");
+        Gauge.builder("hotel.cache.near.size", near, Map::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached value of {@code id}, loaded on a miss. A loader exception (e.g. not found) is propagated and
+     * nothing is cached.
+     */
+    public V get(Long id, Function<Long, V> loader) {
+        Near<V> cached = near.get(id);
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            nearHits.increment();
+            return copy.apply(cached.value());
+        }
+        long generation = invalidations.get();
+        V value = decode(shared.get(key(id)));
+        if (value != null) {
+            sharedHits.increment();
+            storeNear(id, value, generation);
+            return copy.apply(value);
+        }
+        misses.increment();
+        value = ReadWriteRoutingDataSource.onPrimary(() -> loader.apply(id));
+        if (value != null && invalidations.get() == generation) {
+            byte[] encoded = encode(value);
+            if (encoded != null) {
+                shared.put(key(id), encoded, sharedTtl);
+            }
+            storeNear(id, value, generation);
+            return copy.apply(value);
+        }
+        return value;
+    }
+
+    /**
+     * Drops the given ids from both tiers.
+     */
+    public void invalidate(Collection<Long> ids) {
+        invalidations.incrementAndGet();
+        ids.forEach(near::remove);
+        shared.evict(ids.stream().map(this::key).toList());
+    }
+
+    /**
+     * Drops every entry from both tiers, for writes whose ids are unknown.
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        near.clear();
+        shared.evictPrefix(keyPrefix);
+    }
+
+    /**
+     * Drops every near entry, e.g. when invalidations may have been missed.
+     */
+    public void clearNear() {
+        invalidations.incrementAndGet();
+        near.clear();
+    }
+
+    private void storeNear(Long id, V value, long generation) {
+        if (near.size() >= maxEntries) {
+            shrink();
+        }
+        near.put(id, new Near<>(value, System.nanoTime() + nearTtlNanos));
+        // An invalidation that ran meanwhile may have missed this entry
+        if (invalidations.get() != generation) {
+            near.remove(id);
+        }
+    }
+
+    /**
+     * Drops the expired entries, then an arbitrary eighth of the rest if still full.
+     */
+    private void shrink() {
+        long now = System.nanoTime();
+        near.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        if (near.size() < maxEntries) {
+            return;
+        }
+        int excess = near.size() - maxEntries + Math.max(1, maxEntries / 8);
+        Iterator<Long> ids = near.keySet().iterator();
+        while (excess-- > 0 && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private String key(Long id) {
+        return keyPrefix + id;
+    }
+
+    private byte[] encode(V value) {
+        try {
+            return codec.writeValueAsBytes(value);
+        } catch (IOException e) {
+            log.warn("Encodage impossible pour le cache {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * An entry written by another version of the DTO reads as a miss.
+     */
+    private V decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return codec.readValue(bytes, type);
+        } catch (IOException e) {
+            log.debug("Entrée illisible dans le cache {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("hotel.cache.gets")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
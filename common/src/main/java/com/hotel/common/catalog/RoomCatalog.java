@@ -0,0 +1,405 @@
+package com.hotel.common.catalog;
+
+import com.hotel.common.amenity.AmenityDictionary;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.entity.Chambre;
+import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.pricing.PricingEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read model of {@code chambres}, held in memory as parallel primitive columns.
+ *
+ * <p>A snapshot is immutable and swapped whole: local writes are applied copy-on-write after their
+ * transaction commits (see {@link RoomCatalogListener}), writes made by the other APIs and instances are re-read
+ * when their invalidation arrives (see {@link #reload(Collection)}), and every
+ * {@code hotel.catalog.refresh-interval} the row count and latest {@code updated_at} are compared with the table
+ * to pick up bulk SQL. Filters compare primitives and bitsets; only the returned DTOs are allocated.
+ */
+@Slf4j
+@Component
+public class RoomCatalog {
+
+    private static final TypeChambre[] TYPES = TypeChambre.values();
+    private static final int NO_CAPACITY = Integer.MIN_VALUE;
+    private static final String SELECT = "SELECT id, numero, type, prix, disponible, description, capacite_max, " +
+            "equipements_mask, created_at, updated_at FROM chambres";
+
+    private final JdbcTemplate jdbc;
+    private final AmenityDictionary amenityDictionary;
+    private final Counter loads;
+    private final Counter writes;
+    private volatile Snapshot snapshot;
+
+    public RoomCatalog(DataSource dataSource, AmenityDictionary amenityDictionary, MeterRegistry meterRegistry) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.amenityDictionary = amenityDictionary;
+        this.loads = rebuilds(meterRegistry, "load");
+        this.writes = rebuilds(meterRegistry, "write");
+        Gauge.builder("hotel.catalog.rooms", this, catalog -> {
+                    Snapshot current = catalog.snapshot;
+                    return current != null ? current.size : 0;
+                })
+                .description("Rooms in the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    public List<ChambreDTO> findAll(boolean withEquipements) {
+        Snapshot s = snapshot();
+        return s.select(s.all, Long.MIN_VALUE, Long.MAX_VALUE, NO_CAPACITY, withEquipements, amenityDictionary);
+    }
+
+    public List<ChambreDTO> findAvailable() {
+        Snapshot s = snapshot();
+        return s.select(s.available, Long.MIN_VALUE, Long.MAX_VALUE, NO_CAPACITY, false, amenityDictionary);
+    }
+
+    public List<ChambreDTO> findByType(TypeChambre type) {
+        Snapshot s = snapshot();
+        return s.select(s.byType[type.ordinal()], Long.MIN_VALUE, Long.MAX_VALUE, NO_CAPACITY, false,
+                amenityDictionary);
+    }
+
+    /**
+     * Bounds are inclusive, as with {@code BETWEEN}.
+     */
+    public List<ChambreDTO> findByPriceRange(BigDecimal minPrix, BigDecimal maxPrix) {
+        Snapshot s = snapshot();
+        return s.select(s.all, minPrix.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact(),
+                maxPrix.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact(), NO_CAPACITY, false,
+                amenityDictionary);
+    }
+
+    /**
+     * Rooms for at least {@code capacite} guests; rooms without a stated capacity are left out.
+     */
+    public List<ChambreDTO> findByCapacite(int capacite) {
+        Snapshot s = snapshot();
+        return s.select(s.all, Long.MIN_VALUE, Long.MAX_VALUE, capacite, false, amenityDictionary);
+    }
+
+    /**
+     * Applies a committed insert or update.
+     */
+    synchronized void upsert(Chambre chambre) {
+        upsert(Row.of(chambre));
+    }
+
+    /**
+     * Applies a committed delete.
+     */
+    synchronized void remove(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        int row = Arrays.binarySearch(current.ids, id);
+        if (row < 0) {
+            return;
+        }
+        Columns columns = new Columns(current.size - 1);
+        for (int i = 0, target = 0; i < current.size; i++) {
+            if (i != row) {
+                columns.copyRow(current, i, target++);
+            }
+        }
+        snapshot = columns.build();
+        writes.increment();
+    }
+
+    /**
+     * Re-reads rooms written by another module or instance, all of them when {@code ids} is empty.
+     * Called by {@link com.hotel.common.cache.CacheInvalidationBus} before it bumps the room version, so the
+     * catalog never serves older rows than the validator it is paired with. If the rows cannot be read, the
+     * snapshot is dropped and the next read loads the table.
+     */
+    public synchronized void reload(Collection<Long> ids) {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            if (ids.isEmpty()) {
+                load();
+                return;
+            }
+            Set<Long> missing = new HashSet<>(ids);
+            String placeholders = String.join(",", Collections.nCopies(missing.size(), "?"));
+            for (Row row : jdbc.query(SELECT + " WHERE id IN (" + placeholders + ")", RoomCatalog::readRow,
+                    missing.toArray())) {
+                missing.remove(row.id());
+                upsert(row);
+            }
+            missing.forEach(this::remove);
+        } catch (DataAccessException e) {
+            log.warn("Relecture des chambres {} impossible, catalogue abandonné: {}", ids, e.getMessage());
+            snapshot = null;
+        }
+    }
+
+    private void upsert(Row values) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        int row = Arrays.binarySearch(current.ids, values.id());
+        Columns columns;
+        if (row >= 0) {
+            columns = Columns.copyOf(current, current.size, -1);
+        } else {
+            row = -row - 1;
+            columns = Columns.copyOf(current, current.size + 1, row);
+        }
+        columns.set(row, values);
+        snapshot = columns.build();
+        writes.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.catalog.refresh-interval:PT30S}",
+            initialDelayString = "${hotel.catalog.refresh-interval:PT30S}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        boolean changed = Boolean.TRUE.equals(jdbc.query("SELECT COUNT(*), MAX(updated_at) FROM chambres", rs -> {
+            rs.next();
+            LocalDateTime lastUpdate = rs.getObject(2, LocalDateTime.class);
+            return rs.getLong(1) != current.size || !Objects.equals(lastUpdate, current.lastUpdate);
+        }));
+        if (changed) {
+            synchronized (this) {
+                load();
+            }
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Row> rows = jdbc.query(SELECT + " ORDER BY id", RoomCatalog::readRow);
+        Columns columns = new Columns(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            columns.set(i, rows.get(i));
+        }
+        Snapshot loaded = columns.build();
+        snapshot = loaded;
+        loads.increment();
+        log.debug("Catalogue des chambres chargé: {} chambres", loaded.size);
+        return loaded;
+    }
+
+    private static Row readRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(rs.getLong("id"), rs.getString("numero"), TypeChambre.valueOf(rs.getString("type")),
+                rs.getBigDecimal("prix"), rs.getBoolean("disponible"), rs.getString("description"),
+                rs.getObject("capacite_max", Integer.class), rs.getLong("equipements_mask"),
+                rs.getObject("created_at", LocalDateTime.class), rs.getObject("updated_at", LocalDateTime.class));
+    }
+
+    private static Counter rebuilds(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("hotel.catalog.rebuilds")
+                .description("Room catalog snapshots built, by cause")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record Row(long id, String numero, TypeChambre type, BigDecimal prix, boolean disponible,
+                       String description, Integer capaciteMax, long equipementsMask,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Row of(Chambre chambre) {
+            return new Row(chambre.getId(), chambre.getNumero(), chambre.getType(), chambre.getPrix(),
+                    Boolean.TRUE.equals(chambre.getDisponible()), chambre.getDescription(), chambre.getCapaciteMax(),
+                    chambre.getEquipementsMask() != null ? chambre.getEquipementsMask() : 0L,
+                    chambre.getCreatedAt(), chambre.getUpdatedAt());
+        }
+    }
+
+    /**
+     * Immutable columns, sorted by id. Row sets are bitsets over row positions.
+     */
+    private static final class Snapshot {
+        final int size;
+        final long[] ids;
+        final String[] numeros;
+        final byte[] types;
+        final long[] prixCents;
+        final int[] capacites;
+        final long[] equipementsMasks;
+        final String[] descriptions;
+        final LocalDateTime[] createdAt;
+        final LocalDateTime[] updatedAt;
+        final long[] all;
+        final long[] available;
+        final long[][] byType;
+        final LocalDateTime lastUpdate;
+
+        Snapshot(Columns c) {
+            size = c.ids.length;
+            ids = c.ids;
+            numeros = c.numeros;
+            types = c.types;
+            prixCents = c.prixCents;
+            capacites = c.capacites;
+            equipementsMasks = c.equipementsMasks;
+            descriptions = c.descriptions;
+            createdAt = c.createdAt;
+            updatedAt = c.updatedAt;
+            all = new long[(size + 63) >>> 6];
+            available = new long[all.length];
+            byType = new long[TYPES.length][all.length];
+            LocalDateTime last = null;
+            for (int row = 0; row < size; row++) {
+                long bit = 1L << row;
+                all[row >>> 6] |= bit;
+                if (c.disponibles[row]) {
+                    available[row >>> 6] |= bit;
+                }
+                byType[types[row]][row >>> 6] |= bit;
+                if (updatedAt[row] != null && (last == null || updatedAt[row].isAfter(last))) {
+                    last = updatedAt[row];
+                }
+            }
+            // The table keeps microseconds, entities written here may carry nanoseconds
+            lastUpdate = last != null ? last.truncatedTo(ChronoUnit.MICROS) : null;
+        }
+
+        boolean disponible(int row) {
+            return (available[row >>> 6] & (1L << row)) != 0;
+        }
+
+        List<ChambreDTO> select(long[] rows, long minCents, long maxCents, int minCapacite,
+                                boolean withEquipements, AmenityDictionary amenityDictionary) {
+            List<ChambreDTO> result = new ArrayList<>();
+            for (int word = 0; word < rows.length; word++) {
+                for (long bits = rows[word]; bits != 0; bits &= bits - 1) {
+                    int row = (word << 6) | Long.numberOfTrailingZeros(bits);
+                    if (prixCents[row] >= minCents && prixCents[row] <= maxCents
+                            && (minCapacite == NO_CAPACITY || capacites[row] != NO_CAPACITY
+                                && capacites[row] >= minCapacite)) {
+                        result.add(toDTO(row, withEquipements, amenityDictionary));
+                    }
+                }
+            }
+            return result;
+        }
+
+        private ChambreDTO toDTO(int row, boolean withEquipements, AmenityDictionary amenityDictionary) {
+            return ChambreDTO.builder()
+                    .id(ids[row])
+                    .numero(numeros[row])
+                    .type(TYPES[types[row]])
+                    .prix(BigDecimal.valueOf(prixCents[row], 2))
+                    .disponible(disponible(row))
+                    .description(descriptions[row])
+                    .capaciteMax(capacites[row] != NO_CAPACITY ? capacites[row] : null)
+                    .equipements(withEquipements ? amenityDictionary.decode(equipementsMasks[row]) : null)
+                    .createdAt(createdAt[row])
+                    .updatedAt(updatedAt[row])
+                    .build();
+        }
+    }
+
+    /**
+     * Mutable columns a snapshot is built from.
+     */
+    private static final class Columns {
+        final long[] ids;
+        final String[] numeros;
+        final byte[] types;
+        final long[] prixCents;
+        final int[] capacites;
+        final long[] equipementsMasks;
+        final String[] descriptions;
+        final LocalDateTime[] createdAt;
+        final LocalDateTime[] updatedAt;
+        final boolean[] disponibles;
+
+        Columns(int size) {
+            ids = new long[size];
+            numeros = new String[size];
+            types = new byte[size];
+            prixCents = new long[size];
+            capacites = new int[size];
+            equipementsMasks = new long[size];
+            descriptions = new String[size];
+            createdAt = new LocalDateTime[size];
+            updatedAt = new LocalDateTime[size];
+            disponibles = new boolean[size];
+        }
+
+        /**
+         * Copies every row of {@code from}, leaving row {@code gap} free when it is not negative.
+         */
+        static Columns copyOf(Snapshot from, int size, int gap) {
+            Columns columns = new Columns(size);
+            for (int i = 0; i < from.size; i++) {
+                columns.copyRow(from, i, gap >= 0 && i >= gap ? i + 1 : i);
+            }
+            return columns;
+        }
+
+        void copyRow(Snapshot from, int source, int target) {
+            ids[target] = from.ids[source];
+            numeros[target] = from.numeros[source];
+            types[target] = from.types[source];
+            prixCents[target] = from.prixCents[source];
+            capacites[target] = from.capacites[source];
+            equipementsMasks[target] = from.equipementsMasks[source];
+            descriptions[target] = from.descriptions[source];
+            createdAt[target] = from.createdAt[source];
+            updatedAt[target] = from.updatedAt[source];
+            disponibles[target] = from.disponible(source);
+        }
+
+        void set(int row, Row values) {
+            ids[row] = values.id();
+            numeros[row] = values.numero();
+            types[row] = (byte) values.type().ordinal();
+            prixCents[row] = PricingEngine.toCents(values.prix());
+            disponibles[row] = values.disponible();
+            descriptions[row] = values.description();
+            capacites[row] = values.capaciteMax() != null ? values.capaciteMax() : NO_CAPACITY;
+            equipementsMasks[row] = values.equipementsMask();
+            createdAt[row] = values.createdAt();
+            updatedAt[row] = values.updatedAt();
+        }
+
+        Snapshot build() {
+            return new Snapshot(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.common.catalog;
+
+import com.hotel.common.entity.Chambre;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener applying committed room writes to the {@link RoomCatalog}.
+ * The catalog is looked up lazily: it depends on beans that need the entity manager factory this listener is
+ * created with.
+ */
+public class RoomCatalogListener {
+
+    private final ObjectProvider<RoomCatalog> roomCatalog;
+
+    public RoomCatalogListener(ObjectProvider<RoomCatalog> roomCatalog) {
+        this.roomCatalog = roomCatalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Chambre chambre) {
+        afterCommit(() -> roomCatalog.getObject().upsert(chambre));
+    }
+
+    @PostRemove
+    public void onRemove(Chambre chambre) {
+        Long id = chambre.getId();
+        afterCommit(() -> roomCatalog.getObject().remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link PoolProperties} to the auto-configured pool ({@link ReadReplicaConfig} does it for its own
+ * pools) and publishes the pool saturation histograms.
+ */
+@Configuration
+public class DataSourcePoolConfig {
+
+    /**
+     * Runs after {@code spring.datasource.hikari} is bound, so {@code hotel.datasource.pool} wins, and before Boot
+     * binds the pool metrics, which then keeps the tracker set here.
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolCustomizer(ObjectProvider<PoolProperties> poolProperties,
+                                                         ObjectProvider<PoolSaturationMonitor> saturationMonitor,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    if (pool.getPoolName() == null) {
+                        pool.setPoolName("primary");
+                    }
+                    poolProperties.getObject().applyTo(pool);
+                    if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                        meterRegistry.ifAvailable(registry ->
+                                pool.setMetricsTrackerFactory(new OperationMetricsTrackerFactory(registry)));
+                    }
+                    saturationMonitor.getObject().watch(pool);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Nothing depends on the lag monitor, and the saturation monitor is only reached through the pools: under lazy
+     * initialization the replicas would never be checked and the first samples would be lost.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter poolMonitorsExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ReplicaLagMonitor.class, PoolSaturationMonitor.class);
+    }
+
+    /**
+     * Buckets for the connection acquire and usage timers, so that percentiles can be aggregated across instances.
+     */
+    @Bean
+    public MeterFilter connectionTimingHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals("hikaricp.connections.acquire")
+                        || id.getName().equals("hikaricp.connections.usage")
+                        || id.getName().equals("hotel.connection.acquire")) {
+                    return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
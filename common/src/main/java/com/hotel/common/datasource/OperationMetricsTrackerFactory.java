@@ -0,0 +1,67 @@
+package com.hotel.common.datasource;
+
+import com.hotel.common.metrics.CallingOperation;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari's Micrometer metrics, plus {@code hotel.connection.acquire}: the time spent waiting for a connection,
+ * tagged with the pool and the {@link CallingOperation}. Hikari records the acquisition on the borrowing thread,
+ * so the operation is the one whose transaction or statement asked for the connection.
+ */
+public class OperationMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final MeterRegistry registry;
+    private final MetricsTrackerFactory delegate;
+
+    public OperationMetricsTrackerFactory(MeterRegistry registry) {
+        this.registry = registry;
+        this.delegate = new MicrometerMetricsTrackerFactory(registry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.create(poolName, poolStats);
+        Map<String, Timer> timers = new ConcurrentHashMap<>();
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                timers.computeIfAbsent(CallingOperation.current(), operation ->
+                        Timer.builder("hotel.connection.acquire")
+                                .description("Connection acquisition time by calling operation")
+                                .tags("pool", poolName, "operation", operation)
+                                .register(registry))
+                        .record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.hotel.common.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings, {@code hotel.datasource.pool.*}, applied to every Hikari pool (primary and replicas)
+ * over {@code spring.datasource.hikari}. Unset values keep the Hikari or PgJDBC default.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.datasource.pool")
+public class PoolProperties {
+
+    private Integer maximumPoolSize;
+
+    private Integer minimumIdle;
+
+    /** Longest wait for a connection before the request fails. */
+    private Duration connectionTimeout;
+
+    /** Connections held longer than this are logged with the stack trace that borrowed them; 0 disables. */
+    private Duration leakDetectionThreshold;
+
+    /** PgJDBC: executions of a statement before it is prepared server-side; 0 never prepares. */
+    private Integer prepareThreshold;
+
+    /** PgJDBC: server-side prepared statements kept per connection. */
+    private Integer preparedStatementCacheQueries;
+
+    /**
+     * PgJDBC: rewrites JDBC insert batches into multi-row INSERTs. Only JDBC batches are affected: Hibernate
+     * does not batch inserts of IDENTITY entities.
+     */
+    private Boolean rewriteBatchedInserts;
+
+    /** Period at which {@code hotel.datasource.pending} samples the threads waiting for a connection. */
+    private Duration saturationSampleInterval = Duration.ofMillis(250);
+
+    public void applyTo(HikariConfig pool) {
+        if (maximumPoolSize != null) {
+            pool.setMaximumPoolSize(maximumPoolSize);
+        }
+        if (minimumIdle != null) {
+            pool.setMinimumIdle(minimumIdle);
+        }
+        if (connectionTimeout != null) {
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+        }
+        if (leakDetectionThreshold != null) {
+            pool.setLeakDetectionThreshold(leakDetectionThreshold.toMillis());
+        }
+        if (prepareThreshold != null) {
+            pool.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        }
+        if (preparedStatementCacheQueries != null) {
+            pool.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        }
+        if (rewriteBatchedInserts != null) {
+            pool.addDataSourceProperty("reWriteBatchedInserts", rewriteBatchedInserts);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotel.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples, for each pool, the number of threads waiting for a connection into the
+ * {@code hotel.datasource.pending} histogram. Hikari's own {@code hikaricp.connections.pending} gauge only shows
+ * the value at scrape time, which misses the short queues that build up under bursts.
+ */
+@Component
+public class PoolSaturationMonitor implements AutoCloseable {
+
+    private record Watched(HikariDataSource pool, DistributionSummary pending) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long intervalMillis;
+    private final List<Watched> watched = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "pool-saturation-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PoolSaturationMonitor(MeterRegistry meterRegistry, PoolProperties poolProperties) {
+        this.meterRegistry = meterRegistry;
+        this.intervalMillis = poolProperties.getSaturationSampleInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void watch(HikariDataSource pool) {
+        DistributionSummary pending = DistributionSummary.builder("hotel.datasource.pending")
+                .description("Threads waiting for a connection, sampled every " + intervalMillis + " ms")
+                .baseUnit("threads")
+                .tag("pool", pool.getPoolName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        watched.add(new Watched(pool, pending));
+    }
+
+    private void sample() {
+        for (Watched w : watched) {
+            // Null until the pool has opened its first connection
+            HikariPoolMXBean mxBean = w.pool().getHikariPoolMXBean();
+            if (mxBean != null && !w.pool().isClosed()) {
+                w.pending().record(mxBean.getThreadsAwaitingConnection());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,99 @@
+package com.hotel.common.datasource;
+
+import com.hotel.common.datasource.ReadWriteRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a primary/replica router when
+ * {@code hotel.datasource.replicas} is set. {@code @Transactional(readOnly = true)} work goes to the replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.datasource", name = "replicas[0].url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReplicaProperties replicaProperties,
+                                                                 PoolProperties poolProperties,
+                                                                 PoolSaturationMonitor saturationMonitor,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), "primary", environment, poolProperties, saturationMonitor,
+                meterRegistry);
+
+        List<Replica> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica config : replicaProperties.getReplicas()) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = pool(config.getUrl(),
+                    config.getUsername() != null ? config.getUsername() : dataSourceProperties.determineUsername(),
+                    config.getPassword() != null ? config.getPassword() : dataSourceProperties.determinePassword(),
+                    name, environment, poolProperties, saturationMonitor, meterRegistry);
+            Replica replica = new Replica(name, pool);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("hotel.datasource.replica.lag", replica, Replica::getLagSeconds)
+                        .tag("replica", name)
+                        .baseUnit("seconds")
+                        .register(registry);
+                Gauge.builder("hotel.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                        .tag("replica", name)
+                        .register(registry);
+            });
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * The read-only flag is only visible once the transaction has started, so the physical connection
+     * must be fetched lazily.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                               ReplicaProperties replicaProperties) {
+        return new ReplicaLagMonitor(readWriteRoutingDataSource.getReplicas(),
+                replicaProperties.getMaxReplicationLag(), replicaProperties.getLagCheckInterval());
+    }
+
+    /**
+     * Every pool shares the {@code spring.datasource.hikari} settings, overridden by {@code hotel.datasource.pool}.
+     * The pools are not beans, so Hikari metrics and {@link DataSourcePoolConfig} are wired here rather than by Boot.
+     */
+    private static HikariDataSource pool(String url, String username, String password, String poolName,
+                                         Environment environment, PoolProperties poolProperties,
+                                         PoolSaturationMonitor saturationMonitor,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        poolProperties.applyTo(pool);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new OperationMetricsTrackerFactory(registry)));
+        saturationMonitor.watch(pool);
+        return pool;
+    }
+}
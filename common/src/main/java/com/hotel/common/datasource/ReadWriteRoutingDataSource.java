@@ -0,0 +1,127 @@
+package com.hotel.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections requested inside read-only transactions to a healthy replica, round-robin,
+ * and everything else to the primary. Falls back to the primary when no replica is healthy
+ * or when the chosen replica refuses the connection.
+ *
+ * <p>The read-only flag is only known once the transaction is set up, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Reads that must see the latest commits can be kept on the primary with {@link #onPrimary(Supplier)}.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * A replica pool and its last observed health.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() { return name; }
+        public DataSource getDataSource() { return dataSource; }
+        public boolean isHealthy() { return healthy; }
+        public double getLagSeconds() { return lagSeconds; }
+
+        void update(boolean healthy, double lagSeconds) {
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+        }
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Runs {@code action} with every connection it opens on this thread taken from the primary,
+     * read-only transactions included.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_ONLY.get() == null
+                ? pickReplica() : null;
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                log.warn("Réplica {} indisponible, lecture sur le primaire: {}", replica.getName(), e.getMessage());
+                replica.update(false, replica.getLagSeconds());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotel.common.datasource;
+
+import com.hotel.common.datasource.ReadWriteRoutingDataSource.Replica;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls each replica's replay lag on a dedicated thread and takes replicas out of the read rotation
+ * while they are too far behind, cut off from the primary or unreachable.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received has been replayed
+     * (an idle primary otherwise looks like a lagging replica). A promoted replica reports 0.
+     * NULL when the WAL receiver is not streaming: both LSNs then freeze and the replica would look fresh.
+     * Without {@code pg_read_all_stats} the status column is hidden, and only the receiver's presence is checked.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                                 WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaLagMonitor(List<Replica> replicas, Duration maxLag, Duration interval) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkAll() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    private void check(Replica replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) interval.toSeconds()));
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    replica.update(false, replica.getLagSeconds());
+                    if (wasHealthy) {
+                        log.warn("Réplica {} écarté des lectures: réception du WAL interrompue", replica.getName());
+                    }
+                    return;
+                }
+                replica.update(lag <= maxLagSeconds, lag);
+            }
+        } catch (Exception e) {
+            replica.update(false, replica.getLagSeconds());
+            if (wasHealthy) {
+                log.warn("Contrôle du retard impossible sur {}: {}", replica.getName(), e.getMessage());
+            }
+            return;
+        }
+        if (wasHealthy != replica.isHealthy()) {
+            log.info("Réplica {} {} (retard {} s)", replica.getName(),
+                    replica.isHealthy() ? "réintégré" : "écarté des lectures", replica.getLagSeconds());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
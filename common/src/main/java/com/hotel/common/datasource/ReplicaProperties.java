@@ -0,0 +1,33 @@
+package com.hotel.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, {@code hotel.datasource.*}. Routing is enabled as soon as one replica is configured;
+ * pool settings are shared with {@code spring.datasource.hikari}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas further behind the primary than this stop receiving reads. */
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hotel.common.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a tentative hold on a room, confirmed into a reservation or released.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldDTO {
+
+    private String token;
+    private Long clientId;
+    private Long chambreId;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private LocalDateTime expiresAt;
+}
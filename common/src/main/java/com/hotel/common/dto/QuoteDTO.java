@@ -0,0 +1,27 @@
+package com.hotel.common.dto;
+
+import com.hotel.common.entity.Chambre.TypeChambre;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Price of one available room for one stay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteDTO {
+
+    private Long chambreId;
+    private String numero;
+    private TypeChambre type;
+    private Integer capaciteMax;
+    private BigDecimal prix;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private Integer nuits;
+    private BigDecimal prixTotal;
+}
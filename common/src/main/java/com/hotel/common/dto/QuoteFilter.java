@@ -0,0 +1,20 @@
+package com.hotel.common.dto;
+
+import com.hotel.common.entity.Chambre.TypeChambre;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional room criteria of a quote; null fields do not filter. Prices are nightly.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteFilter {
+
+    private TypeChambre type;
+    private BigDecimal minPrix;
+    private BigDecimal maxPrix;
+}
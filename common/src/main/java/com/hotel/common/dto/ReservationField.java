@@ -0,0 +1,78 @@
+package com.hotel.common.dto;
+
+import com.hotel.common.exception.BusinessException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Selectable fields of a {@link ReservationDTO} for sparse list responses.
+ * The identifier is always returned.
+ */
+public enum ReservationField {
+
+    ID("id"),
+    CLIENT_ID("clientId"),
+    CLIENT("client"),
+    CHAMBRE_ID("chambreId"),
+    CHAMBRE("chambre"),
+    DATE_DEBUT("dateDebut"),
+    DATE_FIN("dateFin"),
+    STATUT("statut"),
+    PREFERENCES("preferences"),
+    NOMBRE_PERSONNES("nombrePersonnes"),
+    PRIX_TOTAL("prixTotal"),
+    COMMENTAIRES("commentaires"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String attribute;
+
+    ReservationField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Entity attribute and DTO property name.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static Set<ReservationField> all() {
+        return EnumSet.allOf(ReservationField.class);
+    }
+
+    /**
+     * Parses field names in camelCase ({@code dateDebut}) or snake_case ({@code date_debut}).
+     * Nested paths such as {@code client.nom} select the whole nested object.
+     * An empty selection means every field.
+     */
+    public static Set<ReservationField> parse(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return all();
+        }
+        Set<ReservationField> fields = EnumSet.of(ID);
+        for (String name : names) {
+            fields.add(fromName(name));
+        }
+        return fields;
+    }
+
+    private static ReservationField fromName(String name) {
+        String root = name.trim();
+        int dot = root.indexOf('.');
+        if (dot >= 0) {
+            root = root.substring(0, dot);
+        }
+        String normalized = root.replace("_", "").toLowerCase(Locale.ROOT);
+        for (ReservationField field : values()) {
+            if (field.attribute.toLowerCase(Locale.ROOT).equals(normalized)) {
+                return field;
+            }
+        }
+        throw new BusinessException("Champ de réservation inconnu: " + name);
+    }
+}
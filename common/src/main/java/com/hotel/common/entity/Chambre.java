@@ -1,5 +1,8 @@
 package com.hotel.common.entity;
 
+import com.hotel.common.cache.CacheInvalidationListener;
+import com.hotel.common.catalog.RoomCatalogListener;
+import com.hotel.common.metrics.EntityLoadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +18,8 @@ import java.util.List;
  * Entity representing a hotel room (Chambre).
  */
 @Entity
+// The catalog is updated before the version moves: after-commit callbacks run in registration order
+@EntityListeners({EntityLoadListener.class, RoomCatalogListener.class, CacheInvalidationListener.class})
 @Table(name = "chambres")
 @Data
 @NoArgsConstructor
@@ -50,11 +55,12 @@ public class Chambre {
     @Column(name = "capacite_max")
     private Integer capaciteMax;
 
-    @ElementCollection
-    @CollectionTable(name = "chambre_equipements", joinColumns = @JoinColumn(name = "chambre_id"))
-    @Column(name = "equipement")
+    /**
+     * Amenities as a bitset of {@link Equipement} ids, decoded by {@link com.hotel.common.amenity.AmenityDictionary}.
+     */
+    @Column(name = "equipements_mask", nullable = false, columnDefinition = "bigint default 0 not null")
     @Builder.Default
-    private List<String> equipements = new ArrayList<>();
+    private Long equipementsMask = 0L;
 
     @OneToMany(mappedBy = "chambre", cascade = CascadeType.ALL)
     @Builder.Default
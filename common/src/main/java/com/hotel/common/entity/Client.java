@@ -1,5 +1,7 @@
 package com.hotel.common.entity;
 
+import com.hotel.common.cache.CacheInvalidationListener;
+import com.hotel.common.metrics.EntityLoadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +15,7 @@ import java.util.List;
  * Entity representing a hotel client/guest.
  */
 @Entity
+@EntityListeners({EntityLoadListener.class, CacheInvalidationListener.class})
 @Table(name = "clients")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,23 @@
+package com.hotel.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entry of the amenity dictionary. The id is the bit of the amenity in {@link Chambre#getEquipementsMask()},
+ * so ids are assigned by {@link com.hotel.common.amenity.AmenityDictionary} from 0 to 63.
+ */
+@Entity
+@Table(name = "equipements")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Equipement {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String nom;
+}
@@ -1,5 +1,7 @@
 package com.hotel.common.entity;
 
+import com.hotel.common.cache.CacheInvalidationListener;
+import com.hotel.common.metrics.EntityLoadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -12,6 +14,7 @@ import java.time.LocalDateTime;
  * Entity representing a hotel reservation.
  */
 @Entity
+@EntityListeners({EntityLoadListener.class, CacheInvalidationListener.class})
 @Table(name = "reservations")
 @Data
 @NoArgsConstructor
@@ -19,6 +22,12 @@ import java.time.LocalDateTime;
 @Builder
 public class Reservation {
 
+    /**
+     * Longest stay accepted. Bounds how far back a stay overlapping a given date can start,
+     * which lets date queries prune the monthly partitions of {@code reservations}.
+     */
+    public static final int MAX_NIGHTS = 365;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -68,23 +77,11 @@ public class Reservation {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        calculerPrixTotal();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        calculerPrixTotal();
-    }
-
-    /**
-     * Calculate total price based on room price and duration.
-     */
-    private void calculerPrixTotal() {
-        if (chambre != null && chambre.getPrix() != null && dateDebut != null && dateFin != null) {
-            long nights = java.time.temporal.ChronoUnit.DAYS.between(dateDebut, dateFin);
-            prixTotal = chambre.getPrix().multiply(BigDecimal.valueOf(nights));
-        }
     }
 
     /**
@@ -0,0 +1,411 @@
+package com.hotel.common.hold;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotel.common.cache.CacheInvalidationBus;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory tentative holds on rooms, so that an abandoned checkout costs no database write.
+ *
+ * <p>Holds are indexed by token and by room; expiry is driven by a hashed timing wheel of
+ * {@code hotel.holds.wheel-slots} slots advanced every {@code hotel.holds.tick}. Lookups also check the
+ * deadline, so a hold is never seen after it expires even if its slot has not been swept yet.
+ *
+ * <p>Holds are shared with the other APIs and instances through the {@link CacheInvalidationBus}, without a
+ * database write: placing or removing a hold is broadcast, and every instance keeps the holds of the others in
+ * the same indexes, so {@link #isHeld} and availability agree everywhere and a hold can be confirmed or released
+ * on any instance. Other instances' holds expire on their own deadline. Events lost while the bus reconnects
+ * are recovered by {@link #resync}; a missed removal keeps the room held until the hold expires. Two instances
+ * placing overlapping holds within the broadcast delay may both succeed; the booking itself is still checked
+ * against the database. Claims are per instance. A hold whose preferences and comments do not fit in one
+ * notification blocks the room everywhere but is only confirmable where it was placed.
+ */
+@Slf4j
+@Component
+public class HoldRegistry implements AutoCloseable {
+
+    /**
+     * A tentative reservation. {@code claimed} is set while it is being confirmed.
+     * {@code local} holds were placed on this instance.
+     */
+    public static final class Hold {
+        private final String token;
+        private final ReservationDTO reservation;
+        private final long deadlineNanos;
+        private final long deadlineTick;
+        private final LocalDateTime expiresAt;
+        private final boolean local;
+        private final boolean confirmable;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Hold(String token, ReservationDTO reservation, long deadlineNanos, long deadlineTick,
+                     LocalDateTime expiresAt, boolean local, boolean confirmable) {
+            this.token = token;
+            this.reservation = reservation;
+            this.deadlineNanos = deadlineNanos;
+            this.deadlineTick = deadlineTick;
+            this.expiresAt = expiresAt;
+            this.local = local;
+            this.confirmable = confirmable;
+        }
+
+        public String getToken() { return token; }
+        public ReservationDTO getReservation() { return reservation; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+
+        boolean isLive(long now) {
+            return now - deadlineNanos < 0;
+        }
+
+        boolean overlaps(LocalDate dateDebut, LocalDate dateFin) {
+            return !reservation.getDateDebut().isAfter(dateFin) && !reservation.getDateFin().isBefore(dateDebut);
+        }
+    }
+
+    /**
+     * A hold as broadcast to the other instances; {@code expiresAt} is in epoch milliseconds.
+     */
+    public record SharedHold(String token, long expiresAt, boolean confirmable, ReservationDTO reservation) {
+    }
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, List<Hold>> byRoom = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Hold>[] wheel;
+    private final long tickNanos;
+    private final Duration ttl;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    // Own mapper, as in DtoCaches
+    private final ObjectMapper codec = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "hold-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Last swept tick; only the ticker thread writes it.
+     */
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldRegistry(CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry,
+                        @Value("${hotel.holds.ttl:PT10M}") Duration ttl,
+                        @Value("${hotel.holds.tick:PT1S}") Duration tick,
+                        @Value("${hotel.holds.wheel-slots:1024}") int wheelSlots) {
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.tickNanos = tick.toNanos();
+        this.wheel = new ConcurrentLinkedQueue[wheelSlots];
+        for (int i = 0; i < wheelSlots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        Gauge.builder("hotel.holds.active", holds, Map::size).register(meterRegistry);
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Places a hold unless a live hold of the same room overlaps the dates.
+     *
+     * @return the hold, or {@code null} when the room is already held
+     */
+    public Hold place(ReservationDTO reservation) {
+        long now = System.nanoTime();
+        Hold hold = new Hold(UUID.randomUUID().toString(), reservation, now + ttl.toNanos(),
+                currentTick + ticks(ttl.toNanos()), LocalDateTime.now().plus(ttl), true, true);
+        boolean[] placed = {false};
+        byRoom.compute(reservation.getChambreId(), (chambreId, roomHolds) -> {
+            List<Hold> current = roomHolds != null ? roomHolds : new CopyOnWriteArrayList<>();
+            current.removeIf(h -> !h.isLive(now));
+            for (Hold other : current) {
+                if (other.overlaps(reservation.getDateDebut(), reservation.getDateFin())) {
+                    return current;
+                }
+            }
+            current.add(hold);
+            placed[0] = true;
+            return current;
+        });
+        if (!placed[0]) {
+            return null;
+        }
+        holds.put(hold.token, hold);
+        wheel[slot(hold.deadlineTick)].add(hold);
+        announce(hold);
+        changed("placed");
+        return hold;
+    }
+
+    /**
+     * The live hold for this token, if any.
+     */
+    public Optional<Hold> find(String token) {
+        Hold hold = holds.get(token);
+        return hold != null && hold.confirmable && hold.isLive(System.nanoTime())
+                ? Optional.of(hold) : Optional.empty();
+    }
+
+    /**
+     * Whether a live hold other than {@code exceptToken} overlaps the dates.
+     */
+    public boolean isHeld(Long chambreId, LocalDate dateDebut, LocalDate dateFin, String exceptToken) {
+        List<Hold> roomHolds = byRoom.get(chambreId);
+        if (roomHolds == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        for (Hold hold : roomHolds) {
+            if (hold.isLive(now) && !hold.token.equals(exceptToken) && hold.overlaps(dateDebut, dateFin)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserves the hold for confirmation. The hold goes away if the current transaction commits
+     * and becomes claimable again if it rolls back.
+     *
+     * @return false when another request is already confirming it
+     */
+    public boolean claim(Hold hold) {
+        if (!hold.claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(hold, "confirmed");
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    remove(hold, "confirmed");
+                } else {
+                    hold.claimed.set(false);
+                    // The sweep skipped it while claimed
+                    if (!hold.isLive(System.nanoTime())) {
+                        expire(hold);
+                    }
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * @return false when no live hold has this token
+     */
+    public boolean release(String token) {
+        Optional<Hold> hold = find(token);
+        return hold.isPresent() && !hold.get().claimed.get() && remove(hold.get(), "released");
+    }
+
+    /**
+     * Applies an event broadcast by another instance.
+     */
+    public void apply(String event) {
+        String[] parts = event.split(" ", 2);
+        try {
+            switch (parts[0]) {
+                case "place" -> add(codec.readValue(parts[1], SharedHold.class));
+                case "remove" -> {
+                    Hold hold = holds.get(parts[1]);
+                    if (hold != null) {
+                        drop(hold);
+                    }
+                }
+                case "sync" -> announceAll();
+                default -> log.warn("Événement d'option ignoré: '{}'", event);
+            }
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Événement d'option ignoré: '{}'", event);
+        }
+    }
+
+    /**
+     * Called by the bus once its listener is (re)connected: asks the other instances for their holds and
+     * resends this instance's, since events sent meanwhile may have been lost either way.
+     */
+    public void resync() {
+        invalidationBus.publishHold("sync");
+        announceAll();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Sweeps the next slot. Holds placed more than one revolution ahead stay for a later pass.
+     */
+    private void advance() {
+        try {
+            long tick = currentTick + 1;
+            currentTick = tick;
+            ConcurrentLinkedQueue<Hold> slot = wheel[slot(tick)];
+            for (var it = slot.iterator(); it.hasNext(); ) {
+                Hold hold = it.next();
+                if (hold.deadlineTick <= tick) {
+                    it.remove();
+                    if (!hold.claimed.get()) {
+                        expire(hold);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Échec du balayage des options: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Each instance expires the other instances' holds itself; only the one that placed a hold reports it.
+     */
+    private void expire(Hold hold) {
+        if (hold.local) {
+            remove(hold, "expired");
+        } else {
+            drop(hold);
+        }
+    }
+
+    private boolean remove(Hold hold, String reason) {
+        if (!drop(hold)) {
+            return false;
+        }
+        invalidationBus.publishHold("remove " + hold.token);
+        changed(reason);
+        return true;
+    }
+
+    private boolean drop(Hold hold) {
+        if (!holds.remove(hold.token, hold)) {
+            return false;
+        }
+        byRoom.computeIfPresent(hold.reservation.getChambreId(), (chambreId, roomHolds) -> {
+            roomHolds.remove(hold);
+            return roomHolds.isEmpty() ? null : roomHolds;
+        });
+        return true;
+    }
+
+    /**
+     * Indexes a hold placed on another instance. It may overlap one of ours: both then block the room.
+     */
+    private void add(SharedHold shared) {
+        long now = System.nanoTime();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(shared.expiresAt() - System.currentTimeMillis());
+        if (remaining <= 0) {
+            return;
+        }
+        Hold hold = new Hold(shared.token(), shared.reservation(), now + remaining, currentTick + ticks(remaining),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(shared.expiresAt()), ZoneId.systemDefault()),
+                false, shared.confirmable());
+        if (holds.putIfAbsent(hold.token, hold) != null) {
+            return;
+        }
+        byRoom.compute(hold.reservation.getChambreId(), (chambreId, roomHolds) -> {
+            List<Hold> current = roomHolds != null ? roomHolds : new CopyOnWriteArrayList<>();
+            current.add(hold);
+            return current;
+        });
+        wheel[slot(hold.deadlineTick)].add(hold);
+    }
+
+    /**
+     * Broadcasts this instance's live holds, followed by a new holds version for the instances that missed some.
+     */
+    private void announceAll() {
+        long now = System.nanoTime();
+        boolean announced = false;
+        for (Hold hold : holds.values()) {
+            if (hold.local && hold.isLive(now)) {
+                announce(hold);
+                announced = true;
+            }
+        }
+        if (announced) {
+            invalidationBus.publish(Table.HOLDS);
+        }
+    }
+
+    /**
+     * Sends the hold without its free-text fields when it does not fit in one notification.
+     */
+    private void announce(Hold hold) {
+        long expiresAt = System.currentTimeMillis()
+                + TimeUnit.NANOSECONDS.toMillis(hold.deadlineNanos - System.nanoTime());
+        ReservationDTO reservation = hold.reservation;
+        ReservationDTO shared = ReservationDTO.builder()
+                .clientId(reservation.getClientId())
+                .chambreId(reservation.getChambreId())
+                .dateDebut(reservation.getDateDebut())
+                .dateFin(reservation.getDateFin())
+                .nombrePersonnes(reservation.getNombrePersonnes())
+                .preferences(reservation.getPreferences())
+                .commentaires(reservation.getCommentaires())
+                .build();
+        try {
+            if (invalidationBus.publishHold("place " + codec.writeValueAsString(
+                    new SharedHold(hold.token, expiresAt, true, shared)))) {
+                return;
+            }
+            shared.setPreferences(null);
+            shared.setCommentaires(null);
+            if (!invalidationBus.publishHold("place " + codec.writeValueAsString(
+                    new SharedHold(hold.token, expiresAt, false, shared)))) {
+                log.warn("Option {} trop volumineuse pour être diffusée", hold.token);
+            }
+        } catch (IOException e) {
+            log.warn("Diffusion de l'option {} impossible: {}", hold.token, e.getMessage());
+        }
+    }
+
+    private long ticks(long nanos) {
+        return Math.max(1, (nanos + tickNanos - 1) / tickNanos);
+    }
+
+    private void changed(String event) {
+        invalidationBus.publish(Table.HOLDS);
+        meterRegistry.counter("hotel.holds", "event", event).increment();
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+}
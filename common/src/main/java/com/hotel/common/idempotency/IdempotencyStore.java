@@ -0,0 +1,137 @@
+package com.hotel.common.idempotency;
+
+import com.hotel.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicted store of recent results keyed by client-supplied idempotency keys.
+ * Keys are scoped per caller, so one client's key never replays another client's result.
+ * A retry with a known key gets the first result back without running the action again;
+ * a retry arriving while the first call is still running waits for it, up to
+ * {@code hotel.idempotency.wait-timeout}.
+ * Failed calls are forgotten so that they can be retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    private record Key(String caller, String key) {
+    }
+
+    private record Entry(Object request, long expiresAt, CompletableFuture<Object> result) {
+    }
+
+    private record Slot(Key key, Entry entry) {
+    }
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    /** Insertion order, which is also expiry order since the TTL is uniform. */
+    private final Queue<Slot> order = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+    private final Counter replays;
+
+    public IdempotencyStore(@Value("${hotel.idempotency.ttl:PT10M}") Duration ttl,
+                            @Value("${hotel.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${hotel.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                            MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.replays = Counter.builder("hotel.idempotency.replays")
+                .description("Requests answered from the idempotency store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code action} once per key of {@code caller}. {@code request} identifies the payload and is compared
+     * with {@code equals}: reusing a key for a different payload is rejected. Without a key the action simply runs.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String caller, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        Key scoped = new Key(caller, key);
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        Entry fresh = new Entry(request, now + ttlNanos, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(scoped, fresh);
+        if (existing != null) {
+            if (existing.expiresAt() - now > 0) {
+                return (T) replay(existing, request);
+            }
+            if (!entries.replace(scoped, existing, fresh)) {
+                return execute(caller, key, request, action);
+            }
+        }
+        order.add(new Slot(scoped, fresh));
+        evictOverflow();
+
+        try {
+            T value = action.get();
+            fresh.result().complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors included: a waiting retry must never be left on a future that cannot complete
+            entries.remove(scoped, fresh);
+            fresh.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object replay(Entry existing, Object request) {
+        if (!Objects.equals(existing.request(), request)) {
+            throw new BusinessException("Clé d'idempotence déjà utilisée pour une autre requête");
+        }
+        replays.increment();
+        try {
+            return existing.result().get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw switch (e.getCause()) {
+                case RuntimeException cause -> cause;
+                case Error cause -> cause;
+                default -> new BusinessException(e.getCause().getMessage(), e.getCause());
+            };
+        } catch (TimeoutException e) {
+            throw new BusinessException("La requête initiale portant cette clé d'idempotence est encore en cours");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Attente de la requête initiale interrompue", e);
+        }
+    }
+
+    private void evictExpired(long now) {
+        Slot head;
+        while ((head = order.peek()) != null && head.entry().expiresAt() - now <= 0) {
+            if (order.remove(head)) {
+                entries.remove(head.key(), head.entry());
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Slot oldest = order.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.key(), oldest.entry());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hotel.common.lifecycle;
+
+import com.hotel.common.cache.CacheInvalidationBus;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Applies time-driven status transitions with set-based updates:
+ * <ul>
+ *   <li>{@code EN_ATTENTE} reservations older than {@code hotel.lifecycle.pending-ttl} become {@code ANNULEE},</li>
+ *   <li>{@code CONFIRMEE} stays whose {@code dateFin} has passed become {@code TERMINEE}.</li>
+ * </ul>
+ * Cancelled reservations no longer count in availability checks, so expiring a pending one frees its dates.
+ *
+ * <p>Each chunk of {@code hotel.lifecycle.batch-size} rows is updated in its own short transaction and rows
+ * locked by online requests are skipped until the next run, so the job never waits on the booking path.
+ * Several APIs may run it against the same database at once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "hotel.lifecycle", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationLifecycleScheduler {
+
+    private static final String EXPIRE_PENDING = """
+            UPDATE reservations SET statut = 'ANNULEE', updated_at = ?
+            WHERE (id, date_debut) IN (
+                SELECT id, date_debut FROM reservations
+                WHERE statut = 'EN_ATTENTE' AND created_at < ?
+                LIMIT ? FOR UPDATE SKIP LOCKED)""";
+
+    /**
+     * date_debut <= date_fin, so the date_debut bound also prunes future partitions.
+     */
+    private static final String COMPLETE_STAYS = """
+            UPDATE reservations SET statut = 'TERMINEE', updated_at = ?
+            WHERE (id, date_debut) IN (
+                SELECT id, date_debut FROM reservations
+                WHERE statut = 'CONFIRMEE' AND date_debut < ? AND date_fin < ?
+                LIMIT ? FOR UPDATE SKIP LOCKED)""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final Duration pendingTtl;
+    private final int batchSize;
+
+    public ReservationLifecycleScheduler(DataSource dataSource, CacheInvalidationBus invalidationBus,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${hotel.lifecycle.pending-ttl:PT30M}") Duration pendingTtl,
+                                         @Value("${hotel.lifecycle.batch-size:500}") int batchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.pendingTtl = pendingTtl;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.lifecycle.interval:PT1M}", initialDelayString = "${hotel.lifecycle.interval:PT1M}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        long expired = inChunks("expired", EXPIRE_PENDING, now, now.minus(pendingTtl));
+        long completed = inChunks("completed", COMPLETE_STAYS, now, today, today);
+        if (expired + completed > 0) {
+            // Rows changed through plain SQL, so the entity listeners never saw them
+            invalidationBus.publish(Table.RESERVATIONS);
+            log.info("Cycle de vie des réservations: {} expirées, {} terminées", expired, completed);
+        }
+    }
+
+    private long inChunks(String transition, String sql, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        System.arraycopy(args, 0, params, 0, args.length);
+        params[args.length] = batchSize;
+
+        long total = 0;
+        int updated;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> jdbc.update(sql, params));
+            updated = chunk == null ? 0 : chunk;
+            total += updated;
+        } while (updated == batchSize);
+
+        meterRegistry.counter("hotel.reservations.transitions", "transition", transition).increment(total);
+        return total;
+    }
+}
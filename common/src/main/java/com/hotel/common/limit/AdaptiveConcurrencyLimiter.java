@@ -0,0 +1,198 @@
+package com.hotel.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient-style adaptive concurrency limit shared by the protocol entry points.
+ *
+ * <p>The limit follows the ratio between a long-term and a short-term latency average:
+ * while latency stays near its baseline the limit grows by about its square root,
+ * and when requests start queueing behind the connection pool it shrinks proportionally.
+ * Reads only use {@code readShare} of the limit, leaving headroom for writes; writes may
+ * also wait briefly for a slot while reads are shed immediately.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { WRITE, READ }
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private double shortRtt;
+    private double longRtt;
+
+    private final Counter rejectedWrites;
+    private final Counter rejectedReads;
+
+    public AdaptiveConcurrencyLimiter(@Value("${hotel.limiter.initial-limit:20}") int initialLimit,
+                                      @Value("${hotel.limiter.min-limit:4}") int minLimit,
+                                      @Value("${hotel.limiter.max-limit:200}") int maxLimit,
+                                      @Value("${hotel.limiter.read-share:0.8}") double readShare,
+                                      @Value("${hotel.limiter.max-wait:PT0.05S}") Duration maxWait,
+                                      @Value("${hotel.limiter.max-queue:50}") int maxQueue,
+                                      MeterRegistry meterRegistry) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readShare = readShare;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+
+        Gauge.builder("hotel.concurrency.limit", this, l -> l.limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("hotel.concurrency.inflight", this, l -> l.inFlight)
+                .description("Requests currently holding a slot")
+                .register(meterRegistry);
+        Gauge.builder("hotel.concurrency.queue", this, l -> l.waiting)
+                .description("Writes waiting for a slot")
+                .register(meterRegistry);
+        this.rejectedWrites = rejectedCounter(meterRegistry, Priority.WRITE);
+        this.rejectedReads = rejectedCounter(meterRegistry, Priority.READ);
+    }
+
+    /**
+     * Take a slot, or return {@code null} when the request must be shed.
+     * The caller must release the returned permit exactly once.
+     */
+    public Permit tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            if (admits(priority)) {
+                return enter();
+            }
+            if (priority == Priority.READ || waiting >= maxQueue) {
+                return reject(priority);
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (!admits(Priority.WRITE)) {
+                    if (remaining <= 0) {
+                        return reject(priority);
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return enter();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return reject(priority);
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private boolean admits(Priority priority) {
+        if (priority == Priority.READ) {
+            // Reads never overtake writes already waiting
+            return waiting == 0 && inFlight < Math.max(1, (int) (limit * readShare));
+        }
+        return inFlight < (int) limit;
+    }
+
+    private Permit enter() {
+        inFlight++;
+        return new Permit(inFlight);
+    }
+
+    private Permit reject(Priority priority) {
+        (priority == Priority.WRITE ? rejectedWrites : rejectedReads).increment();
+        return null;
+    }
+
+    private void release(Permit permit, boolean sample) {
+        long rtt = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            if (sample) {
+                update(rtt, permit.inFlightAtStart);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt, int inFlightAtStart) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt = shortRtt * 0.9 + rtt * 0.1;
+        longRtt = longRtt * 0.99 + rtt * 0.01;
+        if (longRtt / shortRtt > 2) {
+            // Latency dropped for good: let the baseline catch up
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            // Not enough load to tell anything about the limit
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, Priority priority) {
+        return Counter.builder("hotel.concurrency.rejected")
+                .description("Requests shed by the concurrency limiter")
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * A slot held by one request.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Request completed normally; its latency feeds the limit.
+         */
+        public void release() {
+            AdaptiveConcurrencyLimiter.this.release(this, true);
+        }
+
+        /**
+         * Request failed or was cancelled; free the slot without a latency sample.
+         */
+        public void releaseIgnored() {
+            AdaptiveConcurrencyLimiter.this.release(this, false);
+        }
+    }
+}
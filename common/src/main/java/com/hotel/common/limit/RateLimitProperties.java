@@ -0,0 +1,50 @@
+package com.hotel.common.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-client rate limits, {@code hotel.rate-limit.*}.
+ * Operation names are protocol specific: {@code GET /api/reservations} for REST,
+ * the endpoint method for SOAP ({@code getAllReservations}) and the full method for gRPC
+ * ({@code hotel.ReservationService/GetAllReservations}). REST requests matching no controller mapping share the
+ * {@code other} operation.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    /** Header (HTTP) or metadata key (gRPC) identifying the caller; the remote IP is used without it. */
+    private String apiKeyHeader = "X-API-Key";
+
+    /** Keys accepted as caller identity; any other key is ignored and the caller limited by its remote IP. */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Upper bound on tracked (client, operation) buckets. */
+    private int maxBuckets = 100_000;
+
+    private Limit defaults = new Limit(1000, 2000);
+
+    private Map<String, Limit> operations = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /** Sustained requests per second. */
+        private double rate;
+        /** Bucket capacity: requests an idle client may send back to back, at least 1. */
+        private int burst;
+    }
+}
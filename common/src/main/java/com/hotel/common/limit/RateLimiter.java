@@ -0,0 +1,149 @@
+package com.hotel.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per (client, operation) token buckets.
+ *
+ * <p>Each bucket is kept as a single "theoretical arrival time" (GCRA): a request is admitted when
+ * that time is no further ahead than the burst allowance, and admitting it pushes the time forward by
+ * one emission interval. This is equivalent to a token bucket refilled at {@code rate} with capacity
+ * {@code burst}, and needs one CAS per request with no lock and no refill timer.
+ *
+ * <p>A bucket whose arrival time is in the past is full, i.e. identical to a fresh one, so only such buckets
+ * are evicted when the map reaches its bound: a throttled client never gets its burst back by being evicted.
+ * While every tracked bucket is still draining, new clients share one bucket per operation until some fill up.
+ *
+ * <p>Callers pass operations taken from a fixed set (routes, endpoint methods); anything else should be
+ * reported as {@link #OTHER_OPERATION}. Past {@value #MAX_OPERATIONS} distinct operations, unconfigured ones
+ * share that bucket too, so neither the policies nor the meters can grow without bound.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * Shared operation of requests that match no known route or method.
+     */
+    public static final String OTHER_OPERATION = "other";
+
+    static final int MAX_OPERATIONS = 1024;
+
+    /** Client of the shared buckets used while the map is full of draining buckets. */
+    static final String OVERFLOW_CLIENT = "overflow";
+
+    /** Eviction scans the whole map, so a full map of draining buckets is rescanned at most this often. */
+    private static final long EVICTION_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private record Policy(long intervalNanos, long toleranceNanos, Counter rejected) {
+    }
+
+    private static final class Bucket {
+        final Policy policy;
+        final AtomicLong arrival;
+
+        Bucket(Policy policy, long now) {
+            this.policy = policy;
+            this.arrival = new AtomicLong(now);
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Policy> policies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getApiKeyHeader() {
+        return properties.getApiKeyHeader();
+    }
+
+    /**
+     * Bucket owner of a request: its API key when the key is one of {@code hotel.rate-limit.api-keys},
+     * its remote address otherwise. An unknown key is ignored, or a caller could get a fresh quota per request.
+     */
+    public String clientOf(String apiKey, String remoteAddress) {
+        return apiKey != null && properties.getApiKeys().contains(apiKey) ? "key:" + apiKey : remoteAddress;
+    }
+
+    /**
+     * Take one token for the client on the operation.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(String client, String operation) {
+        if (!policies.containsKey(operation) && policies.size() >= MAX_OPERATIONS
+                && !properties.getOperations().containsKey(operation)) {
+            operation = OTHER_OPERATION;
+        }
+        String key = client + '|' + operation;
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            Policy policy = policies.computeIfAbsent(operation, this::policyFor);
+            if (buckets.size() >= properties.getMaxBuckets() && !evictFull()) {
+                key = OVERFLOW_CLIENT + '|' + operation;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy, System.nanoTime()));
+        }
+
+        Policy policy = bucket.policy;
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = bucket.arrival.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - now - policy.toleranceNanos();
+            if (wait > 0) {
+                policy.rejected().increment();
+                return wait;
+            }
+            if (bucket.arrival.compareAndSet(arrival, start + policy.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retry-After value, in whole seconds, for a wait returned by {@link #tryAcquire}.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private Policy policyFor(String operation) {
+        RateLimitProperties.Limit limit = properties.getOperations().getOrDefault(operation, properties.getDefaults());
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRate());
+        Counter rejected = Counter.builder("hotel.ratelimit.rejected")
+                .description("Requests rejected by the per-client rate limiter")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return new Policy(interval, interval * Math.max(0, limit.getBurst() - 1), rejected);
+    }
+
+    /**
+     * Drops the full buckets.
+     *
+     * @return whether there is room for a new bucket
+     */
+    private boolean evictFull() {
+        long now = System.nanoTime();
+        long next = nextEviction.get();
+        if (now - next >= 0 && nextEviction.compareAndSet(next, now + EVICTION_PAUSE_NANOS)) {
+            buckets.values().removeIf(bucket -> bucket.arrival.get() - now <= 0);
+        }
+        return buckets.size() < properties.getMaxBuckets();
+    }
+}
@@ -1,22 +1,36 @@
 package com.hotel.common.mapper;
 
+import com.hotel.common.amenity.AmenityDictionary;
 import com.hotel.common.dto.ClientDTO;
 import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.HoldDTO;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
 import com.hotel.common.entity.Client;
 import com.hotel.common.entity.Chambre;
 import com.hotel.common.entity.Reservation;
+import com.hotel.common.entity.Reservation.StatutReservation;
+import com.hotel.common.hold.HoldRegistry.Hold;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Manual mapper for entity-DTO conversions.
  */
 @Component
+@RequiredArgsConstructor
 public class EntityMapper {
 
+    private final AmenityDictionary amenityDictionary;
+
     // ==================== CLIENT MAPPING ====================
     
     public ClientDTO toClientDTO(Client entity) {
@@ -51,7 +65,14 @@ public class EntityMapper {
 
     // ==================== CHAMBRE MAPPING ====================
     
+    /**
+     * Without the amenities, as embedded in reservations and returned by lists.
+     */
     public ChambreDTO toChambreDTO(Chambre entity) {
+        return toChambreDTO(entity, false);
+    }
+
+    public ChambreDTO toChambreDTO(Chambre entity, boolean withEquipements) {
         if (entity == null) return null;
         return ChambreDTO.builder()
                 .id(entity.getId())
@@ -61,7 +82,7 @@ public class EntityMapper {
                 .disponible(entity.getDisponible())
                 .description(entity.getDescription())
                 .capaciteMax(entity.getCapaciteMax())
-                .equipements(entity.getEquipements())
+                .equipements(withEquipements ? amenityDictionary.decode(entity.getEquipementsMask()) : null)
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -77,13 +98,17 @@ public class EntityMapper {
                 .disponible(dto.getDisponible() != null ? dto.getDisponible() : true)
                 .description(dto.getDescription())
                 .capaciteMax(dto.getCapaciteMax())
-                .equipements(dto.getEquipements())
+                .equipementsMask(amenityDictionary.encode(dto.getEquipements()))
                 .build();
     }
 
     public List<ChambreDTO> toChambreDTOList(List<Chambre> entities) {
+        return toChambreDTOList(entities, false);
+    }
+
+    public List<ChambreDTO> toChambreDTOList(List<Chambre> entities, boolean withEquipements) {
         return entities.stream()
-                .map(this::toChambreDTO)
+                .map(entity -> toChambreDTO(entity, withEquipements))
                 .collect(Collectors.toList());
     }
 
@@ -129,4 +154,53 @@ public class EntityMapper {
                 .map(this::toReservationDTO)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Build a sparse DTO from a projection tuple; unselected fields stay null.
+     */
+    public ReservationDTO toReservationDTO(Tuple tuple, Set<ReservationField> fields) {
+        ReservationDTO dto = new ReservationDTO();
+        for (ReservationField field : fields) {
+            Object value = tuple.get(field.name());
+            switch (field) {
+                case ID -> dto.setId((Long) value);
+                case CLIENT_ID -> dto.setClientId((Long) value);
+                case CLIENT -> {
+                    dto.setClient(toClientDTO((Client) value));
+                    dto.setClientId(dto.getClient().getId());
+                }
+                case CHAMBRE_ID -> dto.setChambreId((Long) value);
+                case CHAMBRE -> {
+                    dto.setChambre(toChambreDTO((Chambre) value));
+                    dto.setChambreId(dto.getChambre().getId());
+                }
+                case DATE_DEBUT -> dto.setDateDebut((LocalDate) value);
+                case DATE_FIN -> dto.setDateFin((LocalDate) value);
+                case STATUT -> dto.setStatut((StatutReservation) value);
+                case PREFERENCES -> dto.setPreferences((String) value);
+                case NOMBRE_PERSONNES -> dto.setNombrePersonnes((Integer) value);
+                case PRIX_TOTAL -> dto.setPrixTotal((BigDecimal) value);
+                case COMMENTAIRES -> dto.setCommentaires((String) value);
+                case CREATED_AT -> dto.setCreatedAt((LocalDateTime) value);
+                case UPDATED_AT -> dto.setUpdatedAt((LocalDateTime) value);
+            }
+        }
+        return dto;
+    }
+
+    // ==================== HOLD MAPPING ====================
+
+    public HoldDTO toHoldDTO(Hold hold) {
+        if (hold == null) return null;
+
+        ReservationDTO reservation = hold.getReservation();
+        return HoldDTO.builder()
+                .token(hold.getToken())
+                .clientId(reservation.getClientId())
+                .chambreId(reservation.getChambreId())
+                .dateDebut(reservation.getDateDebut())
+                .dateFin(reservation.getDateFin())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
 }
@@ -0,0 +1,57 @@
+package com.hotel.common.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names the operation running on the current thread, for metrics recorded below the application code such as
+ * connection acquisition in the pool. The outermost operation wins: a repository call made by a transactional
+ * service method is counted under the service method, whose transaction acquired the connection.
+ */
+public final class CallingOperation implements MethodInterceptor {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Prefix of the operation names, or null for the simple name of the invoked class.
+     */
+    private final String owner;
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    public CallingOperation(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * {@code <class>.<method>} of the outermost operation on this thread, or {@code none}.
+     */
+    public static String current() {
+        String operation = CURRENT.get();
+        return operation != null ? operation : NONE;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (CURRENT.get() != null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(names.computeIfAbsent(invocation.getMethod(), this::name));
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private String name(Method method) {
+        String prefix = owner != null ? owner : ClassUtils.getUserClass(method.getDeclaringClass()).getSimpleName();
+        return prefix + "." + method.getName();
+    }
+}
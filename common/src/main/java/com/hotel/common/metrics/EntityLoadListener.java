@@ -0,0 +1,14 @@
+package com.hotel.common.metrics;
+
+import jakarta.persistence.PostLoad;
+
+/**
+ * JPA entity listener counting entities hydrated on the current thread.
+ */
+public class EntityLoadListener {
+
+    @PostLoad
+    public void onPostLoad(Object entity) {
+        JpaCallStatistics.entityLoaded();
+    }
+}
@@ -0,0 +1,15 @@
+package com.hotel.common.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener feeding {@link JpaCallStatistics}.
+ * Registered for every session through {@code hibernate.session.events.auto}.
+ */
+public class JdbcStatisticsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        JpaCallStatistics.statementPrepared();
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotel.common.metrics;
+
+/**
+ * Per-thread JDBC and persistence-context counters.
+ * Hibernate callbacks run on the calling thread, so the repository interceptor
+ * can diff two snapshots to attribute work to a single repository method.
+ */
+public final class JpaCallStatistics {
+
+    private static final ThreadLocal<JpaCallStatistics> CURRENT = ThreadLocal.withInitial(JpaCallStatistics::new);
+
+    private long statements;
+    private long entitiesLoaded;
+
+    private JpaCallStatistics() {
+    }
+
+    static JpaCallStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void statementPrepared() {
+        CURRENT.get().statements++;
+    }
+
+    public static void entityLoaded() {
+        CURRENT.get().entitiesLoaded++;
+    }
+
+    long getStatements() {
+        return statements;
+    }
+
+    long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
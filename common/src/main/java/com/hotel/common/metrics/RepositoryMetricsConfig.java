@@ -0,0 +1,68 @@
+package com.hotel.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Wires per-repository-method metrics and Hibernate statistics.
+ * Metrics are tagged with the API module through {@code management.metrics.tags.module}.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                                String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                                // Outside the repository's own transaction, which acquires the connection
+                                proxyFactory.addAdvice(0, new CallingOperation(repository));
+                                proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                                        meterRegistry.getObject(), repository));
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Names transactional service methods before their transaction begins, which is when the connection is
+     * acquired, for the pool's {@code hotel.connection.acquire} timer.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor callingOperationAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Transactional.class, true))
+                .union(new AnnotationMatchingPointcut(null, Transactional.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new CallingOperation(null));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcStatisticsSessionListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotel.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Records timing, rows returned, statements executed and entities loaded for each Spring Data repository method.
+ * Connection acquisition is timed in the pool, see {@link CallingOperation}.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(MeterRegistry registry, String repository) {
+        this.registry = registry;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        JpaCallStatistics stats = JpaCallStatistics.current();
+        long statements = stats.getStatements();
+        long entities = stats.getEntitiesLoaded();
+        long start = System.nanoTime();
+
+        MethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::createMeters);
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            long rows = countRows(result);
+            if (rows >= 0) {
+                methodMeters.rows.record(rows);
+            }
+            return result;
+        } finally {
+            (success ? methodMeters.success : methodMeters.error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.statements.record(stats.getStatements() - statements);
+            methodMeters.entitiesLoaded.record(stats.getEntitiesLoaded() - entities);
+        }
+    }
+
+    /**
+     * Number of rows carried by a repository result, or -1 when unknown
+     * (scalar results such as counts and flags, or lazily consumed streams).
+     */
+    private static long countRows(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof Number || result instanceof Boolean || result instanceof BaseStream<?, ?>) return -1;
+        return 1;
+    }
+
+    private MethodMeters createMeters(Method method) {
+        String name = method.getName();
+        return new MethodMeters(
+                timer("hotel.repository.invocations", name, "success"),
+                timer("hotel.repository.invocations", name, "error"),
+                summary("hotel.repository.rows", name, "rows"),
+                summary("hotel.repository.statements", name, "statements"),
+                summary("hotel.repository.entities.loaded", name, "entities"));
+    }
+
+    private Timer timer(String metric, String method, String outcome) {
+        return Timer.builder(metric)
+                .description("Repository method execution time")
+                .tags("repository", repository, "method", method, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String metric, String method, String unit) {
+        return DistributionSummary.builder(metric)
+                .baseUnit(unit)
+                .tags("repository", repository, "method", method)
+                .register(registry);
+    }
+
+    private record MethodMeters(Timer success, Timer error, DistributionSummary rows,
+                                DistributionSummary statements, DistributionSummary entitiesLoaded) {
+    }
+}
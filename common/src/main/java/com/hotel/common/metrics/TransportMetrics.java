@@ -0,0 +1,94 @@
+package com.hotel.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload size and (de)serialization time, shared by the REST, SOAP and gRPC modules
+ * so that the three protocols publish identical metric names.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransportMetrics {
+
+    public static final String REST = "rest";
+    public static final String SOAP = "soap";
+    public static final String GRPC = "grpc";
+
+    private final MeterRegistry registry;
+    private final Map<String, Map<String, OperationMeters>> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Record an inbound payload. A negative size means the size is unknown.
+     */
+    public void recordRequest(String protocol, String operation, long bytes, long decodeNanos) {
+        OperationMeters m = meters(protocol, operation);
+        if (bytes >= 0) {
+            m.requestBytes.record(bytes);
+        }
+        m.decode.record(decodeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record an outbound payload. A negative size means the size is unknown.
+     */
+    public void recordResponse(String protocol, String operation, long bytes, long encodeNanos) {
+        OperationMeters m = meters(protocol, operation);
+        if (bytes >= 0) {
+            m.responseBytes.record(bytes);
+        }
+        m.encode.record(encodeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record payload sizes observed at the transport layer, when no timing is available.
+     */
+    public void recordBytes(String protocol, String operation, long requestBytes, long responseBytes) {
+        OperationMeters m = meters(protocol, operation);
+        if (requestBytes >= 0) {
+            m.requestBytes.record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            m.responseBytes.record(responseBytes);
+        }
+    }
+
+    private OperationMeters meters(String protocol, String operation) {
+        return meters.computeIfAbsent(protocol, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, op -> createMeters(protocol, op));
+    }
+
+    private OperationMeters createMeters(String protocol, String operation) {
+        return new OperationMeters(
+                bytes("hotel.transport.request.bytes", protocol, operation),
+                bytes("hotel.transport.response.bytes", protocol, operation),
+                timer("hotel.serialization.decode", protocol, operation),
+                timer("hotel.serialization.encode", protocol, operation));
+    }
+
+    private DistributionSummary bytes(String metric, String protocol, String operation) {
+        return DistributionSummary.builder(metric)
+                .baseUnit("bytes")
+                .tags("protocol", protocol, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer timer(String metric, String protocol, String operation) {
+        return Timer.builder(metric)
+                .tags("protocol", protocol, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record OperationMeters(DistributionSummary requestBytes, DistributionSummary responseBytes,
+                                   Timer decode, Timer encode) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotel.common.partition;
+
+import com.hotel.common.entity.Chambre;
+import com.hotel.common.entity.Client;
+import com.hotel.common.entity.Reservation;
+import com.hotel.common.entity.Reservation.StatutReservation;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads back reservations moved to {@code reservations_archive} by the {@link ReservationArchiver}, so that
+ * looking one up by id keeps working once it is archived.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hotel.reservations.partitioning", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReservationArchive {
+
+    private final ReservationPartitionManager partitionManager;
+    private final JdbcTemplate jdbc;
+    private final EntityManager entityManager;
+
+    public ReservationArchive(ReservationPartitionManager partitionManager, DataSource dataSource,
+                              EntityManager entityManager) {
+        this.partitionManager = partitionManager;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * The archived reservation, detached; its client and room are left null if they were deleted since.
+     */
+    public Optional<Reservation> find(Long id) {
+        if (!partitionManager.isActive()) {
+            return Optional.empty();
+        }
+        List<Reservation> found = jdbc.query("SELECT client_id, chambre_id, date_debut, date_fin, statut, "
+                + "preferences, nombre_personnes, prix_total, commentaires, created_at, updated_at FROM "
+                + ReservationPartitionManager.ARCHIVE_TABLE + " WHERE id = ?", (rs, row) -> Reservation.builder()
+                .id(id)
+                .client(entityManager.find(Client.class, rs.getLong("client_id")))
+                .chambre(entityManager.find(Chambre.class, rs.getLong("chambre_id")))
+                .dateDebut(rs.getObject("date_debut", LocalDate.class))
+                .dateFin(rs.getObject("date_fin", LocalDate.class))
+                .statut(StatutReservation.valueOf(rs.getString("statut")))
+                .preferences(rs.getString("preferences"))
+                .nombrePersonnes((Integer) rs.getObject("nombre_personnes"))
+                .prixTotal(rs.getBigDecimal("prix_total"))
+                .commentaires(rs.getString("commentaires"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build(), id);
+        return found.stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.common.partition;
+
+import com.hotel.common.cache.CacheInvalidationBus;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished ({@code TERMINEE}) and cancelled ({@code ANNULEE}) stays that ended more than
+ * {@code hotel.reservations.archive.retention} ago into {@code reservations_archive}, then drops the monthly
+ * partitions left empty. Archived reservations are still served by id, through {@link ReservationArchive}, but no
+ * longer listed.
+ *
+ * <p>Rows move in batches of {@code hotel.reservations.archive.batch-size}, each in its own transaction,
+ * and rows locked by online requests are skipped until the next run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "hotel.reservations.partitioning", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReservationArchiver {
+
+    private final ReservationPartitionManager partitionManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter archived;
+
+    public ReservationArchiver(ReservationPartitionManager partitionManager, CacheInvalidationBus invalidationBus,
+                               DataSource dataSource, MeterRegistry meterRegistry,
+                               @Value("${hotel.reservations.archive.retention:P30D}") Duration retention,
+                               @Value("${hotel.reservations.archive.batch-size:1000}") int batchSize) {
+        this.partitionManager = partitionManager;
+        this.invalidationBus = invalidationBus;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("hotel.reservations.archived")
+                .description("Reservations moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${hotel.reservations.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        if (!partitionManager.isActive()) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(retention.toDays());
+        transactionTemplate.executeWithoutResult(status -> partitionManager.syncArchiveColumns());
+
+        String columns = partitionManager.columns(ReservationPartitionManager.TABLE).stream()
+                .map(column -> '"' + column + '"')
+                .collect(Collectors.joining(", "));
+        // date_debut <= date_fin, so the date_debut bound prunes every partition newer than the cutoff
+        String sql = "WITH moved AS (DELETE FROM reservations WHERE (id, date_debut) IN ("
+                + "SELECT id, date_debut FROM reservations WHERE statut IN ('TERMINEE', 'ANNULEE') "
+                + "AND date_debut < ? AND date_fin < ? LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING " + columns + ") "
+                + "INSERT INTO " + ReservationPartitionManager.ARCHIVE_TABLE + " (" + columns + ") "
+                + "SELECT " + columns + " FROM moved";
+
+        long total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status -> jdbc.update(sql, cutoff, cutoff, batchSize));
+            moved = batch == null ? 0 : batch;
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            archived.increment(total);
+            // Rows left through plain SQL, so the entity listeners never saw them
+            invalidationBus.publish(Table.RESERVATIONS);
+        }
+        int dropped = partitionManager.dropEmptyPartitionsBefore(cutoff);
+        log.info("Archivage des réservations: {} lignes archivées, {} partitions supprimées", total, dropped);
+    }
+}
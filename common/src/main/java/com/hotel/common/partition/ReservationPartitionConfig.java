@@ -0,0 +1,33 @@
+package com.hotel.common.partition;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Orders partition setup before Hibernate's schema update.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.reservations.partitioning", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReservationPartitionConfig {
+
+    /**
+     * Otherwise {@code ddl-auto: update} would create a plain {@code reservations} table on an empty database.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor reservationPartitionsBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor("reservationPartitionManager");
+    }
+
+    /**
+     * Lets the schema update see the partitioned table instead of trying to create it again.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer partitionedTableTypesCustomizer() {
+        return properties -> properties.put(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES, "PARTITIONED TABLE");
+    }
+}
@@ -0,0 +1,253 @@
+package com.hotel.common.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code reservations} range-partitioned by month on {@code date_debut}.
+ *
+ * <p>Runs before Hibernate's schema update (see {@link ReservationPartitionConfig}): creates the partitioned
+ * table, or converts an existing plain table in one transaction, then makes sure monthly partitions exist
+ * {@code hotel.reservations.partitioning.months-ahead} months ahead. Rows outside every monthly partition land
+ * in {@code reservations_default} and are moved out when their month's partition is created.
+ * All DDL is serialized across the APIs sharing the database with an advisory lock.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "hotel.reservations.partitioning", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReservationPartitionManager implements InitializingBean {
+
+    static final String TABLE = "reservations";
+    static final String DEFAULT_PARTITION = "reservations_default";
+    static final String ARCHIVE_TABLE = "reservations_archive";
+
+    private static final String LEGACY_TABLE = "reservations_unpartitioned";
+    private static final long DDL_LOCK = 0x484f54454c5f5250L;
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'reservations_p'yyyy_MM");
+    private static final int MAX_MONTHS_BACK = 120;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private volatile boolean active;
+
+    public ReservationPartitionManager(DataSource dataSource,
+                                       @Value("${hotel.reservations.partitioning.months-ahead:12}") int monthsAhead) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * False on databases without declarative partitioning; archival is skipped as well.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Partitionnement des réservations désactivé pour {}", product);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbc.queryForList("SELECT pg_advisory_xact_lock(?)", DDL_LOCK);
+            String kind = relkind(TABLE);
+            if (kind == null) {
+                createPartitionedTable();
+            } else if ("r".equals(kind)) {
+                convertPlainTable();
+            }
+            ensurePartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+            createArchiveTable();
+        });
+        active = true;
+    }
+
+    /**
+     * Rolls the partition window forward.
+     */
+    @Scheduled(cron = "${hotel.reservations.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!active) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (tryDdlLock()) {
+                ensurePartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+            }
+        });
+    }
+
+    /**
+     * Drops monthly partitions that ended before {@code cutoff} and no longer hold any row.
+     */
+    public int dropEmptyPartitionsBefore(LocalDate cutoff) {
+        Integer dropped = transactionTemplate.execute(status -> {
+            if (!tryDdlLock()) {
+                return 0;
+            }
+            int count = 0;
+            for (String partition : monthlyPartitions()) {
+                YearMonth month = YearMonth.parse(partition, PARTITION_NAME);
+                if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                    break;
+                }
+                boolean empty = !Boolean.TRUE.equals(jdbc.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class));
+                if (empty) {
+                    jdbc.execute("DROP TABLE " + partition);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return dropped == null ? 0 : dropped;
+    }
+
+    /**
+     * Live columns of a table in declaration order.
+     */
+    List<String> columns(String table) {
+        return jdbc.queryForList("SELECT attname FROM pg_attribute WHERE attrelid = to_regclass(?) "
+                + "AND attnum > 0 AND NOT attisdropped ORDER BY attnum", String.class, table);
+    }
+
+    /**
+     * Adds to the archive the columns Hibernate added to {@code reservations} since it was created.
+     */
+    void syncArchiveColumns() {
+        List<String> archived = columns(ARCHIVE_TABLE);
+        jdbc.query("SELECT attname, format_type(atttypid, atttypmod) FROM pg_attribute WHERE attrelid = to_regclass(?) "
+                + "AND attnum > 0 AND NOT attisdropped ORDER BY attnum", rs -> {
+            String column = rs.getString(1);
+            if (!archived.contains(column)) {
+                jdbc.execute("ALTER TABLE " + ARCHIVE_TABLE + " ADD COLUMN \"" + column + "\" " + rs.getString(2));
+            }
+        }, TABLE);
+    }
+
+    private void createPartitionedTable() {
+        jdbc.execute("""
+                CREATE TABLE reservations (
+                    id BIGSERIAL,
+                    client_id BIGINT NOT NULL,
+                    chambre_id BIGINT NOT NULL,
+                    date_debut DATE NOT NULL,
+                    date_fin DATE NOT NULL,
+                    statut VARCHAR(255) NOT NULL,
+                    preferences VARCHAR(2000),
+                    nombre_personnes INTEGER,
+                    prix_total NUMERIC(10, 2),
+                    commentaires VARCHAR(500),
+                    created_at TIMESTAMP(6),
+                    updated_at TIMESTAMP(6),
+                    PRIMARY KEY (id, date_debut)
+                ) PARTITION BY RANGE (date_debut)""");
+        jdbc.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF reservations DEFAULT");
+        jdbc.execute("CREATE INDEX idx_reservations_chambre_dates ON reservations (chambre_id, date_debut, date_fin)");
+        jdbc.execute("CREATE INDEX idx_reservations_client ON reservations (client_id)");
+        jdbc.execute("CREATE INDEX idx_reservations_statut ON reservations (statut, date_debut)");
+    }
+
+    /**
+     * Swaps a table created by Hibernate for a partitioned one with the same rows and ids.
+     * Foreign keys are recreated by Hibernate's schema update right after.
+     */
+    private void convertPlainTable() {
+        jdbc.execute("ALTER TABLE reservations RENAME TO " + LEGACY_TABLE);
+        jdbc.execute("ALTER INDEX IF EXISTS reservations_pkey RENAME TO " + LEGACY_TABLE + "_pkey");
+        jdbc.execute("ALTER SEQUENCE IF EXISTS reservations_id_seq RENAME TO " + LEGACY_TABLE + "_id_seq");
+        createPartitionedTable();
+
+        LocalDate oldest = jdbc.queryForObject("SELECT MIN(date_debut) FROM " + LEGACY_TABLE, LocalDate.class);
+        if (oldest != null) {
+            YearMonth floor = YearMonth.now().minusMonths(MAX_MONTHS_BACK);
+            YearMonth first = YearMonth.from(oldest);
+            ensurePartitions(first.isBefore(floor) ? floor : first, YearMonth.now());
+        }
+        List<String> legacy = columns(LEGACY_TABLE);
+        String columns = columns(TABLE).stream()
+                .filter(legacy::contains)
+                .map(column -> '"' + column + '"')
+                .collect(Collectors.joining(", "));
+        int rows = jdbc.update("INSERT INTO reservations (" + columns + ") SELECT " + columns + " FROM " + LEGACY_TABLE);
+        jdbc.queryForList("SELECT setval('reservations_id_seq', COALESCE(MAX(id), 0) + 1, false) FROM reservations");
+        jdbc.execute("DROP TABLE " + LEGACY_TABLE);
+        log.info("Table reservations partitionnée par mois ({} lignes reprises)", rows);
+    }
+
+    private void createArchiveTable() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE
+                + " (LIKE reservations, archived_at TIMESTAMP(6) NOT NULL DEFAULT now(), PRIMARY KEY (id))");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_reservations_archive_client ON " + ARCHIVE_TABLE + " (client_id)");
+    }
+
+    private void ensurePartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String partition = PARTITION_NAME.format(month);
+            if (relkind(partition) == null) {
+                createPartition(partition, month);
+            }
+        }
+    }
+
+    /**
+     * A partition cannot be added while the default partition holds rows of its range,
+     * so those rows are moved into the new table before it is attached. Inserts into the default partition wait
+     * until the transaction ends: one landing in the range between the move and the attach would make it fail.
+     */
+    private void createPartition(String partition, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        String bounds = " FOR VALUES FROM ('" + start + "') TO ('" + end + "')";
+        jdbc.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+        boolean pending = Boolean.TRUE.equals(jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+                + " WHERE date_debut >= ? AND date_debut < ?)", Boolean.class, start, end));
+        if (!pending) {
+            jdbc.execute("CREATE TABLE " + partition + " PARTITION OF reservations" + bounds);
+            return;
+        }
+        jdbc.execute("CREATE TABLE " + partition + " (LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbc.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE date_debut >= ? AND date_debut < ? "
+                + "RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved", start, end);
+        jdbc.execute("ALTER TABLE reservations ATTACH PARTITION " + partition + bounds);
+    }
+
+    private List<String> monthlyPartitions() {
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass(?) AND c.relname ~ '^reservations_p[0-9]{4}_[0-9]{2}$' "
+                + "ORDER BY c.relname", String.class, TABLE);
+    }
+
+    private String relkind(String relation) {
+        List<String> kinds = jdbc.queryForList("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)",
+                String.class, relation);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private boolean tryDdlLock() {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, DDL_LOCK));
+    }
+}
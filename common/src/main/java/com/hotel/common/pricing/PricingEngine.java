@@ -0,0 +1,170 @@
+package com.hotel.common.pricing;
+
+import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.pricing.PricingProperties.Season;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+/**
+ * Prices stays from per-room-type rate calendars.
+ *
+ * <p>For each room type the calendar holds the running sum of nightly rate factors, in basis points
+ * ({@code 10000} = the room's own price), as a {@code long[]} indexed by day. The factor sum over a stay is
+ * a difference of two entries, so a total costs two array reads and one multiplication whatever the stay
+ * length. Amounts are computed in cents; nights beyond the calendar horizon are priced one by one.
+ */
+@Slf4j
+@Component
+public class PricingEngine {
+
+    private static final long BASE_BP = 10_000;
+    private static final TypeChambre[] TYPES = TypeChambre.values();
+
+    /**
+     * Immutable calendar snapshot: {@code prefix[type][i]} is the factor sum of the nights before
+     * {@code firstDay + i}.
+     */
+    private record Calendar(long firstDay, long[][] prefix) {
+        int days() {
+            return prefix[0].length - 1;
+        }
+    }
+
+    /**
+     * A stay to price; {@code dateFin} is the departure day and is not charged.
+     */
+    public record Stay(LocalDate dateDebut, LocalDate dateFin) {
+    }
+
+    private final List<Season> seasons;
+    private final int horizonDays;
+    private volatile Calendar calendar;
+
+    public PricingEngine(PricingProperties properties) {
+        this.seasons = List.copyOf(properties.getSeasons());
+        this.horizonDays = properties.getHorizonDays();
+        rebuild();
+    }
+
+    /**
+     * Moves the calendar window to the current year.
+     */
+    @Scheduled(cron = "${hotel.pricing.rebuild-cron:0 5 0 1 * *}")
+    public void rebuild() {
+        LocalDate first = LocalDate.now().withDayOfYear(1);
+        long[][] prefix = new long[TYPES.length][horizonDays + 1];
+        for (TypeChambre type : TYPES) {
+            long[] sums = prefix[type.ordinal()];
+            LocalDate night = first;
+            for (int i = 0; i < horizonDays; i++, night = night.plusDays(1)) {
+                sums[i + 1] = sums[i] + factorBp(type, night);
+            }
+        }
+        calendar = new Calendar(first.toEpochDay(), prefix);
+        log.debug("Calendrier tarifaire recalculé à partir du {} ({} jours)", first, horizonDays);
+    }
+
+    /**
+     * Total in cents of a stay in a room of this type and nightly price.
+     */
+    public long totalCents(TypeChambre type, long nightlyCents, LocalDate dateDebut, LocalDate dateFin) {
+        long factorBp = factorSum(calendar, type, dateDebut.toEpochDay(), dateFin.toEpochDay());
+        return Math.floorDiv(nightlyCents * factorBp + BASE_BP / 2, BASE_BP);
+    }
+
+    public BigDecimal total(TypeChambre type, BigDecimal prix, LocalDate dateDebut, LocalDate dateFin) {
+        return BigDecimal.valueOf(totalCents(type, toCents(prix), dateDebut, dateFin), 2);
+    }
+
+    /**
+     * Totals in cents of every stay in every room: {@code result[room][stay]}.
+     * The three room arrays are parallel.
+     */
+    public long[][] quote(TypeChambre[] types, long[] nightlyCents, List<Stay> stays) {
+        Calendar snapshot = calendar;
+        int stayCount = stays.size();
+        long[] from = new long[stayCount];
+        long[] to = new long[stayCount];
+        for (int s = 0; s < stayCount; s++) {
+            from[s] = stays.get(s).dateDebut().toEpochDay();
+            to[s] = stays.get(s).dateFin().toEpochDay();
+        }
+        // Factor sums depend on the type only, so they are computed once per type and stay
+        long[][] factorByType = new long[TYPES.length][];
+        long[][] result = new long[types.length][stayCount];
+        for (int r = 0; r < types.length; r++) {
+            int type = types[r].ordinal();
+            if (factorByType[type] == null) {
+                factorByType[type] = new long[stayCount];
+                for (int s = 0; s < stayCount; s++) {
+                    factorByType[type][s] = factorSum(snapshot, types[r], from[s], to[s]);
+                }
+            }
+            long[] factors = factorByType[type];
+            long[] totals = result[r];
+            for (int s = 0; s < stayCount; s++) {
+                totals[s] = Math.floorDiv(nightlyCents[r] * factors[s] + BASE_BP / 2, BASE_BP);
+            }
+        }
+        return result;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private long factorSum(Calendar snapshot, TypeChambre type, long fromDay, long toDay) {
+        if (toDay <= fromDay) {
+            return 0;
+        }
+        long[] sums = snapshot.prefix()[type.ordinal()];
+        long start = fromDay - snapshot.firstDay();
+        long end = toDay - snapshot.firstDay();
+        if (start >= 0 && end <= snapshot.days()) {
+            return sums[(int) end] - sums[(int) start];
+        }
+        long total = 0;
+        for (long day = fromDay; day < toDay; day++) {
+            long i = day - snapshot.firstDay();
+            total += i >= 0 && i < snapshot.days()
+                    ? sums[(int) i + 1] - sums[(int) i]
+                    : factorBp(type, LocalDate.ofEpochDay(day));
+        }
+        return total;
+    }
+
+    private long factorBp(TypeChambre type, LocalDate night) {
+        BigDecimal factor = BigDecimal.ONE;
+        for (Season season : seasons) {
+            if (applies(season, type, night)) {
+                factor = factor.multiply(season.getFactor());
+            }
+        }
+        return factor.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static boolean applies(Season season, TypeChambre type, LocalDate night) {
+        if (!season.getTypes().isEmpty() && !season.getTypes().contains(type)) {
+            return false;
+        }
+        if (!season.getDays().isEmpty() && !season.getDays().contains(night.getDayOfWeek())) {
+            return false;
+        }
+        if (season.getFrom() == null || season.getTo() == null) {
+            return true;
+        }
+        MonthDay day = MonthDay.from(night);
+        MonthDay from = MonthDay.parse("--" + season.getFrom());
+        MonthDay to = MonthDay.parse("--" + season.getTo());
+        return from.isAfter(to)
+                ? !day.isBefore(from) || !day.isAfter(to)
+                : !day.isBefore(from) && !day.isAfter(to);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotel.common.pricing;
+
+import com.hotel.common.entity.Chambre.TypeChambre;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seasonal rates, {@code hotel.pricing.*}. A night costs the room price times the factor of every season
+ * covering it; without seasons a stay costs price × nights.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.pricing")
+public class PricingProperties {
+
+    /** Days precomputed from January 1st of the current year; later nights are priced one by one. */
+    private int horizonDays = 3 * 366;
+
+    private List<Season> seasons = new ArrayList<>();
+
+    @Data
+    public static class Season {
+        private String name;
+        /** First and last day, {@code MM-dd}, both included; {@code from} after {@code to} wraps over the new year. */
+        private String from;
+        private String to;
+        /** Restricts the season to these days of the week, e.g. FRIDAY, SATURDAY. */
+        private Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        /** Restricts the season to these room types; empty means every type. */
+        private Set<TypeChambre> types = EnumSet.noneOf(TypeChambre.class);
+        private BigDecimal factor = BigDecimal.ONE;
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.common.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Dates taken by a non-cancelled reservation, without loading the entity.
+ */
+public record BookedDates(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+
+    public boolean overlaps(LocalDate debut, LocalDate fin) {
+        return !dateDebut.isAfter(fin) && !dateFin.isBefore(debut);
+    }
+}
@@ -2,6 +2,7 @@ package com.hotel.common.repository;
 
 import com.hotel.common.entity.Chambre;
 import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.entity.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -46,11 +47,40 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
     /**
      * Find rooms available for specific dates.
      */
+    default List<Chambre> findAvailableRooms(LocalDate dateDebut, LocalDate dateFin) {
+        return findAvailableRooms(dateDebut, dateFin, dateDebut.minusDays(Reservation.MAX_NIGHTS));
+    }
+
+    /**
+     * Find rooms available for specific dates, only looking at reservations starting from {@code earliestStart}.
+     */
     @Query("SELECT c FROM Chambre c WHERE c.disponible = true AND c.id NOT IN " +
-           "(SELECT r.chambre.id FROM Reservation r WHERE " +
+           "(SELECT r.chambre.id FROM Reservation r WHERE r.dateDebut >= :earliestStart AND " +
            "(r.dateDebut <= :dateFin AND r.dateFin >= :dateDebut) AND r.statut != 'ANNULEE')")
     List<Chambre> findAvailableRooms(@Param("dateDebut") LocalDate dateDebut, 
-                                      @Param("dateFin") LocalDate dateFin);
+                                      @Param("dateFin") LocalDate dateFin,
+                                      @Param("earliestStart") LocalDate earliestStart);
+
+    /**
+     * Rooms open for booking matching the optional criteria of a quote, cheapest first.
+     */
+    @Query("SELECT c FROM Chambre c WHERE c.disponible = true " +
+           "AND (:type IS NULL OR c.type = :type) " +
+           "AND (:capacite IS NULL OR c.capaciteMax >= :capacite) " +
+           "AND (:minPrix IS NULL OR c.prix >= :minPrix) " +
+           "AND (:maxPrix IS NULL OR c.prix <= :maxPrix) " +
+           "ORDER BY c.prix, c.id")
+    List<Chambre> findQuoteCandidates(@Param("type") TypeChambre type,
+                                      @Param("capacite") Integer capacite,
+                                      @Param("minPrix") BigDecimal minPrix,
+                                      @Param("maxPrix") BigDecimal maxPrix);
+
+    /**
+     * Rooms having every amenity of {@code mask}, a bitset from {@link com.hotel.common.amenity.AmenityDictionary}.
+     */
+    @Query(value = "SELECT * FROM chambres c WHERE (c.equipements_mask & :mask) = :mask ORDER BY c.id",
+           nativeQuery = true)
+    List<Chambre> findByEquipementsMask(@Param("mask") long mask);
 
     /**
      * Find rooms with capacity.
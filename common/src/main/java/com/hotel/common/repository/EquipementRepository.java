@@ -0,0 +1,26 @@
+package com.hotel.common.repository;
+
+import com.hotel.common.entity.Equipement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the amenity dictionary.
+ */
+@Repository
+public interface EquipementRepository extends JpaRepository<Equipement, Integer> {
+
+    /**
+     * Adds an amenity under the next free id, below {@code capacity}.
+     * Inserts nothing when the name or the id is already taken, or when the dictionary is full.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO equipements (id, nom) " +
+                   "SELECT COALESCE(MAX(id) + 1, 0), :nom FROM equipements " +
+                   "HAVING COALESCE(MAX(id) + 1, 0) < :capacity " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertNext(@Param("nom") String nom, @Param("capacity") int capacity);
+}
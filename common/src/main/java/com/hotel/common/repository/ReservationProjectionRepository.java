@@ -0,0 +1,20 @@
+package com.hotel.common.repository;
+
+import com.hotel.common.dto.ReservationField;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse reservation queries selecting only the requested columns.
+ */
+public interface ReservationProjectionRepository {
+
+    /**
+     * Select the given fields of every reservation, or of one client's reservations when
+     * {@code clientId} is not null. Each tuple element is aliased by {@link ReservationField#name()}.
+     * Client and room are joined only when selected as a whole.
+     */
+    List<Tuple> findProjected(Set<ReservationField> fields, Long clientId);
+}
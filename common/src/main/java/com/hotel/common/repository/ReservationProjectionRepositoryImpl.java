@@ -0,0 +1,54 @@
+package com.hotel.common.repository;
+
+import com.hotel.common.dto.ReservationField;
+import com.hotel.common.entity.Reservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria implementation of {@link ReservationProjectionRepository}.
+ */
+@RequiredArgsConstructor
+class ReservationProjectionRepositoryImpl implements ReservationProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findProjected(Set<ReservationField> fields, Long clientId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Reservation> root = query.from(Reservation.class);
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> select(root, field).alias(field.name()))
+                .toList());
+        if (clientId != null) {
+            query.where(cb.equal(root.get("client").get("id"), clientId));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    private static Selection<?> select(Root<Reservation> root, ReservationField field) {
+        return switch (field) {
+            case CLIENT -> root.join("client");
+            case CHAMBRE -> root.join("chambre");
+            // Foreign key columns, no join needed
+            case CLIENT_ID -> root.get("client").get("id");
+            case CHAMBRE_ID -> root.get("chambre").get("id");
+            default -> root.get(field.getAttribute());
+        };
+    }
+}
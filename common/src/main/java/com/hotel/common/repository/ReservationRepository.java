@@ -2,51 +2,90 @@ package com.hotel.common.repository;
 
 import com.hotel.common.entity.Reservation;
 import com.hotel.common.entity.Reservation.StatutReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for Reservation entity operations.
  */
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationProjectionRepository {
 
     /**
      * Find reservations by client ID.
      */
+    @EntityGraph(attributePaths = {"client", "chambre"})
     List<Reservation> findByClientId(Long clientId);
 
     /**
      * Find reservations by room ID.
      */
+    @EntityGraph(attributePaths = {"client", "chambre"})
     List<Reservation> findByChambreId(Long chambreId);
 
     /**
      * Find reservations by status.
      */
+    @EntityGraph(attributePaths = {"client", "chambre"})
     List<Reservation> findByStatut(StatutReservation statut);
 
     /**
      * Find reservations by date range.
+     * The redundant {@code dateDebut <= endDate} bound lets PostgreSQL prune later partitions.
      */
-    @Query("SELECT r FROM Reservation r WHERE r.dateDebut >= :startDate AND r.dateFin <= :endDate")
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    @Query("SELECT r FROM Reservation r WHERE r.dateDebut >= :startDate AND r.dateDebut <= :endDate " +
+           "AND r.dateFin <= :endDate")
     List<Reservation> findByDateRange(@Param("startDate") LocalDate startDate, 
                                        @Param("endDate") LocalDate endDate);
 
     /**
      * Find overlapping reservations for a room.
      */
+    default List<Reservation> findOverlappingReservations(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        return findOverlappingReservations(chambreId, dateDebut, dateFin, dateDebut.minusDays(Reservation.MAX_NIGHTS));
+    }
+
+    /**
+     * Find overlapping reservations for a room starting no earlier than {@code earliestStart},
+     * so that only the partitions around the requested dates are scanned.
+     */
     @Query("SELECT r FROM Reservation r WHERE r.chambre.id = :chambreId " +
            "AND r.statut != 'ANNULEE' " +
+           "AND r.dateDebut >= :earliestStart " +
            "AND r.dateDebut <= :dateFin AND r.dateFin >= :dateDebut")
     List<Reservation> findOverlappingReservations(@Param("chambreId") Long chambreId,
                                                    @Param("dateDebut") LocalDate dateDebut,
-                                                   @Param("dateFin") LocalDate dateFin);
+                                                   @Param("dateFin") LocalDate dateFin,
+                                                   @Param("earliestStart") LocalDate earliestStart);
+
+    /**
+     * Dates booked in the given rooms overlapping {@code [dateDebut, dateFin]}.
+     */
+    default List<BookedDates> findBookedDates(Collection<Long> chambreIds, LocalDate dateDebut, LocalDate dateFin) {
+        return findBookedDates(chambreIds, dateDebut, dateFin, dateDebut.minusDays(Reservation.MAX_NIGHTS));
+    }
+
+    @Query("SELECT new com.hotel.common.repository.BookedDates(r.chambre.id, r.dateDebut, r.dateFin) " +
+           "FROM Reservation r WHERE r.chambre.id IN :chambreIds " +
+           "AND r.statut != 'ANNULEE' " +
+           "AND r.dateDebut >= :earliestStart " +
+           "AND r.dateDebut <= :dateFin AND r.dateFin >= :dateDebut")
+    List<BookedDates> findBookedDates(@Param("chambreIds") Collection<Long> chambreIds,
+                                      @Param("dateDebut") LocalDate dateDebut,
+                                      @Param("dateFin") LocalDate dateFin,
+                                      @Param("earliestStart") LocalDate earliestStart);
 
     /**
      * Find all reservations with client and room details.
@@ -54,6 +93,17 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r JOIN FETCH r.client JOIN FETCH r.chambre")
     List<Reservation> findAllWithDetails();
 
+    /**
+     * Stream all reservations with client and room details through a database cursor.
+     * Must be consumed inside a read-only transaction and closed by the caller.
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.client JOIN FETCH r.chambre ORDER BY r.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Reservation> streamAllWithDetails();
+
     /**
      * Find reservation by ID with details.
      */
@@ -68,6 +118,16 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     /**
      * Find current and upcoming reservations.
      */
-    @Query("SELECT r FROM Reservation r WHERE r.dateFin >= :today AND r.statut != 'ANNULEE' ORDER BY r.dateDebut")
-    List<Reservation> findCurrentAndUpcoming(@Param("today") LocalDate today);
+    default List<Reservation> findCurrentAndUpcoming(LocalDate today) {
+        return findCurrentAndUpcoming(today, today.minusDays(Reservation.MAX_NIGHTS));
+    }
+
+    /**
+     * Find current and upcoming reservations starting no earlier than {@code earliestStart}.
+     */
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    @Query("SELECT r FROM Reservation r WHERE r.dateFin >= :today AND r.dateDebut >= :earliestStart " +
+           "AND r.statut != 'ANNULEE' ORDER BY r.dateDebut")
+    List<Reservation> findCurrentAndUpcoming(@Param("today") LocalDate today,
+                                             @Param("earliestStart") LocalDate earliestStart);
 }
@@ -0,0 +1,33 @@
+package com.hotel.common.scheduling;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Enables the background jobs of the common module (reservation lifecycle, partitions, archival).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Under {@code spring.main.lazy-initialization} (the {@code fast-start} profile) a bean is only created on
+     * first use, and its {@code @Scheduled} methods are only registered then. Beans with jobs stay eager.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(beanType, method -> scheduled.set(true),
+                    method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+            return scheduled.get();
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package com.hotel.common.service;
 
 import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
 import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.pricing.PricingEngine.Stay;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +16,11 @@ import java.util.List;
 public interface ChambreService {
     
     List<ChambreDTO> findAll();
+
+    /**
+     * Lists leave {@code equipements} out unless {@code withEquipements} is set.
+     */
+    List<ChambreDTO> findAll(boolean withEquipements);
     
     ChambreDTO findById(Long id);
     
@@ -23,8 +31,31 @@ public interface ChambreService {
     List<ChambreDTO> findByType(TypeChambre type);
     
     List<ChambreDTO> findByPriceRange(BigDecimal minPrix, BigDecimal maxPrix);
+
+    /**
+     * Rooms for at least {@code nombrePersonnes} guests.
+     */
+    List<ChambreDTO> findByCapacite(int nombrePersonnes);
     
     List<ChambreDTO> findAvailableForDates(LocalDate dateDebut, LocalDate dateFin);
+
+    /**
+     * Rooms having all the given amenities.
+     */
+    List<ChambreDTO> findByEquipements(List<String> equipements, boolean withEquipements);
+
+    List<String> findEquipements(Long id);
+
+    /**
+     * Every amenity known to the dictionary.
+     */
+    List<String> findAllEquipements();
+
+    /**
+     * Prices every room matching the filter and free for a stay, for each of the stays:
+     * one entry per (room, stay) pair, rooms cheapest first.
+     */
+    List<QuoteDTO> quote(List<Stay> stays, Integer nombrePersonnes, QuoteFilter filter);
     
     ChambreDTO create(ChambreDTO chambreDTO);
     
@@ -1,10 +1,14 @@
 package com.hotel.common.service;
 
+import com.hotel.common.dto.HoldDTO;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
 import com.hotel.common.entity.Reservation.StatutReservation;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Reservation operations.
@@ -13,9 +17,19 @@ public interface ReservationService {
     
     List<ReservationDTO> findAll();
     
+    /**
+     * Archived reservations are found too; the list and search methods only return live ones.
+     */
     ReservationDTO findById(Long id);
     
     List<ReservationDTO> findByClientId(Long clientId);
+
+    /**
+     * Sparse variants: only the selected columns are queried, the other DTO fields stay null.
+     */
+    List<ReservationDTO> findAll(Set<ReservationField> fields);
+
+    List<ReservationDTO> findByClientId(Long clientId, Set<ReservationField> fields);
     
     List<ReservationDTO> findByChambreId(Long chambreId);
     
@@ -24,6 +38,17 @@ public interface ReservationService {
     List<ReservationDTO> findByDateRange(LocalDate startDate, LocalDate endDate);
     
     ReservationDTO create(ReservationDTO reservationDTO);
+
+    /**
+     * Tentative holds: the room is blocked in memory for a while without writing a reservation.
+     * Confirming a hold creates a {@code CONFIRMEE} reservation. Holds are broadcast to every API instance,
+     * so the room is protected against bookings made through any of them.
+     */
+    HoldDTO createHold(ReservationDTO reservationDTO);
+
+    ReservationDTO confirmHold(String token);
+
+    void releaseHold(String token);
     
     ReservationDTO update(Long id, ReservationDTO reservationDTO);
     
@@ -34,4 +59,9 @@ public interface ReservationService {
     boolean isRoomAvailable(Long chambreId, LocalDate dateDebut, LocalDate dateFin);
     
     List<ReservationDTO> findCurrentAndUpcoming();
+    
+    /**
+     * Push every reservation to the consumer, one row at a time, from a database cursor.
+     */
+    void streamAll(Consumer<ReservationDTO> consumer);
 }
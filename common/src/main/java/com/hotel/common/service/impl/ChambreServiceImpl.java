@@ -1,20 +1,38 @@
 package com.hotel.common.service.impl;
 
+import com.hotel.common.amenity.AmenityDictionary;
+import com.hotel.common.cache.DtoCaches;
+import com.hotel.common.catalog.RoomCatalog;
 import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
 import com.hotel.common.entity.Chambre;
 import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.entity.Reservation;
+import com.hotel.common.exception.BusinessException;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.exception.DuplicateResourceException;
+import com.hotel.common.hold.HoldRegistry;
 import com.hotel.common.mapper.EntityMapper;
+import com.hotel.common.pricing.PricingEngine;
+import com.hotel.common.pricing.PricingEngine.Stay;
+import com.hotel.common.repository.BookedDates;
 import com.hotel.common.repository.ChambreRepository;
+import com.hotel.common.repository.ReservationRepository;
 import com.hotel.common.service.ChambreService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of ChambreService.
@@ -24,21 +42,39 @@ import java.util.List;
 @Transactional
 public class ChambreServiceImpl implements ChambreService {
 
+    /**
+     * Bounds the work of a single quote; the search page asks for a handful of stay lengths.
+     */
+    private static final int MAX_QUOTE_STAYS = 31;
+
     private final ChambreRepository chambreRepository;
+    private final ReservationRepository reservationRepository;
     private final EntityMapper mapper;
+    private final HoldRegistry holdRegistry;
+    private final PricingEngine pricingEngine;
+    private final AmenityDictionary amenityDictionary;
+    private final RoomCatalog roomCatalog;
+    private final DtoCaches dtoCaches;
 
     @Override
     @Transactional(readOnly = true)
     public List<ChambreDTO> findAll() {
-        return mapper.toChambreDTOList(chambreRepository.findAll());
+        return findAll(false);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public List<ChambreDTO> findAll(boolean withEquipements) {
+        return roomCatalog.findAll(withEquipements);
+    }
+
+    /**
+     * Served from the DTO cache; a hit takes no connection, a miss loads in the repository's own transaction, on the primary.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ChambreDTO findById(Long id) {
-        Chambre chambre = chambreRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Chambre", "id", id));
-        return mapper.toChambreDTO(chambre);
+        return dtoCaches.chambre(id, this::load);
     }
 
     @Override
@@ -46,31 +82,143 @@ public class ChambreServiceImpl implements ChambreService {
     public ChambreDTO findByNumero(String numero) {
         Chambre chambre = chambreRepository.findByNumero(numero)
                 .orElseThrow(() -> new ResourceNotFoundException("Chambre", "numero", numero));
-        return mapper.toChambreDTO(chambre);
+        return mapper.toChambreDTO(chambre, true);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ChambreDTO> findAvailable() {
-        return mapper.toChambreDTOList(chambreRepository.findByDisponibleTrue());
+        return roomCatalog.findAvailable();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ChambreDTO> findByType(TypeChambre type) {
-        return mapper.toChambreDTOList(chambreRepository.findByType(type));
+        return roomCatalog.findByType(type);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ChambreDTO> findByPriceRange(BigDecimal minPrix, BigDecimal maxPrix) {
-        return mapper.toChambreDTOList(chambreRepository.findByPrixBetween(minPrix, maxPrix));
+        return roomCatalog.findByPriceRange(minPrix, maxPrix);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChambreDTO> findByCapacite(int nombrePersonnes) {
+        return roomCatalog.findByCapacite(nombrePersonnes);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ChambreDTO> findAvailableForDates(LocalDate dateDebut, LocalDate dateFin) {
-        return mapper.toChambreDTOList(chambreRepository.findAvailableRooms(dateDebut, dateFin));
+        return mapper.toChambreDTOList(chambreRepository.findAvailableRooms(dateDebut, dateFin).stream()
+                .filter(chambre -> !holdRegistry.isHeld(chambre.getId(), dateDebut, dateFin, null))
+                .toList());
+    }
+
+    /**
+     * One query, the AND of the amenities being a bitset AND on {@code equipements_mask}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChambreDTO> findByEquipements(List<String> equipements, boolean withEquipements) {
+        if (equipements == null || equipements.isEmpty()) {
+            throw new BusinessException("Au moins un équipement est requis");
+        }
+        OptionalLong mask = amenityDictionary.lookup(equipements);
+        if (mask.isEmpty()) {
+            return List.of();
+        }
+        return mapper.toChambreDTOList(chambreRepository.findByEquipementsMask(mask.getAsLong()), withEquipements);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findEquipements(Long id) {
+        Chambre chambre = chambreRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Chambre", "id", id));
+        return amenityDictionary.decode(chambre.getEquipementsMask());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findAllEquipements() {
+        return amenityDictionary.names();
+    }
+
+    /**
+     * Two queries whatever the number of rooms and stays: the candidate rooms, then the booked dates of those
+     * rooms over the whole period. Overlaps and prices are then resolved in memory.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuoteDTO> quote(List<Stay> stays, Integer nombrePersonnes, QuoteFilter filter) {
+        if (stays == null || stays.isEmpty() || stays.size() > MAX_QUOTE_STAYS) {
+            throw new BusinessException("Le devis porte sur 1 à " + MAX_QUOTE_STAYS + " séjours");
+        }
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Stay stay : stays) {
+            if (!stay.dateDebut().isBefore(stay.dateFin())) {
+                throw new BusinessException("La date de début doit être avant la date de fin");
+            }
+            if (ChronoUnit.DAYS.between(stay.dateDebut(), stay.dateFin()) > Reservation.MAX_NIGHTS) {
+                throw new BusinessException("La durée du séjour ne peut pas dépasser " + Reservation.MAX_NIGHTS + " nuits");
+            }
+            from = from == null || stay.dateDebut().isBefore(from) ? stay.dateDebut() : from;
+            to = to == null || stay.dateFin().isAfter(to) ? stay.dateFin() : to;
+        }
+
+        QuoteFilter criteria = filter != null ? filter : new QuoteFilter();
+        List<Chambre> chambres = chambreRepository.findQuoteCandidates(criteria.getType(), nombrePersonnes,
+                criteria.getMinPrix(), criteria.getMaxPrix());
+        if (chambres.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<BookedDates>> booked = reservationRepository
+                .findBookedDates(chambres.stream().map(Chambre::getId).toList(), from, to).stream()
+                .collect(Collectors.groupingBy(BookedDates::chambreId));
+
+        TypeChambre[] types = new TypeChambre[chambres.size()];
+        long[] nightlyCents = new long[chambres.size()];
+        for (int i = 0; i < chambres.size(); i++) {
+            types[i] = chambres.get(i).getType();
+            nightlyCents[i] = PricingEngine.toCents(chambres.get(i).getPrix());
+        }
+        long[][] totals = pricingEngine.quote(types, nightlyCents, stays);
+
+        List<QuoteDTO> quotes = new ArrayList<>();
+        for (int i = 0; i < chambres.size(); i++) {
+            Chambre chambre = chambres.get(i);
+            List<BookedDates> taken = booked.getOrDefault(chambre.getId(), List.of());
+            for (int s = 0; s < stays.size(); s++) {
+                Stay stay = stays.get(s);
+                if (isFree(chambre.getId(), taken, stay)) {
+                    quotes.add(QuoteDTO.builder()
+                            .chambreId(chambre.getId())
+                            .numero(chambre.getNumero())
+                            .type(chambre.getType())
+                            .capaciteMax(chambre.getCapaciteMax())
+                            .prix(chambre.getPrix())
+                            .dateDebut(stay.dateDebut())
+                            .dateFin(stay.dateFin())
+                            .nuits((int) ChronoUnit.DAYS.between(stay.dateDebut(), stay.dateFin()))
+                            .prixTotal(BigDecimal.valueOf(totals[i][s], 2))
+                            .build());
+                }
+            }
+        }
+        return quotes;
+    }
+
+    private boolean isFree(Long chambreId, List<BookedDates> taken, Stay stay) {
+        for (BookedDates dates : taken) {
+            if (dates.overlaps(stay.dateDebut(), stay.dateFin())) {
+                return false;
+            }
+        }
+        return !holdRegistry.isHeld(chambreId, stay.dateDebut(), stay.dateFin(), null);
     }
 
     @Override
@@ -80,7 +228,7 @@ public class ChambreServiceImpl implements ChambreService {
         }
         Chambre chambre = mapper.toChambre(chambreDTO);
         Chambre saved = chambreRepository.save(chambre);
-        return mapper.toChambreDTO(saved);
+        return mapper.toChambreDTO(saved, true);
     }
 
     @Override
@@ -100,10 +248,13 @@ public class ChambreServiceImpl implements ChambreService {
         existing.setDisponible(chambreDTO.getDisponible());
         existing.setDescription(chambreDTO.getDescription());
         existing.setCapaciteMax(chambreDTO.getCapaciteMax());
-        existing.setEquipements(chambreDTO.getEquipements());
+        // Lists omit the amenities: a room read from one and written back keeps its own
+        if (chambreDTO.getEquipements() != null) {
+            existing.setEquipementsMask(amenityDictionary.encode(chambreDTO.getEquipements()));
+        }
         
         Chambre updated = chambreRepository.save(existing);
-        return mapper.toChambreDTO(updated);
+        return mapper.toChambreDTO(updated, true);
     }
 
     @Override
@@ -121,4 +272,10 @@ public class ChambreServiceImpl implements ChambreService {
         chambre.setDisponible(disponible);
         chambreRepository.save(chambre);
     }
+
+    private ChambreDTO load(Long id) {
+        Chambre chambre = chambreRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Chambre", "id", id));
+        return mapper.toChambreDTO(chambre, true);
+    }
 }
@@ -1,5 +1,6 @@
 package com.hotel.common.service.impl;
 
+import com.hotel.common.cache.DtoCaches;
 import com.hotel.common.dto.ClientDTO;
 import com.hotel.common.entity.Client;
 import com.hotel.common.exception.ResourceNotFoundException;
@@ -9,6 +10,7 @@ import com.hotel.common.repository.ClientRepository;
 import com.hotel.common.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -23,6 +25,7 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
     private final EntityMapper mapper;
+    private final DtoCaches dtoCaches;
 
     @Override
     @Transactional(readOnly = true)
@@ -30,12 +33,13 @@ public class ClientServiceImpl implements ClientService {
         return mapper.toClientDTOList(clientRepository.findAll());
     }
 
+    /**
+     * Served from the DTO cache; a hit takes no connection, a miss loads in the repository's own transaction, on the primary.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClientDTO findById(Long id) {
-        Client client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", id));
-        return mapper.toClientDTO(client);
+        return dtoCaches.client(id, this::load);
     }
 
     @Override
@@ -95,4 +99,10 @@ public class ClientServiceImpl implements ClientService {
     public boolean existsByEmail(String email) {
         return clientRepository.existsByEmail(email);
     }
+
+    private ClientDTO load(Long id) {
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", id));
+        return mapper.toClientDTO(client);
+    }
 }
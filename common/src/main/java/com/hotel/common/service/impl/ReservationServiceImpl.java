@@ -1,23 +1,36 @@
 package com.hotel.common.service.impl;
 
+import com.hotel.common.dto.HoldDTO;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
 import com.hotel.common.entity.Chambre;
 import com.hotel.common.entity.Client;
 import com.hotel.common.entity.Reservation;
 import com.hotel.common.entity.Reservation.StatutReservation;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.exception.BusinessException;
+import com.hotel.common.hold.HoldRegistry;
+import com.hotel.common.hold.HoldRegistry.Hold;
 import com.hotel.common.mapper.EntityMapper;
+import com.hotel.common.partition.ReservationArchive;
+import com.hotel.common.pricing.PricingEngine;
 import com.hotel.common.repository.ChambreRepository;
 import com.hotel.common.repository.ClientRepository;
 import com.hotel.common.repository.ReservationRepository;
 import com.hotel.common.service.ReservationService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of ReservationService.
@@ -31,6 +44,10 @@ public class ReservationServiceImpl implements ReservationService {
     private final ClientRepository clientRepository;
     private final ChambreRepository chambreRepository;
     private final EntityMapper mapper;
+    private final EntityManager entityManager;
+    private final HoldRegistry holdRegistry;
+    private final PricingEngine pricingEngine;
+    private final ObjectProvider<ReservationArchive> reservationArchive;
 
     @Override
     @Transactional(readOnly = true)
@@ -43,7 +60,9 @@ public class ReservationServiceImpl implements ReservationService {
     public ReservationDTO findById(Long id) {
         Reservation reservation = reservationRepository.findByIdWithDetails(id);
         if (reservation == null) {
-            throw new ResourceNotFoundException("Reservation", "id", id);
+            reservation = Optional.ofNullable(reservationArchive.getIfAvailable())
+                    .flatMap(archive -> archive.find(id))
+                    .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
         }
         return mapper.toReservationDTO(reservation);
     }
@@ -54,6 +73,24 @@ public class ReservationServiceImpl implements ReservationService {
         return mapper.toReservationDTOList(reservationRepository.findByClientId(clientId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findAll(Set<ReservationField> fields) {
+        return findProjected(fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findByClientId(Long clientId, Set<ReservationField> fields) {
+        return findProjected(fields, clientId);
+    }
+
+    private List<ReservationDTO> findProjected(Set<ReservationField> fields, Long clientId) {
+        return reservationRepository.findProjected(fields, clientId).stream()
+                .map(tuple -> mapper.toReservationDTO(tuple, fields))
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDTO> findByChambreId(Long chambreId) {
@@ -74,15 +111,62 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public ReservationDTO create(ReservationDTO reservationDTO) {
+        checkNewStayDates(reservationDTO);
+        return create(reservationDTO, StatutReservation.EN_ATTENTE, null);
+    }
+
+    @Override
+    public HoldDTO createHold(ReservationDTO reservationDTO) {
+        checkNewStayDates(reservationDTO);
+        if (!clientRepository.existsById(reservationDTO.getClientId())) {
+            throw new ResourceNotFoundException("Client", "id", reservationDTO.getClientId());
+        }
+        if (!chambreRepository.existsById(reservationDTO.getChambreId())) {
+            throw new ResourceNotFoundException("Chambre", "id", reservationDTO.getChambreId());
+        }
+        if (!isRoomAvailable(reservationDTO.getChambreId(), reservationDTO.getDateDebut(), reservationDTO.getDateFin())) {
+            throw new BusinessException("La chambre n'est pas disponible pour les dates sélectionnées");
+        }
+        Hold hold = holdRegistry.place(reservationDTO);
+        if (hold == null) {
+            throw new BusinessException("La chambre n'est pas disponible pour les dates sélectionnées");
+        }
+        return mapper.toHoldDTO(hold);
+    }
+
+    @Override
+    public ReservationDTO confirmHold(String token) {
+        Hold hold = holdRegistry.find(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Option", "token", token));
+        if (!holdRegistry.claim(hold)) {
+            throw new BusinessException("Cette option est déjà en cours de confirmation");
+        }
+        return create(hold.getReservation(), StatutReservation.CONFIRMEE, token);
+    }
+
+    @Override
+    public void releaseHold(String token) {
+        if (!holdRegistry.release(token)) {
+            throw new ResourceNotFoundException("Option", "token", token);
+        }
+    }
+
+    private void checkNewStayDates(ReservationDTO reservationDTO) {
         // Validate dates
         if (reservationDTO.getDateDebut().isAfter(reservationDTO.getDateFin())) {
             throw new BusinessException("La date de début doit être avant la date de fin");
         }
+        checkStayLength(reservationDTO);
         
         if (reservationDTO.getDateDebut().isBefore(LocalDate.now())) {
             throw new BusinessException("La date de début ne peut pas être dans le passé");
         }
+    }
 
+    /**
+     * Inserts the reservation; the hold {@code holdToken}, if any, does not count against its own dates.
+     */
+    private ReservationDTO create(ReservationDTO reservationDTO, StatutReservation statut, String holdToken) {
         // Fetch client and room
         Client client = clientRepository.findById(reservationDTO.getClientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Client", "id", reservationDTO.getClientId()));
@@ -91,12 +175,17 @@ public class ReservationServiceImpl implements ReservationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Chambre", "id", reservationDTO.getChambreId()));
 
         // Check room availability
-        if (!isRoomAvailable(chambre.getId(), reservationDTO.getDateDebut(), reservationDTO.getDateFin())) {
+        if (!reservationRepository.findOverlappingReservations(chambre.getId(), reservationDTO.getDateDebut(),
+                        reservationDTO.getDateFin()).isEmpty()
+                || holdRegistry.isHeld(chambre.getId(), reservationDTO.getDateDebut(), reservationDTO.getDateFin(),
+                        holdToken)) {
             throw new BusinessException("La chambre n'est pas disponible pour les dates sélectionnées");
         }
 
         Reservation reservation = mapper.toReservation(reservationDTO, client, chambre);
-        reservation.setStatut(StatutReservation.EN_ATTENTE);
+        reservation.setStatut(statut);
+        reservation.setPrixTotal(pricingEngine.total(chambre.getType(), chambre.getPrix(),
+                reservation.getDateDebut(), reservation.getDateFin()));
         
         Reservation saved = reservationRepository.save(reservation);
         return mapper.toReservationDTO(saved);
@@ -111,6 +200,7 @@ public class ReservationServiceImpl implements ReservationService {
         if (reservationDTO.getDateDebut().isAfter(reservationDTO.getDateFin())) {
             throw new BusinessException("La date de début doit être avant la date de fin");
         }
+        checkStayLength(reservationDTO);
 
         // Check if room is being changed or dates are changing
         boolean roomOrDatesChanged = !existing.getChambre().getId().equals(reservationDTO.getChambreId())
@@ -125,7 +215,8 @@ public class ReservationServiceImpl implements ReservationService {
                     reservationDTO.getDateFin());
             overlapping.removeIf(r -> r.getId().equals(id));
             
-            if (!overlapping.isEmpty()) {
+            if (!overlapping.isEmpty() || holdRegistry.isHeld(reservationDTO.getChambreId(),
+                    reservationDTO.getDateDebut(), reservationDTO.getDateFin(), null)) {
                 throw new BusinessException("La chambre n'est pas disponible pour les dates sélectionnées");
             }
         }
@@ -145,6 +236,12 @@ public class ReservationServiceImpl implements ReservationService {
 
         existing.setDateDebut(reservationDTO.getDateDebut());
         existing.setDateFin(reservationDTO.getDateFin());
+        if (roomOrDatesChanged) {
+            // The price is kept as booked unless the stay itself changes
+            Chambre chambre = existing.getChambre();
+            existing.setPrixTotal(pricingEngine.total(chambre.getType(), chambre.getPrix(),
+                    existing.getDateDebut(), existing.getDateFin()));
+        }
         existing.setPreferences(reservationDTO.getPreferences());
         existing.setNombrePersonnes(reservationDTO.getNombrePersonnes());
         existing.setCommentaires(reservationDTO.getCommentaires());
@@ -170,9 +267,18 @@ public class ReservationServiceImpl implements ReservationService {
         return mapper.toReservationDTO(updated);
     }
 
+    private static void checkStayLength(ReservationDTO reservationDTO) {
+        if (ChronoUnit.DAYS.between(reservationDTO.getDateDebut(), reservationDTO.getDateFin()) > Reservation.MAX_NIGHTS) {
+            throw new BusinessException("La durée du séjour ne peut pas dépasser " + Reservation.MAX_NIGHTS + " nuits");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isRoomAvailable(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        if (holdRegistry.isHeld(chambreId, dateDebut, dateFin, null)) {
+            return false;
+        }
         List<Reservation> overlapping = reservationRepository.findOverlappingReservations(chambreId, dateDebut, dateFin);
         return overlapping.isEmpty();
     }
@@ -182,4 +288,16 @@ public class ReservationServiceImpl implements ReservationService {
     public List<ReservationDTO> findCurrentAndUpcoming() {
         return mapper.toReservationDTOList(reservationRepository.findCurrentAndUpcoming(LocalDate.now()));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ReservationDTO> consumer) {
+        try (Stream<Reservation> reservations = reservationRepository.streamAllWithDetails()) {
+            reservations.forEach(reservation -> {
+                consumer.accept(mapper.toReservationDTO(reservation));
+                // Keep the persistence context bounded; clients and rooms are shared and stay managed
+                entityManager.detach(reservation);
+            });
+        }
+    }
 }
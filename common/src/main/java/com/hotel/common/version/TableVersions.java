@@ -0,0 +1,91 @@
+package com.hotel.common.version;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory version counter per table, advanced after every committed write.
+ * Lets readers build validators for a table without querying it.
+ * While {@link com.hotel.common.cache.CacheInvalidationBus} runs, counters are shared: each write takes its
+ * version from a PostgreSQL sequence and every instance advances to it, so instances of the same deployment
+ * produce the same validators, across restarts too. Without the bus (no PostgreSQL), counters are local.
+ */
+@Component
+public class TableVersions {
+
+    /**
+     * {@code HOLDS} is not a table: it versions the in-memory room holds, which also affect availability.
+     */
+    public enum Table { CLIENTS, CHAMBRES, RESERVATIONS, HOLDS }
+
+    /**
+     * @param bumpedAtNanos {@link System#nanoTime()} of the last bump in this process
+     */
+    public record Version(long counter, long bumpedAtNanos) {
+    }
+
+    /**
+     * Changes when the representations may change: {@code hotel.etag-prefix}, else the version of the build.
+     */
+    private final String prefix;
+    private final Map<Table, AtomicReference<Version>> versions = new EnumMap<>(Table.class);
+
+    public TableVersions(@Value("${hotel.etag-prefix:}") String prefix) {
+        String build = TableVersions.class.getPackage().getImplementationVersion();
+        this.prefix = !prefix.isBlank() ? prefix : build != null ? build : "dev";
+        long startNanos = System.nanoTime();
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicReference<>(new Version(0, startNanos)));
+        }
+    }
+
+    public Version current(Table table) {
+        return versions.get(table).get();
+    }
+
+    /**
+     * Counts a write with a local counter; used when counters are not shared.
+     */
+    public void bump(Table table) {
+        long now = System.nanoTime();
+        versions.get(table).updateAndGet(v -> new Version(v.counter() + 1, now));
+    }
+
+    /**
+     * Moves to a shared counter value; an older value, e.g. a notification overtaken by a resync, is ignored.
+     */
+    public void advance(Table table, long counter) {
+        long now = System.nanoTime();
+        versions.get(table).updateAndGet(v -> counter <= v.counter() ? v : new Version(counter, now));
+    }
+
+    /**
+     * Whether one of the given tables was bumped in this process less than {@code window} ago.
+     */
+    public boolean bumpedWithin(Duration window, Table... tables) {
+        long now = System.nanoTime();
+        for (Table table : tables) {
+            if (now - current(table).bumpedAtNanos() < window.toNanos()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strong validator covering the given tables, e.g. {@code 1.0.0-12-40}.
+     * Validators are scoped to one URL, so the table order only has to be stable per endpoint.
+     */
+    public String etag(Table... tables) {
+        StringBuilder etag = new StringBuilder(prefix);
+        for (Table table : tables) {
+            etag.append('-').append(current(table).counter());
+        }
+        return etag.toString();
+    }
+}
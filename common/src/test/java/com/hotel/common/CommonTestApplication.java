@@ -0,0 +1,12 @@
+package com.hotel.common;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+
+/**
+ * Configuration found by the test slices of the common module, which has no application class.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class CommonTestApplication {
+}
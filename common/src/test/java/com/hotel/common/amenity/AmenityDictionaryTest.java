@@ -0,0 +1,93 @@
+package com.hotel.common.amenity;
+
+import com.hotel.common.exception.BusinessException;
+import com.hotel.common.repository.EquipementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Names are added in their own transaction and so outlive each test: every test uses names of its own.
+ */
+@DataJpaTest
+@Import(AmenityDictionary.class)
+class AmenityDictionaryTest {
+
+    @Autowired
+    private AmenityDictionary dictionary;
+
+    @Autowired
+    private EquipementRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void eachNameGetsOneBitAndDecodesBack() {
+        long mask = dictionary.encode(List.of("Télévision", " Minibar ", "", "Télévision"));
+
+        assertThat(Long.bitCount(mask)).isEqualTo(2);
+        assertThat(dictionary.encode(Arrays.asList("Minibar", null, "Télévision"))).isEqualTo(mask);
+        assertThat(dictionary.decode(mask)).containsExactlyInAnyOrder("Télévision", "Minibar");
+        assertThat(dictionary.names()).contains("Télévision", "Minibar");
+        assertThat(dictionary.encode(null)).isZero();
+        assertThat(dictionary.decode(0L)).isEmpty();
+        assertThat(dictionary.decode(null)).isEmpty();
+    }
+
+    @Test
+    void decodedRoomsShareTheNameInstances() {
+        long balcon = dictionary.encode(List.of("Balcon"));
+        long mask = balcon | dictionary.encode(List.of("Baignoire"));
+
+        String first = dictionary.decode(balcon).get(0);
+        assertThat(dictionary.decode(mask)).anySatisfy(name -> assertThat(name).isSameAs(first));
+    }
+
+    @Test
+    void lookupNeverAddsNames() {
+        long coffre = dictionary.encode(List.of("Coffre-fort"));
+
+        assertThat(dictionary.lookup(List.of("Coffre-fort", " "))).isEqualTo(OptionalLong.of(coffre));
+        assertThat(dictionary.lookup(List.of("Coffre-fort", "Piscine privée"))).isEmpty();
+        assertThat(dictionary.names()).doesNotContain("Piscine privée");
+    }
+
+    @Test
+    void namesAddedByAnotherApiAreFoundOnReload() {
+        TransactionTemplate otherApi = new TransactionTemplate(transactionManager);
+        otherApi.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        otherApi.executeWithoutResult(status -> repository.insertNext("Sauna", AmenityDictionary.CAPACITY));
+        int id = repository.findAll().stream()
+                .filter(equipement -> equipement.getNom().equals("Sauna"))
+                .findFirst().orElseThrow().getId();
+
+        assertThat(dictionary.decode(1L << id)).containsExactly("Sauna");
+        assertThat(dictionary.lookup(List.of("Sauna"))).isEqualTo(OptionalLong.of(1L << id));
+        assertThat(dictionary.encode(List.of("Sauna"))).isEqualTo(1L << id);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void theDictionaryIsLimitedToOneBitPerAmenity() {
+        for (int i = 0; dictionary.names().size() < AmenityDictionary.CAPACITY; i++) {
+            dictionary.encode(List.of("Équipement " + i));
+        }
+
+        assertThat(dictionary.encode(List.of("Équipement 0"))).isNotZero();
+        assertThatThrownBy(() -> dictionary.encode(List.of("Un de trop")))
+                .isInstanceOf(BusinessException.class);
+    }
+}
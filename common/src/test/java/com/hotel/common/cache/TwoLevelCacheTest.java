@@ -0,0 +1,161 @@
+package com.hotel.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotel.common.dto.ClientDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TwoLevelCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SharedCache shared = new LocalSharedCache();
+    private final CacheProperties properties = new CacheProperties();
+    private final ObjectMapper codec = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    /** The rows, as the loader reads them. */
+    private final Map<Long, String> noms = new ConcurrentHashMap<>(Map.of(1L, "Dupont", 2L, "Martin"));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, ClientDTO> loader = id -> {
+        loads.incrementAndGet();
+        return ClientDTO.builder()
+                .id(id).nom(noms.get(id)).prenom("Jean").email("client" + id + "@test.fr")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    };
+
+    @Test
+    void aMissIsLoadedOnceThenServedFromTheNearCache() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Dupont");
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Dupont");
+
+        assertThat(loads).hasValue(1);
+        assertThat(gets("clients", "miss")).isEqualTo(1);
+        assertThat(gets("clients", "near")).isEqualTo(1);
+    }
+
+    @Test
+    void otherInstancesReadTheSharedTier() {
+        cache("clients").get(1L, loader);
+        TwoLevelCache<ClientDTO> other = cache("clients");
+
+        ClientDTO client = other.get(1L, loader);
+
+        assertThat(client.getNom()).isEqualTo("Dupont");
+        assertThat(client.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0));
+        assertThat(loads).hasValue(1);
+        assertThat(gets("clients", "shared")).isEqualTo(1);
+    }
+
+    @Test
+    void everyCallerGetsItsOwnCopy() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+
+        cache.get(1L, loader).setNom("Modifié sur un miss");
+        ClientDTO hit = cache.get(1L, loader);
+        assertThat(hit.getNom()).isEqualTo("Dupont");
+        hit.setNom("Modifié sur un hit");
+
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Dupont");
+        assertThat(cache.get(1L, loader)).isNotSameAs(cache.get(1L, loader));
+    }
+
+    @Test
+    void invalidatedIdsAreReloadedFromBothTiers() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+        TwoLevelCache<ClientDTO> other = cache("clients");
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        noms.put(1L, "Durand");
+        cache.invalidate(List.of(1L));
+
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Durand");
+        assertThat(cache.get(2L, loader).getNom()).isEqualTo("Martin");
+        assertThat(other.get(1L, loader).getNom()).isEqualTo("Durand");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void clearDropsEveryEntryOfThisCacheOnly() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+        TwoLevelCache<ClientDTO> otherCache = cache("autres");
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        otherCache.get(1L, loader);
+
+        noms.replaceAll((id, nom) -> nom + " (modifié)");
+        cache.clear();
+
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Dupont (modifié)");
+        assertThat(cache("clients").get(2L, loader).getNom()).isEqualTo("Martin (modifié)");
+        assertThat(cache("autres").get(1L, loader).getNom()).isEqualTo("Dupont");
+    }
+
+    @Test
+    void aLoadOverlappingAnInvalidationIsNotStored() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+        // The row is read, then a commit invalidates it before the load returns
+        ClientDTO stale = cache.get(1L, id -> {
+            ClientDTO client = loader.apply(id);
+            noms.put(1L, "Durand");
+            cache.invalidate(List.of(1L));
+            return client;
+        });
+
+        assertThat(stale.getNom()).isEqualTo("Dupont");
+        assertThat(cache.get(1L, loader).getNom()).isEqualTo("Durand");
+        assertThat(cache("clients").get(1L, loader).getNom()).isEqualTo("Durand");
+    }
+
+    @Test
+    void loaderFailuresArePropagatedAndNothingIsCached() {
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+
+        assertThatThrownBy(() -> cache.get(3L, id -> {
+            throw new IllegalStateException("Client non trouvé");
+        })).isInstanceOf(IllegalStateException.class);
+
+        noms.put(3L, "Bernard");
+        assertThat(cache.get(3L, loader).getNom()).isEqualTo("Bernard");
+    }
+
+    @Test
+    void theNearCacheStaysWithinItsBound() {
+        properties.getNear().setMaxEntries(8);
+        TwoLevelCache<ClientDTO> cache = cache("clients");
+
+        for (long id = 1; id <= 100; id++) {
+            cache.get(id, loader);
+        }
+
+        assertThat(meterRegistry.get("hotel.cache.near.size").tag("cache", "clients").gauge().value())
+                .isLessThanOrEqualTo(8);
+    }
+
+    private TwoLevelCache<ClientDTO> cache(String name) {
+        return new TwoLevelCache<>(name, ClientDTO.class, client -> client.toBuilder().build(), shared, codec,
+                properties, meterRegistry);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("hotel.cache.gets").tag("cache", cache).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,161 @@
+package com.hotel.common.catalog;
+
+import com.hotel.common.amenity.AmenityDictionary;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.entity.Chambre;
+import com.hotel.common.entity.Chambre.TypeChambre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The catalog reads {@code chambres} through the test transaction's connection. Rooms persisted here never
+ * commit, so the entity listener does not apply them: each test loads the catalog after seeding, and local
+ * writes are applied by calling the catalog directly, as the listener does after a commit.
+ */
+@DataJpaTest
+@Import({RoomCatalog.class, AmenityDictionary.class})
+class RoomCatalogTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RoomCatalog catalog;
+
+    @Autowired
+    private AmenityDictionary amenityDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private Chambre simple;
+    private Chambre occupee;
+    private Chambre suite;
+    private Chambre familiale;
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        simple = room("101", TypeChambre.SIMPLE, "80.00", true, 1, List.of("Wifi"));
+        occupee = room("102", TypeChambre.DOUBLE, "120.50", false, 2, List.of());
+        suite = room("103", TypeChambre.SUITE, "300.00", true, null, List.of("Wifi", "Jacuzzi"));
+        familiale = room("104", TypeChambre.DOUBLE, "99.99", true, 3, List.of());
+        // Loads the catalog in the first test, replaces the previous test's rooms in the others
+        catalog.reload(List.of());
+        catalog.findAll(false);
+    }
+
+    @Test
+    void filtersMatchTheTable() {
+        assertThat(numeros(catalog.findAll(false))).containsExactly("101", "102", "103", "104");
+        assertThat(numeros(catalog.findAvailable())).containsExactly("101", "103", "104");
+        assertThat(numeros(catalog.findByType(TypeChambre.DOUBLE))).containsExactly("102", "104");
+        assertThat(numeros(catalog.findByPriceRange(new BigDecimal("99.99"), new BigDecimal("120.50"))))
+                .containsExactly("102", "104");
+        assertThat(catalog.findByPriceRange(new BigDecimal("99.995"), new BigDecimal("120.499"))).isEmpty();
+        // Rooms without a stated capacity are left out
+        assertThat(numeros(catalog.findByCapacite(2))).containsExactly("102", "104");
+    }
+
+    @Test
+    void roomsAreReturnedAsTheyWereStored() {
+        ChambreDTO dto = catalog.findAll(true).get(2);
+
+        assertThat(dto.getId()).isEqualTo(suite.getId());
+        assertThat(dto.getType()).isEqualTo(TypeChambre.SUITE);
+        assertThat(dto.getPrix()).isEqualByComparingTo("300.00");
+        assertThat(dto.getDisponible()).isTrue();
+        assertThat(dto.getCapaciteMax()).isNull();
+        assertThat(dto.getEquipements()).containsExactlyInAnyOrder("Wifi", "Jacuzzi");
+        assertThat(catalog.findAll(false).get(2).getEquipements()).isNull();
+    }
+
+    @Test
+    void everyReadReturnsNewDtos() {
+        catalog.findAll(true).get(0).getEquipements().clear();
+        catalog.findAvailable().get(0).setPrix(BigDecimal.ONE);
+
+        ChambreDTO dto = catalog.findAll(true).get(0);
+        assertThat(dto.getPrix()).isEqualByComparingTo("80.00");
+        assertThat(dto.getEquipements()).containsExactly("Wifi");
+    }
+
+    @Test
+    void localWritesAreAppliedWithoutReadingTheTable() {
+        simple.setPrix(new BigDecimal("85.00"));
+        simple.setDisponible(false);
+        catalog.upsert(simple);
+        Chambre nouvelle = room("100", TypeChambre.SIMPLE, "70.00", true, 1, List.of());
+        catalog.upsert(nouvelle);
+        catalog.remove(occupee.getId());
+
+        assertThat(numeros(catalog.findAll(false))).containsExactly("101", "103", "104", "100");
+        assertThat(numeros(catalog.findAvailable())).containsExactly("103", "104", "100");
+        assertThat(catalog.findAll(false).get(0).getPrix()).isEqualByComparingTo("85.00");
+    }
+
+    @Test
+    void roomsWrittenElsewhereAreReadBack() {
+        jdbc.update("UPDATE chambres SET prix = 150.00, disponible = false WHERE id = ?", familiale.getId());
+        jdbc.update("DELETE FROM chambres WHERE id = ?", occupee.getId());
+        Chambre nouvelle = room("105", TypeChambre.SIMPLE, "60.00", true, 1, List.of());
+
+        catalog.reload(List.of(familiale.getId(), occupee.getId(), nouvelle.getId()));
+
+        assertThat(numeros(catalog.findAll(false))).containsExactly("101", "103", "104", "105");
+        assertThat(numeros(catalog.findAvailable())).containsExactly("101", "103", "105");
+        assertThat(catalog.findAll(false).get(2).getPrix()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void bulkUpdatesArePickedUpByTheRefresh() {
+        catalog.refreshIfChanged();
+        assertThat(catalog.findAvailable()).hasSize(3);
+
+        jdbc.update("UPDATE chambres SET disponible = false, updated_at = ?", LocalDateTime.now().plusMinutes(1));
+        catalog.refreshIfChanged();
+
+        assertThat(catalog.findAvailable()).isEmpty();
+    }
+
+    private Chambre room(String numero, TypeChambre type, String prix, boolean disponible, Integer capaciteMax,
+                         List<String> equipements) {
+        return entityManager.persistFlushFind(Chambre.builder()
+                .numero(numero)
+                .type(type)
+                .prix(new BigDecimal(prix))
+                .disponible(disponible)
+                .capaciteMax(capaciteMax)
+                .equipementsMask(amenityDictionary.encode(equipements))
+                .build());
+    }
+
+    private static List<String> numeros(List<ChambreDTO> chambres) {
+        return chambres.stream().map(ChambreDTO::getNumero).toList();
+    }
+}
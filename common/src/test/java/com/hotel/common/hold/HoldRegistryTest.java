@@ -0,0 +1,236 @@
+package com.hotel.common.hold;
+
+import com.hotel.common.cache.CacheInvalidationBus;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.hold.HoldRegistry.Hold;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HoldRegistryTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2030, 5, 1);
+    private static final LocalDate FIN = LocalDate.of(2030, 5, 4);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingBus bus = new RecordingBus();
+    private final List<HoldRegistry> registries = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        registries.forEach(HoldRegistry::close);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overlappingHoldsOnTheSameRoomAreRefused() {
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+
+        assertThat(hold).isNotNull();
+        assertThat(registry.place(reservation(7L, FIN, FIN.plusDays(2)))).isNull();
+        assertThat(registry.place(reservation(7L, FIN.plusDays(1), FIN.plusDays(2)))).isNotNull();
+        assertThat(registry.place(reservation(8L, DEBUT, FIN))).isNotNull();
+        assertThat(registry.isHeld(7L, DEBUT, DEBUT, null)).isTrue();
+        assertThat(registry.isHeld(7L, DEBUT, DEBUT, hold.getToken())).isFalse();
+        assertThat(bus.tables).contains(Table.HOLDS);
+    }
+
+    @Test
+    void releasedHoldsFreeTheRoom() {
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+
+        assertThat(registry.release(hold.getToken())).isTrue();
+        assertThat(registry.release(hold.getToken())).isFalse();
+        assertThat(registry.find(hold.getToken())).isEmpty();
+        assertThat(registry.isHeld(7L, DEBUT, FIN, null)).isFalse();
+        assertThat(bus.events).contains("remove " + hold.getToken());
+    }
+
+    @Test
+    void theWheelExpiresHoldsPlacedMoreThanOneRevolutionAhead() throws Exception {
+        // 4 slots of 10ms: the hold goes around the wheel twice before its deadline
+        HoldRegistry registry = registry(bus, Duration.ofMillis(100));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        Thread.sleep(50);
+
+        assertThat(registry.find(hold.getToken())).isPresent();
+        assertThat(bus.events).doesNotContain("remove " + hold.getToken());
+
+        awaitEvent(bus, "remove " + hold.getToken());
+        assertThat(registry.find(hold.getToken())).isEmpty();
+        assertThat(registry.isHeld(7L, DEBUT, FIN, null)).isFalse();
+        assertThat(meterRegistry.get("hotel.holds.active").gauge().value()).isZero();
+        assertThat(meterRegistry.counter("hotel.holds", "event", "expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    void aClaimedHoldGoesAwayWhenTheTransactionCommits() {
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(registry.claim(hold)).isTrue();
+        assertThat(registry.claim(hold)).isFalse();
+        assertThat(registry.release(hold.getToken())).isFalse();
+        assertThat(registry.isHeld(7L, DEBUT, FIN, null)).isTrue();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(registry.find(hold.getToken())).isEmpty();
+        assertThat(registry.isHeld(7L, DEBUT, FIN, null)).isFalse();
+        assertThat(meterRegistry.counter("hotel.holds", "event", "confirmed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void aClaimedHoldCanBeClaimedAgainAfterARollback() {
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        TransactionSynchronizationManager.initSynchronization();
+        registry.claim(hold);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(registry.find(hold.getToken())).contains(hold);
+        assertThat(registry.claim(hold)).isTrue();
+        assertThat(registry.find(hold.getToken())).isEmpty();
+    }
+
+    @Test
+    void aHoldThatExpiredWhileClaimedIsRemovedOnRollback() throws Exception {
+        HoldRegistry registry = registry(bus, Duration.ofMillis(20));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        TransactionSynchronizationManager.initSynchronization();
+        registry.claim(hold);
+        // Long enough for the sweep to pass over the claimed hold
+        Thread.sleep(100);
+        assertThat(bus.events).doesNotContain("remove " + hold.getToken());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(bus.events).contains("remove " + hold.getToken());
+        assertThat(meterRegistry.get("hotel.holds.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void holdsAreSharedWithTheOtherInstances() {
+        RecordingBus otherBus = new RecordingBus();
+        HoldRegistry other = registry(otherBus, Duration.ofMinutes(10));
+        bus.forwardTo = other::apply;
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        assertThat(other.isHeld(7L, DEBUT, FIN, null)).isTrue();
+        assertThat(other.place(reservation(7L, DEBUT, FIN))).isNull();
+        assertThat(other.find(hold.getToken())).hasValueSatisfying(shared ->
+                assertThat(shared.getReservation().getPreferences()).isEqualTo("Vue sur la mer"));
+
+        assertThat(registry.release(hold.getToken())).isTrue();
+        assertThat(other.isHeld(7L, DEBUT, FIN, null)).isFalse();
+        // Only the instance that placed the hold reports its removal
+        assertThat(otherBus.events).isEmpty();
+    }
+
+    @Test
+    void holdsTooLargeToShareBlockTheRoomButAreOnlyConfirmableLocally() {
+        HoldRegistry other = registry(new RecordingBus(), Duration.ofMinutes(10));
+        bus.forwardTo = other::apply;
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        ReservationDTO reservation = reservation(7L, DEBUT, FIN);
+        reservation.setCommentaires("x".repeat(10_000));
+
+        Hold hold = registry.place(reservation);
+        assertThat(registry.find(hold.getToken())).isPresent();
+        assertThat(other.isHeld(7L, DEBUT, FIN, null)).isTrue();
+        assertThat(other.find(hold.getToken())).isEmpty();
+    }
+
+    @Test
+    void resyncAsksForTheOtherHoldsAndResendsOurs() {
+        HoldRegistry registry = registry(bus, Duration.ofMinutes(10));
+        Hold hold = registry.place(reservation(7L, DEBUT, FIN));
+        bus.events.clear();
+
+        registry.resync();
+        assertThat(bus.events.get(0)).isEqualTo("sync");
+        assertThat(bus.events.get(1)).startsWith("place ").contains(hold.getToken());
+    }
+
+    private HoldRegistry registry(CacheInvalidationBus invalidationBus, Duration ttl) {
+        HoldRegistry registry = new HoldRegistry(invalidationBus, meterRegistry, ttl, Duration.ofMillis(10), 4);
+        registries.add(registry);
+        return registry;
+    }
+
+    private static ReservationDTO reservation(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        return ReservationDTO.builder()
+                .clientId(1L)
+                .chambreId(chambreId)
+                .dateDebut(dateDebut)
+                .dateFin(dateFin)
+                .nombrePersonnes(2)
+                .preferences("Vue sur la mer")
+                .build();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void awaitEvent(RecordingBus bus, String event) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!bus.events.contains(event) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(5);
+        }
+        assertThat(bus.events).contains(event);
+    }
+
+    /**
+     * A bus that is never started: it records what the registry publishes and may hand the hold events to
+     * another registry, standing in for a second instance.
+     */
+    private static final class RecordingBus extends CacheInvalidationBus {
+
+        /** Same limit as a NOTIFY payload, less the origin and marker. */
+        private static final int MAX_EVENT = 7_800;
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<Table> tables = new CopyOnWriteArrayList<>();
+        Consumer<String> forwardTo = event -> { };
+
+        RecordingBus() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public void publish(Table table) {
+            tables.add(table);
+        }
+
+        @Override
+        public boolean publishHold(String event) {
+            if (event.getBytes(StandardCharsets.UTF_8).length > MAX_EVENT) {
+                return false;
+            }
+            events.add(event);
+            forwardTo.accept(event);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.hotel.common.limit;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void readsOnlyUseTheirShareOfTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO, 50);
+
+        List<Permit> reads = acquire(limiter, Priority.READ, 8);
+        assertThat(reads).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.READ)).isNull();
+        assertThat(acquire(limiter, Priority.WRITE, 2)).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isNull();
+
+        assertThat(rejected("read")).isEqualTo(1);
+        assertThat(rejected("write")).isEqualTo(1);
+    }
+
+    @Test
+    void aReleasedSlotCanBeTakenAgain() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ZERO, 50);
+        List<Permit> permits = acquire(limiter, Priority.WRITE, 2);
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isNull();
+
+        permits.get(0).releaseIgnored();
+
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isNotNull();
+    }
+
+    @Test
+    void writesWaitForASlotUpToTheMaximumWait() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(5), 50);
+        Permit held = limiter.tryAcquire(Priority.WRITE);
+
+        CompletableFuture<Permit> waiting = CompletableFuture.supplyAsync(() -> limiter.tryAcquire(Priority.WRITE));
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+        held.releaseIgnored();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void writesGiveUpAfterTheMaximumWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofMillis(20), 50);
+        limiter.tryAcquire(Priority.WRITE);
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isNull();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(rejected("write")).isEqualTo(1);
+    }
+
+    @Test
+    void writesAreShedAtOnceWhenTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(5), 0);
+        limiter.tryAcquire(Priority.WRITE);
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isNull();
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsSteadyAndStaysWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO, 50);
+
+        for (int round = 0; round < 200; round++) {
+            acquire(limiter, Priority.WRITE, limiter.getLimit()).forEach(Permit::release);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(16, Duration.ZERO, 50);
+        for (int round = 0; round < 20; round++) {
+            acquire(limiter, Priority.WRITE, limiter.getLimit()).forEach(Permit::release);
+        }
+        int baseline = limiter.getLimit();
+
+        for (int round = 0; round < 10; round++) {
+            List<Permit> permits = acquire(limiter, Priority.WRITE, limiter.getLimit());
+            Thread.sleep(20);
+            permits.forEach(Permit::release);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(baseline).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void failedRequestsDoNotMoveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO, 50);
+
+        for (int round = 0; round < 50; round++) {
+            acquire(limiter, Priority.WRITE, 10).forEach(Permit::releaseIgnored);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration maxWait, int maxQueue) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 4, 20, 0.8, maxWait, maxQueue, meterRegistry);
+    }
+
+    private static List<Permit> acquire(AdaptiveConcurrencyLimiter limiter, Priority priority, int count) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire(priority));
+        }
+        return permits;
+    }
+
+    private double rejected(String priority) {
+        return meterRegistry.counter("hotel.concurrency.rejected", "priority", priority).count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.hotel.common.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of {@link RateLimiter#tryAcquire} with 8 threads: all on one bucket (CAS contention), each on its own
+ * bucket, and all throttled on one bucket (rejection counter contention).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final String OPERATION = "GET /api/reservations";
+    private static final String THROTTLED = "POST /api/reservations";
+
+    private final AtomicInteger clients = new AtomicInteger();
+    private RateLimiter rateLimiter;
+
+    @State(Scope.Thread)
+    public static class Client {
+        String name;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            name = "10.0.0." + benchmark.clients.incrementAndGet();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setDefaults(new RateLimitProperties.Limit(1e9, 1_000_000));
+        properties.setOperations(Map.of(THROTTLED, new RateLimitProperties.Limit(1, 1)));
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long sharedBucket() {
+        return rateLimiter.tryAcquire("10.0.0.1", OPERATION);
+    }
+
+    @Benchmark
+    public long bucketPerThread(Client client) {
+        return rateLimiter.tryAcquire(client.name, OPERATION);
+    }
+
+    @Benchmark
+    public long throttled() {
+        return rateLimiter.tryAcquire("10.0.0.1", THROTTLED);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.common.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final String OPERATION = "GET /api/reservations";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void anIdleClientMaySendItsBurstBackToBack() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(1, 3), 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("10.0.0.1", OPERATION)).isZero();
+        }
+        long wait = rateLimiter.tryAcquire("10.0.0.1", OPERATION);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(RateLimiter.retryAfterSeconds(wait)).isEqualTo(1);
+        assertThat(rejected(OPERATION)).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("10.0.0.2", OPERATION)).isZero();
+    }
+
+    @Test
+    void tokensComeBackAtTheConfiguredRate() throws Exception {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(50, 1), 100);
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", OPERATION)).isZero();
+
+        long wait = rateLimiter.tryAcquire("10.0.0.1", OPERATION);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", OPERATION)).isZero();
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(RateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1)).isEqualTo(2);
+    }
+
+    @Test
+    void fullBucketsAreEvictedToMakeRoom() throws Exception {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(20, 1), 2);
+        rateLimiter.tryAcquire("10.0.0.1", OPERATION);
+        rateLimiter.tryAcquire("10.0.0.2", OPERATION);
+        Thread.sleep(60);
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.3", OPERATION)).isZero();
+        // Had 10.0.0.3 fallen back to the shared bucket, the next newcomer would be throttled
+        assertThat(rateLimiter.tryAcquire("10.0.0.4", OPERATION)).isZero();
+    }
+
+    @Test
+    void drainingBucketsAreKeptAndNewcomersShareTheOverflowBucket() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(1, 1), 2);
+        rateLimiter.tryAcquire("10.0.0.1", OPERATION);
+        rateLimiter.tryAcquire("10.0.0.2", OPERATION);
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.3", OPERATION)).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.4", OPERATION)).isPositive();
+        // The throttled clients did not get their burst back
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", OPERATION)).isPositive();
+        assertThat(rateLimiter.tryAcquire("10.0.0.2", OPERATION)).isPositive();
+    }
+
+    @Test
+    void unconfiguredOperationsPastTheBoundShareTheOtherBucket() {
+        RateLimitProperties properties = properties(new RateLimitProperties.Limit(1, 1), 100_000);
+        properties.setOperations(Map.of("configured", new RateLimitProperties.Limit(1, 1)));
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+        for (int i = 0; i < RateLimiter.MAX_OPERATIONS; i++) {
+            rateLimiter.tryAcquire("10.0.0.1", "operation-" + i);
+        }
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", "unknown-1")).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", "unknown-2")).isPositive();
+        assertThat(rejected(RateLimiter.OTHER_OPERATION)).isEqualTo(1);
+        assertThat(meterRegistry.find("hotel.ratelimit.rejected").tag("operation", "unknown-2").counter()).isNull();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", "configured")).isZero();
+    }
+
+    private RateLimiter rateLimiter(RateLimitProperties.Limit defaults, int maxBuckets) {
+        return new RateLimiter(properties(defaults, maxBuckets), meterRegistry);
+    }
+
+    private static RateLimitProperties properties(RateLimitProperties.Limit defaults, int maxBuckets) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setDefaults(defaults);
+        properties.setMaxBuckets(maxBuckets);
+        return properties;
+    }
+
+    private double rejected(String operation) {
+        return meterRegistry.counter("hotel.ratelimit.rejected", "operation", operation).count();
+    }
+}
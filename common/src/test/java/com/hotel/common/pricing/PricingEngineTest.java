@@ -0,0 +1,151 @@
+package com.hotel.common.pricing;
+
+import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.pricing.PricingEngine.Stay;
+import com.hotel.common.pricing.PricingProperties.Season;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricingEngineTest {
+
+    private static final int YEAR = LocalDate.now().getYear() + 1;
+    private static final BigDecimal PRIX = new BigDecimal("100.00");
+
+    @Test
+    void withoutSeasonsAStayCostsPriceTimesNights() {
+        PricingEngine engine = engine(properties());
+        LocalDate debut = LocalDate.of(YEAR, 3, 10);
+        for (int nights = 0; nights <= 30; nights++) {
+            LocalDate fin = debut.plusDays(nights);
+            assertThat(engine.total(TypeChambre.DOUBLE, new BigDecimal("87.35"), debut, fin))
+                    .isEqualByComparingTo(new BigDecimal("87.35").multiply(BigDecimal.valueOf(nights)));
+        }
+    }
+
+    @Test
+    void staysCrossingSeasonBoundariesPayEachNightAtItsOwnRate() {
+        PricingEngine engine = engine(properties(season("07-01", "08-31", "1.5")));
+
+        // June 29 and 30 at 1.0, July 1 and 2 at 1.5
+        assertThat(engine.total(TypeChambre.DOUBLE, PRIX, LocalDate.of(YEAR, 6, 29), LocalDate.of(YEAR, 7, 3)))
+                .isEqualByComparingTo("500.00");
+        // August 30 and 31 at 1.5, September 1 at 1.0
+        assertThat(engine.total(TypeChambre.DOUBLE, PRIX, LocalDate.of(YEAR, 8, 30), LocalDate.of(YEAR, 9, 2)))
+                .isEqualByComparingTo("400.00");
+        // The departure day is not charged
+        assertThat(engine.total(TypeChambre.DOUBLE, PRIX, LocalDate.of(YEAR, 6, 29), LocalDate.of(YEAR, 7, 1)))
+                .isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void seasonsWrappingOverTheNewYearCoverBothEnds() {
+        PricingEngine engine = engine(properties(season("12-20", "01-05", "2")));
+
+        assertThat(engine.total(TypeChambre.SIMPLE, PRIX, LocalDate.of(YEAR, 12, 19), LocalDate.of(YEAR, 12, 21)))
+                .isEqualByComparingTo("300.00");
+        assertThat(engine.total(TypeChambre.SIMPLE, PRIX, LocalDate.of(YEAR, 12, 30), LocalDate.of(YEAR + 1, 1, 2)))
+                .isEqualByComparingTo("600.00");
+        assertThat(engine.total(TypeChambre.SIMPLE, PRIX, LocalDate.of(YEAR, 1, 5), LocalDate.of(YEAR, 1, 7)))
+                .isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void totalsMatchThePerNightComputationInsideAndBeyondTheHorizon() {
+        Season weekend = season(null, null, "1.2");
+        weekend.setDays(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        Season suites = season("05-15", "09-15", "1.35");
+        suites.setTypes(EnumSet.of(TypeChambre.SUITE));
+        PricingProperties properties = properties(season("12-20", "01-05", "1.8"), weekend, suites);
+        properties.setHorizonDays(500);
+        PricingEngine engine = engine(properties);
+
+        BigDecimal prix = new BigDecimal("123.45");
+        LocalDate first = LocalDate.now().withDayOfYear(1).minusDays(20);
+        List<Stay> stays = new ArrayList<>();
+        // Stays starting before the calendar, inside it, and running past its horizon
+        for (LocalDate debut = first; debut.isBefore(first.plusDays(560)); debut = debut.plusDays(13)) {
+            stays.add(new Stay(debut, debut.plusDays(1 + debut.getDayOfMonth() % 17)));
+        }
+        TypeChambre[] types = TypeChambre.values();
+        long[] nightlyCents = new long[types.length];
+        for (int r = 0; r < types.length; r++) {
+            nightlyCents[r] = PricingEngine.toCents(prix);
+        }
+        long[][] quoted = engine.quote(types, nightlyCents, stays);
+
+        for (int r = 0; r < types.length; r++) {
+            for (int s = 0; s < stays.size(); s++) {
+                Stay stay = stays.get(s);
+                BigDecimal expected = perNight(properties, types[r], prix, stay.dateDebut(), stay.dateFin());
+                assertThat(engine.total(types[r], prix, stay.dateDebut(), stay.dateFin()))
+                        .as("%s %s", types[r], stay)
+                        .isEqualByComparingTo(expected);
+                assertThat(quoted[r][s]).isEqualTo(PricingEngine.toCents(expected));
+            }
+        }
+    }
+
+    /**
+     * Reference: each night priced on its own, then summed.
+     */
+    private static BigDecimal perNight(PricingProperties properties, TypeChambre type, BigDecimal prix,
+                                       LocalDate debut, LocalDate fin) {
+        BigDecimal factors = BigDecimal.ZERO;
+        for (LocalDate night = debut; night.isBefore(fin); night = night.plusDays(1)) {
+            BigDecimal factor = BigDecimal.ONE;
+            for (Season season : properties.getSeasons()) {
+                if (covers(season, type, night)) {
+                    factor = factor.multiply(season.getFactor());
+                }
+            }
+            factors = factors.add(factor.setScale(4, RoundingMode.HALF_UP));
+        }
+        return prix.multiply(factors).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static boolean covers(Season season, TypeChambre type, LocalDate night) {
+        if (!season.getTypes().isEmpty() && !season.getTypes().contains(type)) {
+            return false;
+        }
+        if (!season.getDays().isEmpty() && !season.getDays().contains(night.getDayOfWeek())) {
+            return false;
+        }
+        if (season.getFrom() == null) {
+            return true;
+        }
+        String day = String.format("%02d-%02d", night.getMonthValue(), night.getDayOfMonth());
+        return season.getFrom().compareTo(season.getTo()) <= 0
+                ? day.compareTo(season.getFrom()) >= 0 && day.compareTo(season.getTo()) <= 0
+                : day.compareTo(season.getFrom()) >= 0 || day.compareTo(season.getTo()) <= 0;
+    }
+
+    private static PricingEngine engine(PricingProperties properties) {
+        return new PricingEngine(properties);
+    }
+
+    private static PricingProperties properties(Season... seasons) {
+        PricingProperties properties = new PricingProperties();
+        properties.setSeasons(new ArrayList<>(List.of(seasons)));
+        return properties;
+    }
+
+    private static Season season(String from, String to, String factor) {
+        Season season = new Season();
+        season.setFrom(from);
+        season.setTo(to);
+        season.setFactor(new BigDecimal(factor));
+        season.setDays(EnumSet.noneOf(DayOfWeek.class));
+        season.setTypes(Set.of());
+        return season;
+    }
+}
@@ -0,0 +1,134 @@
+package com.hotel.common.repository;
+
+import com.hotel.common.amenity.AmenityDictionary;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.entity.Chambre;
+import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.entity.Client;
+import com.hotel.common.entity.Reservation;
+import com.hotel.common.entity.Reservation.StatutReservation;
+import com.hotel.common.mapper.EntityMapper;
+import com.hotel.common.version.TableVersions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reservation list queries must load their rows, clients and rooms in a bounded number of statements,
+ * whatever the number of rows: one lazy SELECT per row would show up here as N extra statements.
+ * Results go through the {@link EntityMapper}, as in the service, so whatever the DTOs read is counted.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TableVersions.class, EntityMapper.class, AmenityDictionary.class})
+class ReservationRepositoryStatementCountTest {
+
+    private static final int ROWS = 40;
+    private static final LocalDate START = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityMapper mapper;
+
+    @Autowired
+    private AmenityDictionary amenityDictionary;
+
+    private Statistics statistics;
+    private Client firstClient;
+    private Chambre firstChambre;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        List<Client> clients = new ArrayList<>();
+        List<Chambre> chambres = new ArrayList<>();
+        long equipements = amenityDictionary.encode(List.of("Wifi", "Climatisation"));
+        for (int i = 0; i < ROWS; i++) {
+            clients.add(entityManager.persist(Client.builder()
+                    .nom("Nom" + i).prenom("Prenom" + i).email("client" + i + "@test.fr").telephone("0600000000")
+                    .build()));
+            chambres.add(entityManager.persist(Chambre.builder()
+                    .numero("T" + i).type(TypeChambre.DOUBLE).prix(new BigDecimal("100.00")).capaciteMax(2)
+                    .equipementsMask(equipements)
+                    .build()));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            // Every client and room is used twice, so a per-row lazy load cannot be hidden by the first-level cache
+            entityManager.persist(Reservation.builder()
+                    .client(clients.get(i)).chambre(chambres.get((i + 1) % ROWS))
+                    .dateDebut(START.plusDays(i)).dateFin(START.plusDays(i + 2))
+                    .statut(StatutReservation.CONFIRMEE).nombrePersonnes(2)
+                    .build());
+            entityManager.persist(Reservation.builder()
+                    .client(clients.get(0)).chambre(chambres.get(0))
+                    .dateDebut(START.plusDays(400 + 3 * i)).dateFin(START.plusDays(401 + 3 * i))
+                    .statut(StatutReservation.CONFIRMEE).nombrePersonnes(1)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        firstClient = clients.get(0);
+        firstChambre = chambres.get(0);
+    }
+
+    @Test
+    void findByStatutUsesOneStatement() {
+        assertSingleStatement(() -> reservationRepository.findByStatut(StatutReservation.CONFIRMEE), 2 * ROWS);
+    }
+
+    @Test
+    void findByClientIdUsesOneStatement() {
+        assertSingleStatement(() -> reservationRepository.findByClientId(firstClient.getId()), ROWS + 1);
+    }
+
+    @Test
+    void findByChambreIdUsesOneStatement() {
+        assertSingleStatement(() -> reservationRepository.findByChambreId(firstChambre.getId()), ROWS + 1);
+    }
+
+    @Test
+    void findByDateRangeUsesOneStatement() {
+        assertSingleStatement(() -> reservationRepository.findByDateRange(START, START.plusDays(ROWS + 2)), ROWS);
+    }
+
+    @Test
+    void findCurrentAndUpcomingUsesOneStatement() {
+        assertSingleStatement(() -> reservationRepository.findCurrentAndUpcoming(LocalDate.now()), 2 * ROWS);
+    }
+
+    @Test
+    void findAllWithDetailsUsesOneStatement() {
+        assertSingleStatement(reservationRepository::findAllWithDetails, 2 * ROWS);
+    }
+
+    /**
+     * Runs the query and maps its rows as the service does.
+     */
+    private void assertSingleStatement(Supplier<List<Reservation>> query, int expectedRows) {
+        statistics.clear();
+        List<ReservationDTO> reservations = mapper.toReservationDTOList(query.get());
+        assertThat(reservations).hasSize(expectedRows).allSatisfy(reservation -> {
+            assertThat(reservation.getClient().getNom()).isNotNull();
+            assertThat(reservation.getChambre().getNumero()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
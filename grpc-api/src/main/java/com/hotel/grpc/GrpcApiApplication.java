@@ -1,9 +1,11 @@
 package com.hotel.grpc;
 
+import com.hotel.grpc.config.GrpcRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 /**
@@ -13,6 +15,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @ComponentScan(basePackages = {"com.hotel.common", "com.hotel.grpc"})
 @EntityScan(basePackages = "com.hotel.common.entity")
 @EnableJpaRepositories(basePackages = "com.hotel.common.repository")
+@ImportRuntimeHints(GrpcRuntimeHints.class)
 public class GrpcApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,21 @@
+package com.hotel.grpc.config;
+
+import com.hotel.common.metrics.TransportMetrics;
+import com.hotel.grpc.metrics.InstrumentedGrpcServiceDiscoverer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC serialization metrics configuration.
+ */
+@Configuration
+public class GrpcMetricsConfig {
+
+    /**
+     * Replaces the starter's default discoverer so request decoding can be timed.
+     */
+    @Bean
+    public InstrumentedGrpcServiceDiscoverer grpcServiceDiscoverer(TransportMetrics transportMetrics) {
+        return new InstrumentedGrpcServiceDiscoverer(transportMetrics);
+    }
+}
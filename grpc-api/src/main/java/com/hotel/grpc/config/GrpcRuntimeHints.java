@@ -0,0 +1,48 @@
+package com.hotel.grpc.config;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.hotel.grpc.gen.ReservationProto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native-image hints for the generated protobuf classes: their field accessor tables (used by
+ * {@code toString}, {@code equals} and {@code hashCode}) look up the getters and builder methods reflectively.
+ * The list is read from the schema descriptor, so new messages are covered.
+ */
+public class GrpcRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String GENERATED_PACKAGE = "com.hotel.grpc.gen.";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerMessages(hints, ReservationProto.getDescriptor().getMessageTypes(), GENERATED_PACKAGE);
+        registerEnums(hints, ReservationProto.getDescriptor().getEnumTypes(), GENERATED_PACKAGE);
+    }
+
+    private static void registerMessages(RuntimeHints hints, List<Descriptor> messages, String prefix) {
+        for (Descriptor message : messages) {
+            String className = prefix + message.getName();
+            register(hints, className);
+            register(hints, className + "$Builder");
+            registerMessages(hints, message.getNestedTypes(), className + "$");
+            registerEnums(hints, message.getEnumTypes(), className + "$");
+        }
+    }
+
+    private static void registerEnums(RuntimeHints hints, List<EnumDescriptor> enums, String prefix) {
+        for (EnumDescriptor type : enums) {
+            register(hints, prefix + type.getName());
+        }
+    }
+
+    private static void register(RuntimeHints hints, String className) {
+        hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.grpc.interceptor;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds unary calls with RESOURCE_EXHAUSTED once the adaptive concurrency limit is reached.
+ * Streaming calls are long-lived and would distort the latency signal, so they are not limited.
+ */
+@GrpcGlobalServerInterceptor
+// Right after rate limiting, so rejected callers never hold a slot
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private static final ServerCall.Listener<?> NOOP_LISTENER = new ServerCall.Listener<>() {
+    };
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        if (method.getType() != MethodDescriptor.MethodType.UNARY) {
+            return next.startCall(call, headers);
+        }
+
+        Permit permit = limiter.tryAcquire(priorityOf(method.getBareMethodName()));
+        if (permit == null) {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Service surchargé, réessayez plus tard"),
+                    new Metadata());
+            return (ServerCall.Listener<ReqT>) NOOP_LISTENER;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        ServerCall<ReqT, RespT> releasingCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (released.compareAndSet(false, true)) {
+                    if (status.isOk()) {
+                        permit.release();
+                    } else {
+                        permit.releaseIgnored();
+                    }
+                }
+                super.close(status, trailers);
+            }
+        };
+        try {
+            ServerCall.Listener<ReqT> listener = next.startCall(releasingCall, headers);
+            return new ReleasingListener<>(listener, permit, released);
+        } catch (RuntimeException e) {
+            if (released.compareAndSet(false, true)) {
+                permit.releaseIgnored();
+            }
+            throw e;
+        }
+    }
+
+    private static Priority priorityOf(String methodName) {
+        return methodName != null && (methodName.startsWith("Create") || methodName.startsWith("Update")
+                || methodName.startsWith("Delete") || methodName.startsWith("Confirm")
+                || methodName.startsWith("Release"))
+                ? Priority.WRITE
+                : Priority.READ;
+    }
+
+    /**
+     * Frees the slot when the client cancels before the call is closed.
+     */
+    private static final class ReleasingListener<ReqT>
+            extends ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT> {
+
+        private final Permit permit;
+        private final AtomicBoolean released;
+
+        ReleasingListener(ServerCall.Listener<ReqT> delegate, Permit permit, AtomicBoolean released) {
+            super(delegate);
+            this.permit = permit;
+            this.released = released;
+        }
+
+        @Override
+        public void onCancel() {
+            if (released.compareAndSet(false, true)) {
+                permit.releaseIgnored();
+            }
+            super.onCancel();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.grpc.interceptor;
+
+import com.hotel.common.limit.RateLimiter;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+import java.util.Locale;
+
+/**
+ * Exposes the {@code idempotency-key} request metadata to service implementations
+ * through {@link #IDEMPOTENCY_KEY}, and the caller the key is scoped to through {@link #CALLER}:
+ * its API key, or its address, as for rate limiting.
+ */
+@GrpcGlobalServerInterceptor
+public class IdempotencyKeyInterceptor implements ServerInterceptor {
+
+    public static final Context.Key<String> IDEMPOTENCY_KEY = Context.key("idempotency-key");
+    public static final Context.Key<String> CALLER = Context.key("idempotency-caller");
+
+    private static final Metadata.Key<String> HEADER =
+            Metadata.Key.of("idempotency-key", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RateLimiter rateLimiter;
+    private final Metadata.Key<String> apiKeyHeader;
+
+    public IdempotencyKeyInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = Metadata.Key.of(rateLimiter.getApiKeyHeader().toLowerCase(Locale.ROOT),
+                Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String key = headers.get(HEADER);
+        if (key == null) {
+            return next.startCall(call, headers);
+        }
+        String caller = rateLimiter.clientOf(headers.get(apiKeyHeader), RateLimitInterceptor.remoteHost(call));
+        return Contexts.interceptCall(Context.current().withValues(IDEMPOTENCY_KEY, key, CALLER, caller),
+                call, headers, next);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotel.grpc.interceptor;
+
+import com.hotel.common.limit.RateLimiter;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Locale;
+
+/**
+ * Rejects calls with RESOURCE_EXHAUSTED when the caller exceeds its rate for the method.
+ * The operation is the full method name, e.g. {@code hotel.ReservationService/GetAllReservations}.
+ */
+@GrpcGlobalServerInterceptor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RateLimitInterceptor implements ServerInterceptor {
+
+    private static final ServerCall.Listener<?> NOOP_LISTENER = new ServerCall.Listener<>() {
+    };
+
+    private final RateLimiter rateLimiter;
+    private final Metadata.Key<String> apiKeyHeader;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = Metadata.Key.of(rateLimiter.getApiKeyHeader().toLowerCase(Locale.ROOT),
+                Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (!rateLimiter.isEnabled()) {
+            return next.startCall(call, headers);
+        }
+        String apiKey = headers.get(apiKeyHeader);
+        String client = rateLimiter.clientOf(apiKey, remoteHost(call));
+        long wait = rateLimiter.tryAcquire(client, call.getMethodDescriptor().getFullMethodName());
+        if (wait > 0) {
+            Metadata trailers = new Metadata();
+            trailers.put(Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER),
+                    Long.toString(RateLimiter.retryAfterSeconds(wait)));
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Trop de requêtes, réessayez plus tard"), trailers);
+            return (ServerCall.Listener<ReqT>) NOOP_LISTENER;
+        }
+        return next.startCall(call, headers);
+    }
+
+    static String remoteHost(ServerCall<?, ?> call) {
+        SocketAddress address = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getAddress() != null ? inet.getAddress().getHostAddress() : inet.getHostString();
+        }
+        return String.valueOf(address);
+    }
+}
@@ -2,108 +2,273 @@ package com.hotel.grpc.mapper;
 
 import com.hotel.common.dto.ChambreDTO;
 import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.HoldDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.pricing.PricingEngine.Stay;
+import com.hotel.grpc.gen.Chambre;
+import com.hotel.grpc.gen.ChambreList;
+import com.hotel.grpc.gen.Client;
+import com.hotel.grpc.gen.ClientList;
+import com.hotel.grpc.gen.CreateChambreRequest;
+import com.hotel.grpc.gen.CreateClientRequest;
+import com.hotel.grpc.gen.CreateReservationRequest;
+import com.hotel.grpc.gen.DeleteResponse;
+import com.hotel.grpc.gen.Hold;
+import com.hotel.grpc.gen.Quote;
+import com.hotel.grpc.gen.QuoteList;
+import com.hotel.grpc.gen.QuoteRequest;
+import com.hotel.grpc.gen.Reservation;
+import com.hotel.grpc.gen.ReservationList;
+import com.hotel.grpc.gen.StatutReservation;
+import com.hotel.grpc.gen.TypeChambre;
+import com.hotel.grpc.gen.UpdateChambreRequest;
+import com.hotel.grpc.gen.UpdateClientRequest;
+import com.hotel.grpc.gen.UpdateReservationRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Mapper for converting between DTOs and gRPC proto messages.
- * This is a simplified implementation. In production, you would use
- * the actual generated proto classes.
+ * Proto3 fields are never null, so missing DTO values map to the field default.
  */
 @Component
 public class GrpcMapper {
 
-    public Object toReservationProto(ReservationDTO dto) {
-        if (dto == null) return null;
-        
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("id", dto.getId());
-        proto.put("clientId", dto.getClientId());
-        proto.put("chambreId", dto.getChambreId());
-        proto.put("dateDebut", dto.getDateDebut() != null ? dto.getDateDebut().toString() : null);
-        proto.put("dateFin", dto.getDateFin() != null ? dto.getDateFin().toString() : null);
-        proto.put("statut", dto.getStatut() != null ? dto.getStatut().name() : null);
-        proto.put("preferences", dto.getPreferences());
-        proto.put("nombrePersonnes", dto.getNombrePersonnes());
-        proto.put("prixTotal", dto.getPrixTotal() != null ? dto.getPrixTotal().doubleValue() : null);
-        proto.put("commentaires", dto.getCommentaires());
-        
+    // ==================== DTO -> PROTO ====================
+
+    public Reservation toReservationProto(ReservationDTO dto) {
+        Reservation.Builder proto = Reservation.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setDateDebut(orEmpty(dto.getDateDebut()))
+                .setDateFin(orEmpty(dto.getDateFin()))
+                .setPreferences(orEmpty(dto.getPreferences()))
+                .setNombrePersonnes(orZero(dto.getNombrePersonnes()))
+                .setPrixTotal(orZero(dto.getPrixTotal()))
+                .setCommentaires(orEmpty(dto.getCommentaires()))
+                .setCreatedAt(orEmpty(dto.getCreatedAt()))
+                .setUpdatedAt(orEmpty(dto.getUpdatedAt()));
+
+        if (dto.getStatut() != null) {
+            proto.setStatut(StatutReservation.valueOf(dto.getStatut().name()));
+        }
         if (dto.getClient() != null) {
-            proto.put("client", toClientProto(dto.getClient()));
+            proto.setClient(toClientProto(dto.getClient()));
+        } else if (dto.getClientId() != null) {
+            proto.setClient(Client.newBuilder().setId(dto.getClientId()));
         }
-        
         if (dto.getChambre() != null) {
-            proto.put("chambre", toChambreProto(dto.getChambre()));
+            proto.setChambre(toChambreProto(dto.getChambre()));
+        } else if (dto.getChambreId() != null) {
+            proto.setChambre(Chambre.newBuilder().setId(dto.getChambreId()));
+        }
+
+        return proto.build();
+    }
+
+    public ReservationList toReservationListProto(List<ReservationDTO> dtos) {
+        ReservationList.Builder proto = ReservationList.newBuilder();
+        dtos.forEach(dto -> proto.addReservations(toReservationProto(dto)));
+        return proto.build();
+    }
+
+    public Client toClientProto(ClientDTO dto) {
+        return Client.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setNom(orEmpty(dto.getNom()))
+                .setPrenom(orEmpty(dto.getPrenom()))
+                .setEmail(orEmpty(dto.getEmail()))
+                .setTelephone(orEmpty(dto.getTelephone()))
+                .setCreatedAt(orEmpty(dto.getCreatedAt()))
+                .setUpdatedAt(orEmpty(dto.getUpdatedAt()))
+                .build();
+    }
+
+    public ClientList toClientListProto(List<ClientDTO> dtos) {
+        ClientList.Builder proto = ClientList.newBuilder();
+        dtos.forEach(dto -> proto.addClients(toClientProto(dto)));
+        return proto.build();
+    }
+
+    public Chambre toChambreProto(ChambreDTO dto) {
+        Chambre.Builder proto = Chambre.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setNumero(orEmpty(dto.getNumero()))
+                .setPrix(orZero(dto.getPrix()))
+                .setDisponible(Boolean.TRUE.equals(dto.getDisponible()))
+                .setDescription(orEmpty(dto.getDescription()))
+                .setCapaciteMax(orZero(dto.getCapaciteMax()))
+                .setCreatedAt(orEmpty(dto.getCreatedAt()))
+                .setUpdatedAt(orEmpty(dto.getUpdatedAt()));
+
+        if (dto.getType() != null) {
+            proto.setType(TypeChambre.valueOf(dto.getType().name()));
+        }
+        if (dto.getEquipements() != null) {
+            proto.addAllEquipements(dto.getEquipements());
         }
-        
-        return proto;
-    }
-
-    public Object toReservationListProto(List<ReservationDTO> dtos) {
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("reservations", dtos.stream()
-                .map(this::toReservationProto)
-                .toList());
-        return proto;
-    }
-
-    public Object toClientProto(ClientDTO dto) {
-        if (dto == null) return null;
-        
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("id", dto.getId());
-        proto.put("nom", dto.getNom());
-        proto.put("prenom", dto.getPrenom());
-        proto.put("email", dto.getEmail());
-        proto.put("telephone", dto.getTelephone());
-        proto.put("createdAt", dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : null);
-        proto.put("updatedAt", dto.getUpdatedAt() != null ? dto.getUpdatedAt().toString() : null);
-        
-        return proto;
-    }
-
-    public Object toClientListProto(List<ClientDTO> dtos) {
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("clients", dtos.stream()
-                .map(this::toClientProto)
-                .toList());
-        return proto;
-    }
-
-    public Object toChambreProto(ChambreDTO dto) {
-        if (dto == null) return null;
-        
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("id", dto.getId());
-        proto.put("numero", dto.getNumero());
-        proto.put("type", dto.getType() != null ? dto.getType().name() : null);
-        proto.put("prix", dto.getPrix() != null ? dto.getPrix().doubleValue() : null);
-        proto.put("disponible", dto.getDisponible());
-        proto.put("description", dto.getDescription());
-        proto.put("capaciteMax", dto.getCapaciteMax());
-        proto.put("equipements", dto.getEquipements());
-        proto.put("createdAt", dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : null);
-        proto.put("updatedAt", dto.getUpdatedAt() != null ? dto.getUpdatedAt().toString() : null);
-        
-        return proto;
-    }
-
-    public Object toChambreListProto(List<ChambreDTO> dtos) {
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("chambres", dtos.stream()
-                .map(this::toChambreProto)
-                .toList());
-        return proto;
-    }
-
-    public Object toDeleteResponseProto(boolean success, String message) {
-        Map<String, Object> proto = new HashMap<>();
-        proto.put("success", success);
-        proto.put("message", message);
-        return proto;
+
+        return proto.build();
+    }
+
+    public ChambreList toChambreListProto(List<ChambreDTO> dtos) {
+        ChambreList.Builder proto = ChambreList.newBuilder();
+        dtos.forEach(dto -> proto.addChambres(toChambreProto(dto)));
+        return proto.build();
+    }
+
+    public QuoteList toQuoteListProto(List<QuoteDTO> dtos) {
+        QuoteList.Builder proto = QuoteList.newBuilder();
+        for (QuoteDTO dto : dtos) {
+            proto.addQuotes(Quote.newBuilder()
+                    .setChambreId(orZero(dto.getChambreId()))
+                    .setNumero(orEmpty(dto.getNumero()))
+                    .setType(TypeChambre.valueOf(dto.getType().name()))
+                    .setCapaciteMax(orZero(dto.getCapaciteMax()))
+                    .setPrix(orZero(dto.getPrix()))
+                    .setDateDebut(orEmpty(dto.getDateDebut()))
+                    .setDateFin(orEmpty(dto.getDateFin()))
+                    .setNuits(orZero(dto.getNuits()))
+                    .setPrixTotal(orZero(dto.getPrixTotal())));
+        }
+        return proto.build();
+    }
+
+    public Hold toHoldProto(HoldDTO dto) {
+        return Hold.newBuilder()
+                .setToken(dto.getToken())
+                .setClientId(orZero(dto.getClientId()))
+                .setChambreId(orZero(dto.getChambreId()))
+                .setDateDebut(orEmpty(dto.getDateDebut()))
+                .setDateFin(orEmpty(dto.getDateFin()))
+                .setExpiresAt(orEmpty(dto.getExpiresAt()))
+                .build();
+    }
+
+    public DeleteResponse toDeleteResponseProto(boolean success, String message) {
+        return DeleteResponse.newBuilder()
+                .setSuccess(success)
+                .setMessage(orEmpty(message))
+                .build();
+    }
+
+    // ==================== PROTO -> DTO ====================
+
+    public ReservationDTO toReservationDTO(CreateReservationRequest request) {
+        return ReservationDTO.builder()
+                .clientId(request.getClientId())
+                .chambreId(request.getChambreId())
+                .dateDebut(toLocalDate(request.getDateDebut()))
+                .dateFin(toLocalDate(request.getDateFin()))
+                .preferences(emptyToNull(request.getPreferences()))
+                .nombrePersonnes(request.getNombrePersonnes())
+                .commentaires(emptyToNull(request.getCommentaires()))
+                .build();
+    }
+
+    public ReservationDTO toReservationDTO(UpdateReservationRequest request) {
+        return ReservationDTO.builder()
+                .clientId(request.getClientId())
+                .chambreId(request.getChambreId())
+                .dateDebut(toLocalDate(request.getDateDebut()))
+                .dateFin(toLocalDate(request.getDateFin()))
+                .preferences(emptyToNull(request.getPreferences()))
+                .nombrePersonnes(request.getNombrePersonnes())
+                .commentaires(emptyToNull(request.getCommentaires()))
+                .build();
+    }
+
+    public ClientDTO toClientDTO(CreateClientRequest request) {
+        return ClientDTO.builder()
+                .nom(request.getNom())
+                .prenom(request.getPrenom())
+                .email(request.getEmail())
+                .telephone(emptyToNull(request.getTelephone()))
+                .build();
+    }
+
+    public ClientDTO toClientDTO(UpdateClientRequest request) {
+        return ClientDTO.builder()
+                .nom(request.getNom())
+                .prenom(request.getPrenom())
+                .email(request.getEmail())
+                .telephone(emptyToNull(request.getTelephone()))
+                .build();
+    }
+
+    public ChambreDTO toChambreDTO(CreateChambreRequest request) {
+        return ChambreDTO.builder()
+                .numero(request.getNumero())
+                .type(toTypeChambre(request.getType()))
+                .prix(BigDecimal.valueOf(request.getPrix()))
+                .disponible(request.getDisponible())
+                .description(emptyToNull(request.getDescription()))
+                .capaciteMax(request.getCapaciteMax())
+                .equipements(List.copyOf(request.getEquipementsList()))
+                .build();
+    }
+
+    public ChambreDTO toChambreDTO(UpdateChambreRequest request) {
+        return ChambreDTO.builder()
+                .numero(request.getNumero())
+                .type(toTypeChambre(request.getType()))
+                .prix(BigDecimal.valueOf(request.getPrix()))
+                .disponible(request.getDisponible())
+                .description(emptyToNull(request.getDescription()))
+                .capaciteMax(request.getCapaciteMax())
+                .equipements(List.copyOf(request.getEquipementsList()))
+                .build();
+    }
+
+    public List<Stay> toStays(QuoteRequest request) {
+        return request.getStaysList().stream()
+                .map(stay -> new Stay(toLocalDate(stay.getDateDebut()), toLocalDate(stay.getDateFin())))
+                .toList();
+    }
+
+    public QuoteFilter toQuoteFilter(QuoteRequest request) {
+        return QuoteFilter.builder()
+                .type(request.hasType() ? toTypeChambre(request.getType()) : null)
+                .minPrix(request.getMinPrix() > 0 ? BigDecimal.valueOf(request.getMinPrix()) : null)
+                .maxPrix(request.getMaxPrix() > 0 ? BigDecimal.valueOf(request.getMaxPrix()) : null)
+                .build();
+    }
+
+    public com.hotel.common.entity.Reservation.StatutReservation toStatutReservation(StatutReservation statut) {
+        return com.hotel.common.entity.Reservation.StatutReservation.valueOf(statut.name());
+    }
+
+    public com.hotel.common.entity.Chambre.TypeChambre toTypeChambre(TypeChambre type) {
+        return com.hotel.common.entity.Chambre.TypeChambre.valueOf(type.name());
+    }
+
+    public LocalDate toLocalDate(String value) {
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static String orEmpty(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static double orZero(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0d;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
     }
 }
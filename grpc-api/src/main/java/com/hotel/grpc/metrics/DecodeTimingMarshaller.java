@@ -0,0 +1,46 @@
+package com.hotel.grpc.metrics;
+
+import com.hotel.common.metrics.TransportMetrics;
+import io.grpc.MethodDescriptor;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Request marshaller recording message size and parse time.
+ * Parsing happens before any {@link io.grpc.ServerInterceptor} sees the message,
+ * so decoding can only be measured at the marshaller.
+ */
+public class DecodeTimingMarshaller<T> implements MethodDescriptor.Marshaller<T> {
+
+    private final MethodDescriptor.Marshaller<T> delegate;
+    private final TransportMetrics transportMetrics;
+    private final String operation;
+
+    public DecodeTimingMarshaller(MethodDescriptor.Marshaller<T> delegate, TransportMetrics transportMetrics,
+                                  String operation) {
+        this.delegate = delegate;
+        this.transportMetrics = transportMetrics;
+        this.operation = operation;
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        return delegate.stream(value);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        // gRPC message streams report their exact remaining size
+        long bytes;
+        try {
+            bytes = stream.available();
+        } catch (IOException e) {
+            bytes = -1;
+        }
+        long start = System.nanoTime();
+        T message = delegate.parse(stream);
+        transportMetrics.recordRequest(TransportMetrics.GRPC, operation, bytes, System.nanoTime() - start);
+        return message;
+    }
+}
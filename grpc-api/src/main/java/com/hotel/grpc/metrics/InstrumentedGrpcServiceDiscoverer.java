@@ -0,0 +1,56 @@
+package com.hotel.grpc.metrics;
+
+import com.hotel.common.metrics.TransportMetrics;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import net.devh.boot.grpc.server.service.AnnotationGrpcServiceDiscoverer;
+import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service discoverer that swaps each request marshaller for a {@link DecodeTimingMarshaller}.
+ */
+public class InstrumentedGrpcServiceDiscoverer extends AnnotationGrpcServiceDiscoverer {
+
+    private final TransportMetrics transportMetrics;
+
+    public InstrumentedGrpcServiceDiscoverer(TransportMetrics transportMetrics) {
+        this.transportMetrics = transportMetrics;
+    }
+
+    @Override
+    public Collection<GrpcServiceDefinition> findGrpcServices() {
+        return super.findGrpcServices().stream()
+                .map(service -> new GrpcServiceDefinition(service.getBeanName(), service.getBeanClazz(),
+                        instrument(service.getDefinition())))
+                .toList();
+    }
+
+    private ServerServiceDefinition instrument(ServerServiceDefinition definition) {
+        ServiceDescriptor original = definition.getServiceDescriptor();
+        List<ServerMethodDefinition<?, ?>> methods = definition.getMethods().stream()
+                .<ServerMethodDefinition<?, ?>>map(this::instrumentMethod)
+                .toList();
+
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+                .setSchemaDescriptor(original.getSchemaDescriptor());
+        methods.forEach(method -> descriptor.addMethod(method.getMethodDescriptor()));
+
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+        methods.forEach(builder::addMethod);
+        return builder.build();
+    }
+
+    private <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> instrumentMethod(ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        MethodDescriptor<ReqT, RespT> timed = descriptor.toBuilder()
+                .setRequestMarshaller(new DecodeTimingMarshaller<>(descriptor.getRequestMarshaller(),
+                        transportMetrics, descriptor.getFullMethodName()))
+                .build();
+        return ServerMethodDefinition.create(timed, method.getServerCallHandler());
+    }
+}
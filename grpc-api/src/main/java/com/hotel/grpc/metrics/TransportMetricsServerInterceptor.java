@@ -0,0 +1,39 @@
+package com.hotel.grpc.metrics;
+
+import com.google.protobuf.MessageLite;
+import com.hotel.common.metrics.TransportMetrics;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+/**
+ * Records response sizes and encoding time for every gRPC call.
+ * Protobuf serializes lazily while the call writes the message to the transport,
+ * so timing {@code sendMessage} captures the encoding cost.
+ */
+@GrpcGlobalServerInterceptor
+@RequiredArgsConstructor
+public class TransportMetricsServerInterceptor implements ServerInterceptor {
+
+    private final TransportMetrics transportMetrics;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String operation = call.getMethodDescriptor().getFullMethodName();
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                long start = System.nanoTime();
+                super.sendMessage(message);
+                long elapsed = System.nanoTime() - start;
+                long bytes = message instanceof MessageLite lite ? lite.getSerializedSize() : -1;
+                transportMetrics.recordResponse(TransportMetrics.GRPC, operation, bytes, elapsed);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotel.grpc.service;
+
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.service.ChambreService;
+import com.hotel.grpc.gen.ChambreList;
+import com.hotel.grpc.gen.ChambreResponse;
+import com.hotel.grpc.gen.ChambreServiceGrpc;
+import com.hotel.grpc.gen.CreateChambreRequest;
+import com.hotel.grpc.gen.DateRangeRequest;
+import com.hotel.grpc.gen.DeleteResponse;
+import com.hotel.grpc.gen.Empty;
+import com.hotel.grpc.gen.EquipementsRequest;
+import com.hotel.grpc.gen.GetByIdRequest;
+import com.hotel.grpc.gen.QuoteList;
+import com.hotel.grpc.gen.QuoteRequest;
+import com.hotel.grpc.gen.UpdateChambreRequest;
+import com.hotel.grpc.mapper.GrpcMapper;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.util.List;
+
+/**
+ * gRPC Service implementation for Chambre operations.
+ */
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class ChambreGrpcService extends ChambreServiceGrpc.ChambreServiceImplBase {
+
+    private final ChambreService chambreService;
+    private final GrpcMapper grpcMapper;
+
+    @Override
+    public void getAllChambres(Empty request, StreamObserver<ChambreList> responseObserver) {
+        log.info("gRPC: Getting all chambres");
+        try {
+            List<ChambreDTO> chambres = chambreService.findAll();
+            responseObserver.onNext(grpcMapper.toChambreListProto(chambres));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting chambres", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void getChambreById(GetByIdRequest request, StreamObserver<ChambreResponse> responseObserver) {
+        log.info("gRPC: Getting chambre by ID: {}", request.getId());
+        try {
+            responseObserver.onNext(toResponse(chambreService.findById(request.getId())));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting chambre", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void createChambre(CreateChambreRequest request, StreamObserver<ChambreResponse> responseObserver) {
+        log.info("gRPC: Creating chambre {}", request.getNumero());
+        try {
+            ChambreDTO created = chambreService.create(grpcMapper.toChambreDTO(request));
+            responseObserver.onNext(toResponse(created));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error creating chambre", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void updateChambre(UpdateChambreRequest request, StreamObserver<ChambreResponse> responseObserver) {
+        log.info("gRPC: Updating chambre: {}", request.getId());
+        try {
+            ChambreDTO updated = chambreService.update(request.getId(), grpcMapper.toChambreDTO(request));
+            responseObserver.onNext(toResponse(updated));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error updating chambre", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void deleteChambre(GetByIdRequest request, StreamObserver<DeleteResponse> responseObserver) {
+        log.info("gRPC: Deleting chambre: {}", request.getId());
+        try {
+            chambreService.delete(request.getId());
+            responseObserver.onNext(grpcMapper.toDeleteResponseProto(true, "Chambre supprimée avec succès"));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error deleting chambre", e);
+            responseObserver.onNext(grpcMapper.toDeleteResponseProto(false, e.getMessage()));
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void getAvailableChambres(Empty request, StreamObserver<ChambreList> responseObserver) {
+        log.info("gRPC: Getting available chambres");
+        try {
+            responseObserver.onNext(grpcMapper.toChambreListProto(chambreService.findAvailable()));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting available chambres", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void getChambresForDates(DateRangeRequest request, StreamObserver<ChambreList> responseObserver) {
+        log.info("gRPC: Getting chambres available from {} to {}", request.getDateDebut(), request.getDateFin());
+        try {
+            List<ChambreDTO> chambres = chambreService.findAvailableForDates(
+                    grpcMapper.toLocalDate(request.getDateDebut()),
+                    grpcMapper.toLocalDate(request.getDateFin()));
+            responseObserver.onNext(grpcMapper.toChambreListProto(chambres));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting chambres for dates", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void quoteChambres(QuoteRequest request, StreamObserver<QuoteList> responseObserver) {
+        log.info("gRPC: Quoting chambres for {} stays", request.getStaysCount());
+        try {
+            List<QuoteDTO> quotes = chambreService.quote(grpcMapper.toStays(request),
+                    request.getNombrePersonnes() > 0 ? request.getNombrePersonnes() : null,
+                    grpcMapper.toQuoteFilter(request));
+            responseObserver.onNext(grpcMapper.toQuoteListProto(quotes));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error quoting chambres", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void getChambresByEquipements(EquipementsRequest request, StreamObserver<ChambreList> responseObserver) {
+        log.info("gRPC: Getting chambres with equipements {}", request.getEquipementsList());
+        try {
+            List<ChambreDTO> chambres = chambreService.findByEquipements(request.getEquipementsList(),
+                    request.getWithEquipements());
+            responseObserver.onNext(grpcMapper.toChambreListProto(chambres));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting chambres by equipements", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    private ChambreResponse toResponse(ChambreDTO dto) {
+        return ChambreResponse.newBuilder()
+                .setChambre(grpcMapper.toChambreProto(dto))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.hotel.grpc.service;
+
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.service.ClientService;
+import com.hotel.grpc.gen.ClientList;
+import com.hotel.grpc.gen.ClientResponse;
+import com.hotel.grpc.gen.ClientServiceGrpc;
+import com.hotel.grpc.gen.CreateClientRequest;
+import com.hotel.grpc.gen.DeleteResponse;
+import com.hotel.grpc.gen.Empty;
+import com.hotel.grpc.gen.GetByIdRequest;
+import com.hotel.grpc.gen.SearchRequest;
+import com.hotel.grpc.gen.UpdateClientRequest;
+import com.hotel.grpc.mapper.GrpcMapper;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.util.List;
+
+/**
+ * gRPC Service implementation for Client operations.
+ */
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class ClientGrpcService extends ClientServiceGrpc.ClientServiceImplBase {
+
+    private final ClientService clientService;
+    private final GrpcMapper grpcMapper;
+
+    @Override
+    public void getAllClients(Empty request, StreamObserver<ClientList> responseObserver) {
+        log.info("gRPC: Getting all clients");
+        try {
+            List<ClientDTO> clients = clientService.findAll();
+            responseObserver.onNext(grpcMapper.toClientListProto(clients));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting clients", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void getClientById(GetByIdRequest request, StreamObserver<ClientResponse> responseObserver) {
+        log.info("gRPC: Getting client by ID: {}", request.getId());
+        try {
+            responseObserver.onNext(toResponse(clientService.findById(request.getId())));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting client", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void createClient(CreateClientRequest request, StreamObserver<ClientResponse> responseObserver) {
+        log.info("gRPC: Creating client {}", request.getEmail());
+        try {
+            ClientDTO created = clientService.create(grpcMapper.toClientDTO(request));
+            responseObserver.onNext(toResponse(created));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error creating client", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void updateClient(UpdateClientRequest request, StreamObserver<ClientResponse> responseObserver) {
+        log.info("gRPC: Updating client: {}", request.getId());
+        try {
+            ClientDTO updated = clientService.update(request.getId(), grpcMapper.toClientDTO(request));
+            responseObserver.onNext(toResponse(updated));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error updating client", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void deleteClient(GetByIdRequest request, StreamObserver<DeleteResponse> responseObserver) {
+        log.info("gRPC: Deleting client: {}", request.getId());
+        try {
+            clientService.delete(request.getId());
+            responseObserver.onNext(grpcMapper.toDeleteResponseProto(true, "Client supprimé avec succès"));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error deleting client", e);
+            responseObserver.onNext(grpcMapper.toDeleteResponseProto(false, e.getMessage()));
+            responseObserver.onCompleted();
+        }
+    }
+
+    @Override
+    public void searchClients(SearchRequest request, StreamObserver<ClientList> responseObserver) {
+        log.info("gRPC: Searching clients: {}", request.getQuery());
+        try {
+            List<ClientDTO> clients = clientService.search(request.getQuery());
+            responseObserver.onNext(grpcMapper.toClientListProto(clients));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error searching clients", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    private ClientResponse toResponse(ClientDTO dto) {
+        return ClientResponse.newBuilder()
+                .setClient(grpcMapper.toClientProto(dto))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.grpc.service;
+
+import com.hotel.common.exception.BusinessException;
+import com.hotel.common.exception.DuplicateResourceException;
+import com.hotel.common.exception.ResourceNotFoundException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * Maps service exceptions to gRPC status codes instead of the default UNKNOWN.
+ */
+final class GrpcErrors {
+
+    private GrpcErrors() {
+    }
+
+    static StatusRuntimeException toStatus(Exception e) {
+        Status status;
+        if (e instanceof ResourceNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (e instanceof DuplicateResourceException) {
+            status = Status.ALREADY_EXISTS;
+        } else if (e instanceof BusinessException) {
+            status = Status.FAILED_PRECONDITION;
+        } else if (e instanceof DateTimeParseException || e instanceof IllegalArgumentException) {
+            status = Status.INVALID_ARGUMENT;
+        } else {
+            status = Status.INTERNAL;
+        }
+        return status.withDescription(e.getMessage()).withCause(e).asRuntimeException();
+    }
+}
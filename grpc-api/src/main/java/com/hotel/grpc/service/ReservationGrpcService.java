@@ -1,82 +1,116 @@
 package com.hotel.grpc.service;
 
+import com.hotel.common.dto.HoldDTO;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
+import com.hotel.common.idempotency.IdempotencyStore;
 import com.hotel.common.service.ReservationService;
+import com.hotel.grpc.gen.AvailabilityRequest;
+import com.hotel.grpc.gen.AvailabilityResponse;
+import com.hotel.grpc.gen.CreateReservationRequest;
+import com.hotel.grpc.gen.DeleteResponse;
+import com.hotel.grpc.gen.Empty;
+import com.hotel.grpc.gen.GetByIdRequest;
+import com.hotel.grpc.gen.GetByStatusRequest;
+import com.hotel.grpc.gen.GetReservationsByClientRequest;
+import com.hotel.grpc.gen.HoldResponse;
+import com.hotel.grpc.gen.HoldTokenRequest;
+import com.hotel.grpc.gen.ListReservationsRequest;
+import com.hotel.grpc.gen.ReservationList;
+import com.hotel.grpc.gen.ReservationResponse;
+import com.hotel.grpc.gen.ReservationServiceGrpc;
+import com.hotel.grpc.gen.UpdateReservationRequest;
+import com.hotel.grpc.gen.UpdateStatusRequest;
+import com.hotel.grpc.interceptor.IdempotencyKeyInterceptor;
 import com.hotel.grpc.mapper.GrpcMapper;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * gRPC Service implementation for Reservation operations.
- * Note: This is a simplified implementation. The actual proto-generated classes
- * would be used after running protoc compiler.
  */
 @GrpcService
 @RequiredArgsConstructor
 @Slf4j
-public class ReservationGrpcService {
+public class ReservationGrpcService extends ReservationServiceGrpc.ReservationServiceImplBase {
+
+    private static final long MIN_READY_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_READY_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
 
     private final ReservationService reservationService;
     private final GrpcMapper grpcMapper;
+    private final IdempotencyStore idempotencyStore;
 
-    public void getAllReservations(Object request, StreamObserver<Object> responseObserver) {
+    @Override
+    public void getAllReservations(ListReservationsRequest request, StreamObserver<ReservationList> responseObserver) {
         log.info("gRPC: Getting all reservations");
         try {
-            List<ReservationDTO> reservations = reservationService.findAll();
-            // Convert to proto and send response
+            List<ReservationDTO> reservations = request.getFieldMask().getPathsCount() == 0
+                    ? reservationService.findAll()
+                    : reservationService.findAll(ReservationField.parse(request.getFieldMask().getPathsList()));
             log.info("gRPC: Found {} reservations", reservations.size());
             responseObserver.onNext(grpcMapper.toReservationListProto(reservations));
             responseObserver.onCompleted();
         } catch (Exception e) {
             log.error("gRPC: Error getting reservations", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
         }
     }
 
-    public void getReservationById(Long id, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Getting reservation by ID: {}", id);
+    @Override
+    public void getReservationById(GetByIdRequest request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Getting reservation by ID: {}", request.getId());
         try {
-            ReservationDTO reservation = reservationService.findById(id);
-            responseObserver.onNext(grpcMapper.toReservationProto(reservation));
+            ReservationDTO reservation = reservationService.findById(request.getId());
+            responseObserver.onNext(toResponse(reservation));
             responseObserver.onCompleted();
         } catch (Exception e) {
             log.error("gRPC: Error getting reservation", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
         }
     }
 
-    public void createReservation(ReservationDTO dto, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Creating reservation for client {} in room {}", dto.getClientId(), dto.getChambreId());
+    @Override
+    public void createReservation(CreateReservationRequest request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Creating reservation for client {} in room {}", request.getClientId(), request.getChambreId());
         try {
-            ReservationDTO created = reservationService.create(dto);
-            responseObserver.onNext(grpcMapper.toReservationProto(created));
+            ReservationDTO dto = grpcMapper.toReservationDTO(request);
+            ReservationDTO created = idempotencyStore.execute(IdempotencyKeyInterceptor.CALLER.get(),
+                    IdempotencyKeyInterceptor.IDEMPOTENCY_KEY.get(), dto, () -> reservationService.create(dto));
+            responseObserver.onNext(toResponse(created));
             responseObserver.onCompleted();
         } catch (Exception e) {
             log.error("gRPC: Error creating reservation", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
         }
     }
 
-    public void updateReservation(Long id, ReservationDTO dto, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Updating reservation: {}", id);
+    @Override
+    public void updateReservation(UpdateReservationRequest request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Updating reservation: {}", request.getId());
         try {
-            ReservationDTO updated = reservationService.update(id, dto);
-            responseObserver.onNext(grpcMapper.toReservationProto(updated));
+            ReservationDTO updated = reservationService.update(request.getId(), grpcMapper.toReservationDTO(request));
+            responseObserver.onNext(toResponse(updated));
             responseObserver.onCompleted();
         } catch (Exception e) {
             log.error("gRPC: Error updating reservation", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
         }
     }
 
-    public void deleteReservation(Long id, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Deleting reservation: {}", id);
+    @Override
+    public void deleteReservation(GetByIdRequest request, StreamObserver<DeleteResponse> responseObserver) {
+        log.info("gRPC: Deleting reservation: {}", request.getId());
         try {
-            reservationService.delete(id);
+            reservationService.delete(request.getId());
             responseObserver.onNext(grpcMapper.toDeleteResponseProto(true, "Réservation supprimée avec succès"));
             responseObserver.onCompleted();
         } catch (Exception e) {
@@ -86,29 +120,207 @@ public class ReservationGrpcService {
         }
     }
 
-    public void getReservationsByClient(Long clientId, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Getting reservations for client: {}", clientId);
+    @Override
+    public void getReservationsByClient(GetReservationsByClientRequest request,
+                                        StreamObserver<ReservationList> responseObserver) {
+        log.info("gRPC: Getting reservations for client: {}", request.getClientId());
         try {
-            List<ReservationDTO> reservations = reservationService.findByClientId(clientId);
+            List<ReservationDTO> reservations = request.getFieldMask().getPathsCount() == 0
+                    ? reservationService.findByClientId(request.getClientId())
+                    : reservationService.findByClientId(request.getClientId(),
+                            ReservationField.parse(request.getFieldMask().getPathsList()));
             responseObserver.onNext(grpcMapper.toReservationListProto(reservations));
             responseObserver.onCompleted();
         } catch (Exception e) {
             log.error("gRPC: Error getting reservations by client", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
         }
     }
 
-    public void streamReservations(Object request, StreamObserver<Object> responseObserver) {
-        log.info("gRPC: Streaming all reservations");
+    @Override
+    public void getReservationsByStatus(GetByStatusRequest request, StreamObserver<ReservationList> responseObserver) {
+        log.info("gRPC: Getting reservations by status: {}", request.getStatut());
         try {
-            List<ReservationDTO> reservations = reservationService.findAll();
-            for (ReservationDTO reservation : reservations) {
-                responseObserver.onNext(grpcMapper.toReservationProto(reservation));
-            }
+            List<ReservationDTO> reservations = reservationService.findByStatus(
+                    grpcMapper.toStatutReservation(request.getStatut()));
+            responseObserver.onNext(grpcMapper.toReservationListProto(reservations));
             responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error getting reservations by status", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void updateReservationStatus(UpdateStatusRequest request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Updating status of reservation {} to {}", request.getId(), request.getStatut());
+        try {
+            ReservationDTO updated = reservationService.updateStatus(request.getId(),
+                    grpcMapper.toStatutReservation(request.getStatut()));
+            responseObserver.onNext(toResponse(updated));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error updating reservation status", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    /**
+     * Rows are sent as the cursor reads them, and the cursor only advances while the call is writable, so a slow
+     * client holds back the query instead of having the whole table buffered in Netty.
+     */
+    @Override
+    public void streamReservations(Empty request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Streaming all reservations");
+        ServerCallStreamObserver<ReservationResponse> serverObserver =
+                (ServerCallStreamObserver<ReservationResponse>) responseObserver;
+        try {
+            reservationService.streamAll(reservation -> {
+                awaitReady(serverObserver);
+                serverObserver.onNext(toResponse(reservation));
+            });
+            serverObserver.onCompleted();
+        } catch (CancellationException e) {
+            log.info("gRPC: Reservation stream cancelled by the client");
         } catch (Exception e) {
             log.error("gRPC: Error streaming reservations", e);
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void createHold(CreateReservationRequest request, StreamObserver<HoldResponse> responseObserver) {
+        log.info("gRPC: Holding room {} for client {}", request.getChambreId(), request.getClientId());
+        try {
+            HoldDTO hold = reservationService.createHold(grpcMapper.toReservationDTO(request));
+            responseObserver.onNext(HoldResponse.newBuilder().setHold(grpcMapper.toHoldProto(hold)).build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error creating hold", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void confirmHold(HoldTokenRequest request, StreamObserver<ReservationResponse> responseObserver) {
+        log.info("gRPC: Confirming hold: {}", request.getToken());
+        try {
+            responseObserver.onNext(toResponse(reservationService.confirmHold(request.getToken())));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error confirming hold", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    @Override
+    public void releaseHold(HoldTokenRequest request, StreamObserver<DeleteResponse> responseObserver) {
+        log.info("gRPC: Releasing hold: {}", request.getToken());
+        try {
+            reservationService.releaseHold(request.getToken());
+            responseObserver.onNext(grpcMapper.toDeleteResponseProto(true, "Option libérée avec succès"));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("gRPC: Error releasing hold", e);
+            responseObserver.onError(GrpcErrors.toStatus(e));
+        }
+    }
+
+    /**
+     * Answers availability probes one by one, in arrival order. Inbound messages are
+     * pulled only while the outbound side is ready, so a fast client cannot queue
+     * unbounded responses on the server.
+     */
+    @Override
+    public StreamObserver<AvailabilityRequest> checkAvailability(StreamObserver<AvailabilityResponse> responseObserver) {
+        ServerCallStreamObserver<AvailabilityResponse> serverObserver =
+                (ServerCallStreamObserver<AvailabilityResponse>) responseObserver;
+        serverObserver.disableAutoRequest();
+
+        FlowControl flow = new FlowControl(serverObserver);
+        serverObserver.setOnReadyHandler(flow::onReady);
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(AvailabilityRequest request) {
+                serverObserver.onNext(probe(request));
+                flow.requestNextIfReady();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("gRPC: Availability stream cancelled: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                serverObserver.onCompleted();
+            }
+        };
+    }
+
+    private AvailabilityResponse probe(AvailabilityRequest request) {
+        AvailabilityResponse.Builder response = AvailabilityResponse.newBuilder()
+                .setChambreId(request.getChambreId())
+                .setDateDebut(request.getDateDebut())
+                .setDateFin(request.getDateFin());
+        try {
+            response.setDisponible(reservationService.isRoomAvailable(request.getChambreId(),
+                    grpcMapper.toLocalDate(request.getDateDebut()),
+                    grpcMapper.toLocalDate(request.getDateFin())));
+        } catch (Exception e) {
+            response.setError(String.valueOf(e.getMessage()));
+        }
+        return response.build();
+    }
+
+    /**
+     * Waits until the call can take another message without buffering it. The onReady handler is delivered on
+     * the call's serialized executor, which this thread occupies while the cursor is open, so readiness is polled.
+     */
+    private static void awaitReady(ServerCallStreamObserver<?> observer) {
+        long pause = MIN_READY_PAUSE_NANOS;
+        while (!observer.isReady()) {
+            if (observer.isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Flux des réservations annulé");
+            }
+            LockSupport.parkNanos(pause);
+            pause = Math.min(pause * 2, MAX_READY_PAUSE_NANOS);
+        }
+    }
+
+    private ReservationResponse toResponse(ReservationDTO dto) {
+        return ReservationResponse.newBuilder()
+                .setReservation(grpcMapper.toReservationProto(dto))
+                .build();
+    }
+
+    /**
+     * Keeps exactly one inbound message outstanding while the call is writable.
+     * Both callbacks run on the call's serialized executor.
+     */
+    private static final class FlowControl {
+
+        private final ServerCallStreamObserver<?> observer;
+        private boolean waitingForReady = true;
+
+        FlowControl(ServerCallStreamObserver<?> observer) {
+            this.observer = observer;
+        }
+
+        void onReady() {
+            if (waitingForReady && observer.isReady()) {
+                waitingForReady = false;
+                observer.request(1);
+            }
+        }
+
+        void requestNextIfReady() {
+            if (observer.isReady()) {
+                observer.request(1);
+            } else {
+                waitingForReady = true;
+            }
         }
     }
 }
@@ -1,9 +1,11 @@
 package com.hotel.rest;
 
+import com.hotel.rest.config.RestRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 /**
@@ -13,6 +15,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @ComponentScan(basePackages = {"com.hotel.common", "com.hotel.rest"})
 @EntityScan(basePackages = "com.hotel.common.entity")
 @EnableJpaRepositories(basePackages = "com.hotel.common.repository")
+@ImportRuntimeHints(RestRuntimeHints.class)
 public class RestApiApplication {
 
     public static void main(String[] args) {
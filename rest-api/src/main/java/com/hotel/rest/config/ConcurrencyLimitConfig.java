@@ -0,0 +1,63 @@
+package com.hotel.rest.config;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.RateLimiter;
+import com.hotel.rest.web.ConcurrencyLimitFilter;
+import com.hotel.rest.web.RateLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Load shedding for the REST API. Actuator and API docs stay reachable under overload.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Per-client rate limiting comes first so that rejected callers never hold a concurrency slot.
+     * Its operations are those of the controller mappings, so arbitrary URIs cannot create new buckets.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimiter rateLimiter,
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, () -> mappedOperations(handlerMapping.getObject())));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter));
+        registration.addUrlPatterns("/api/*");
+        // Reject before any other work is done for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static Set<String> mappedOperations(RequestMappingHandlerMapping handlerMapping) {
+        Set<String> operations = new HashSet<>();
+        for (RequestMappingInfo info : handlerMapping.getHandlerMethods().keySet()) {
+            Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+            for (String pattern : info.getPatternValues()) {
+                for (RequestMethod method : methods.isEmpty() ? Set.of(RequestMethod.values()) : methods) {
+                    operations.add(RateLimitFilter.operationOf(method.name(), pattern));
+                }
+            }
+        }
+        return operations;
+    }
+}
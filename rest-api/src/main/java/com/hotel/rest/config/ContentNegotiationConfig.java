@@ -0,0 +1,35 @@
+package com.hotel.rest.config;
+
+import com.hotel.rest.converter.ProtobufDtoHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary encodings negotiated through the Accept header:
+ * {@code application/x-jackson-smile}, {@code application/cbor} and {@code application/x-protobuf}.
+ * They are appended after the JSON converter so that {@code Accept: *}{@code /*} keeps returning JSON.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public ContentNegotiationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // The builder bean is prototype-scoped and carries Boot's Jackson settings (dates as ISO strings)
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().smile().build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().cbor().build()));
+        converters.add(new ProtobufDtoHttpMessageConverter());
+    }
+}
@@ -1,10 +1,12 @@
 package com.hotel.rest.config;
 
+import com.hotel.common.amenity.AmenityDictionary;
 import com.hotel.common.entity.Chambre;
 import com.hotel.common.entity.Chambre.TypeChambre;
 import com.hotel.common.entity.Client;
 import com.hotel.common.entity.Reservation;
 import com.hotel.common.entity.Reservation.StatutReservation;
+import com.hotel.common.pricing.PricingEngine;
 import com.hotel.common.repository.ChambreRepository;
 import com.hotel.common.repository.ClientRepository;
 import com.hotel.common.repository.ReservationRepository;
@@ -28,12 +30,19 @@ public class DataInitializer {
 
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
+    private final PricingEngine pricingEngine;
+
+    public DataInitializer(PricingEngine pricingEngine) {
+        this.pricingEngine = pricingEngine;
+    }
+
     @Bean
     @Profile("!test")
     public CommandLineRunner initData(
             ClientRepository clientRepository,
             ChambreRepository chambreRepository,
-            ReservationRepository reservationRepository) {
+            ReservationRepository reservationRepository,
+            AmenityDictionary amenityDictionary) {
         
         return args -> {
             // Only initialize if database is empty
@@ -62,16 +71,16 @@ public class DataInitializer {
 
             // Create Chambres
             List<Chambre> chambres = Arrays.asList(
-                createChambre("101", TypeChambre.SIMPLE, "89.00", true, "Chambre simple avec vue sur le jardin", 1, Arrays.asList("WiFi", "TV", "Climatisation")),
-                createChambre("102", TypeChambre.SIMPLE, "89.00", true, "Chambre simple confortable", 1, Arrays.asList("WiFi", "TV", "Climatisation")),
-                createChambre("201", TypeChambre.DOUBLE, "129.00", true, "Chambre double avec balcon", 2, Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Balcon")),
-                createChambre("202", TypeChambre.DOUBLE, "129.00", true, "Chambre double vue mer", 2, Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Vue mer")),
-                createChambre("301", TypeChambre.SUITE, "249.00", true, "Suite luxueuse avec salon séparé", 3, Arrays.asList("WiFi", "TV 55\"", "Climatisation", "Mini-bar", "Jacuzzi", "Salon")),
-                createChambre("302", TypeChambre.SUITE, "279.00", true, "Suite présidentielle", 4, Arrays.asList("WiFi", "TV 65\"", "Climatisation", "Mini-bar", "Jacuzzi", "Terrasse", "Bureau")),
-                createChambre("401", TypeChambre.DELUXE, "189.00", true, "Chambre deluxe moderne", 2, Arrays.asList("WiFi", "TV 50\"", "Climatisation", "Mini-bar", "Coffre-fort")),
-                createChambre("501", TypeChambre.FAMILIALE, "199.00", true, "Chambre familiale spacieuse", 5, Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Lit bébé disponible")),
-                createChambre("502", TypeChambre.FAMILIALE, "219.00", true, "Grande chambre familiale avec cuisine", 6, Arrays.asList("WiFi", "TV", "Climatisation", "Cuisine", "Machine à laver")),
-                createChambre("103", TypeChambre.SIMPLE, "79.00", true, "Chambre simple économique", 1, Arrays.asList("WiFi", "TV"))
+                createChambre("101", TypeChambre.SIMPLE, "89.00", true, "Chambre simple avec vue sur le jardin", 1, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation"))),
+                createChambre("102", TypeChambre.SIMPLE, "89.00", true, "Chambre simple confortable", 1, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation"))),
+                createChambre("201", TypeChambre.DOUBLE, "129.00", true, "Chambre double avec balcon", 2, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Balcon"))),
+                createChambre("202", TypeChambre.DOUBLE, "129.00", true, "Chambre double vue mer", 2, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Vue mer"))),
+                createChambre("301", TypeChambre.SUITE, "249.00", true, "Suite luxueuse avec salon séparé", 3, amenityDictionary.encode(Arrays.asList("WiFi", "TV 55\"", "Climatisation", "Mini-bar", "Jacuzzi", "Salon"))),
+                createChambre("302", TypeChambre.SUITE, "279.00", true, "Suite présidentielle", 4, amenityDictionary.encode(Arrays.asList("WiFi", "TV 65\"", "Climatisation", "Mini-bar", "Jacuzzi", "Terrasse", "Bureau"))),
+                createChambre("401", TypeChambre.DELUXE, "189.00", true, "Chambre deluxe moderne", 2, amenityDictionary.encode(Arrays.asList("WiFi", "TV 50\"", "Climatisation", "Mini-bar", "Coffre-fort"))),
+                createChambre("501", TypeChambre.FAMILIALE, "199.00", true, "Chambre familiale spacieuse", 5, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation", "Mini-bar", "Lit bébé disponible"))),
+                createChambre("502", TypeChambre.FAMILIALE, "219.00", true, "Grande chambre familiale avec cuisine", 6, amenityDictionary.encode(Arrays.asList("WiFi", "TV", "Climatisation", "Cuisine", "Machine à laver"))),
+                createChambre("103", TypeChambre.SIMPLE, "79.00", true, "Chambre simple économique", 1, amenityDictionary.encode(Arrays.asList("WiFi", "TV")))
             );
             chambreRepository.saveAll(chambres);
             log.info("Created {} chambres", chambres.size());
@@ -104,7 +113,7 @@ public class DataInitializer {
         return client;
     }
 
-    private Chambre createChambre(String numero, TypeChambre type, String prix, boolean disponible, String description, int capaciteMax, List<String> equipements) {
+    private Chambre createChambre(String numero, TypeChambre type, String prix, boolean disponible, String description, int capaciteMax, long equipementsMask) {
         Chambre chambre = new Chambre();
         chambre.setNumero(numero);
         chambre.setType(type);
@@ -112,7 +121,7 @@ public class DataInitializer {
         chambre.setDisponible(disponible);
         chambre.setDescription(description);
         chambre.setCapaciteMax(capaciteMax);
-        chambre.setEquipements(equipements);
+        chambre.setEquipementsMask(equipementsMask);
         return chambre;
     }
 
@@ -126,6 +135,7 @@ public class DataInitializer {
         reservation.setPreferences(preferences);
         reservation.setNombrePersonnes(nombrePersonnes);
         reservation.setCommentaires(commentaires);
+        reservation.setPrixTotal(pricingEngine.total(chambre.getType(), chambre.getPrix(), dateDebut, dateFin));
         return reservation;
     }
 }
@@ -0,0 +1,46 @@
+package com.hotel.rest.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.rest.web.ReservationFieldsAdvice;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Jackson settings shared by the JSON, Smile and CBOR converters.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Reservations go through a property filter, so that {@code ?fields=} projections are not padded with nulls
+     * ({@link ReservationFieldsAdvice}). Without a selection the filter keeps every property.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseReservationCustomizer() {
+        return builder -> builder.mixIn(ReservationDTO.class, SparseReservationMixin.class)
+                .filters(ReservationFieldsAdvice.defaultFilters());
+    }
+
+    /**
+     * Omit the room amenities when they were not asked for, instead of sending {@code "equipements": null}.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer optionalEquipementsCustomizer() {
+        return builder -> builder.mixIn(ChambreDTO.class, OptionalEquipementsMixin.class);
+    }
+
+    @JsonFilter(ReservationFieldsAdvice.FILTER)
+    interface SparseReservationMixin {
+    }
+
+    abstract static class OptionalEquipementsMixin {
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<String> equipements;
+    }
+}
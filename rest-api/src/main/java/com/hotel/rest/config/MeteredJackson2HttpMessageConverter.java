@@ -0,0 +1,165 @@
+package com.hotel.rest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.common.metrics.CountingInputStream;
+import com.hotel.common.metrics.CountingOutputStream;
+import com.hotel.common.metrics.TransportMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter recording JSON payload sizes and (de)serialization time.
+ */
+public class MeteredJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final TransportMetrics transportMetrics;
+    private final int lengthThreshold;
+
+    /**
+     * @param lengthThreshold bodies up to this many bytes are sent with a Content-Length, e.g. the container's
+     *                        minimum compressed size, which it can only apply to responses of known length
+     */
+    public MeteredJackson2HttpMessageConverter(ObjectMapper objectMapper, TransportMetrics transportMetrics,
+                                               int lengthThreshold) {
+        super(objectMapper);
+        this.transportMetrics = transportMetrics;
+        this.lengthThreshold = lengthThreshold;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        CountingInputStream body = new CountingInputStream(inputMessage.getBody());
+        HttpInputMessage counted = new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+        long start = System.nanoTime();
+        Object result = super.read(type, contextClass, counted);
+        transportMetrics.recordRequest(TransportMetrics.REST, currentOperation(), body.getCount(), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Streams to the response, counting bytes on the way. Only the first {@code lengthThreshold} bytes are held
+     * back: a body ending within them gets a Content-Length, a longer one is sent chunked, so large lists are
+     * never held in memory just to compute a Content-Length.
+     */
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        LengthDecidingOutputStream target = new LengthDecidingOutputStream(outputMessage, lengthThreshold);
+        CountingOutputStream body = new CountingOutputStream(target);
+        HttpOutputMessage counted = new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        };
+        long start = System.nanoTime();
+        super.writeInternal(object, type, counted);
+        target.finish();
+        transportMetrics.recordResponse(TransportMetrics.REST, currentOperation(), body.getCount(), System.nanoTime() - start);
+    }
+
+    private static String currentOperation() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+        }
+        return "UNKNOWN";
+    }
+
+    /**
+     * Buffers up to {@code threshold} bytes before opening the response body, whose headers are sent when it is
+     * first requested. Flushes are ignored until then.
+     */
+    private static final class LengthDecidingOutputStream extends OutputStream {
+
+        private final HttpOutputMessage message;
+        private final byte[] buffer;
+        private int buffered;
+        private OutputStream out;
+
+        LengthDecidingOutputStream(HttpOutputMessage message, int threshold) {
+            this.message = message;
+            this.buffer = new byte[threshold];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out == null) {
+                if (buffered < buffer.length) {
+                    buffer[buffered++] = (byte) b;
+                    return;
+                }
+                open();
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null) {
+                if (buffered + len <= buffer.length) {
+                    System.arraycopy(b, off, buffer, buffered, len);
+                    buffered += len;
+                    return;
+                }
+                open();
+            }
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        /**
+         * Sends what is still buffered, with its length, once the whole body has been written.
+         */
+        void finish() throws IOException {
+            if (out == null) {
+                message.getHeaders().setContentLength(buffered);
+                message.getBody().write(buffer, 0, buffered);
+            }
+        }
+
+        private void open() throws IOException {
+            out = message.getBody();
+            out.write(buffer, 0, buffered);
+        }
+    }
+}
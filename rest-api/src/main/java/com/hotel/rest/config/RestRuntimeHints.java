@@ -0,0 +1,52 @@
+package com.hotel.rest.config;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.hotel.grpc.gen.ReservationProto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native-image hints specific to the REST API.
+ */
+public class RestRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String GENERATED_PACKAGE = "com.hotel.grpc.gen.";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson reads the annotations of the mix-ins in JacksonConfig
+        for (String mixin : List.of("SparseReservationMixin", "OptionalEquipementsMixin")) {
+            hints.reflection().registerType(TypeReference.of(JacksonConfig.class.getName() + "$" + mixin),
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INTROSPECT_DECLARED_METHODS);
+        }
+
+        // application/x-protobuf: the generated field accessor tables look up getters and builder methods
+        // reflectively; the list is read from the schema descriptor
+        registerMessages(hints, ReservationProto.getDescriptor().getMessageTypes(), GENERATED_PACKAGE);
+        for (EnumDescriptor type : ReservationProto.getDescriptor().getEnumTypes()) {
+            register(hints, GENERATED_PACKAGE + type.getName());
+        }
+    }
+
+    private static void registerMessages(RuntimeHints hints, List<Descriptor> messages, String prefix) {
+        for (Descriptor message : messages) {
+            String className = prefix + message.getName();
+            register(hints, className);
+            register(hints, className + "$Builder");
+            registerMessages(hints, message.getNestedTypes(), className + "$");
+            for (EnumDescriptor type : message.getEnumTypes()) {
+                register(hints, className + "$" + type.getName());
+            }
+        }
+    }
+
+    private static void register(RuntimeHints hints, String className) {
+        hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+    }
+}
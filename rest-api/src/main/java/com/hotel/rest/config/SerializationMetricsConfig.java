@@ -0,0 +1,28 @@
+package com.hotel.rest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.common.metrics.TransportMetrics;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Replaces Boot's default JSON converter with the metered one.
+ */
+@Configuration
+public class SerializationMetricsConfig {
+
+    /**
+     * JSON is streamed, so small bodies are held back up to {@code server.compression.min-response-size} to get
+     * a Content-Length: without it the container would compress every response.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, TransportMetrics transportMetrics, ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        int lengthThreshold = compression.getEnabled() ? (int) compression.getMinResponseSize().toBytes() : 0;
+        return new MeteredJackson2HttpMessageConverter(objectMapper, transportMetrics, lengthThreshold);
+    }
+}
@@ -1,9 +1,16 @@
 package com.hotel.rest.controller;
 
 import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
 import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.exception.BusinessException;
+import com.hotel.common.pricing.PricingEngine.Stay;
 import com.hotel.common.service.ChambreService;
+import com.hotel.common.version.TableVersions.Table;
+import com.hotel.rest.web.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +20,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -28,17 +36,23 @@ import java.util.List;
 public class ChambreRestController {
 
     private final ChambreService chambreService;
+    private final ConditionalRequests conditionalRequests;
 
     @Autowired
-    public ChambreRestController(ChambreService chambreService) {
+    public ChambreRestController(ChambreService chambreService, ConditionalRequests conditionalRequests) {
         this.chambreService = chambreService;
+        this.conditionalRequests = conditionalRequests;
     }
 
     @GetMapping
     @Operation(summary = "Récupérer toutes les chambres")
     @ApiResponse(responseCode = "200", description = "Liste des chambres récupérée avec succès")
-    public ResponseEntity<List<ChambreDTO>> getAllChambres() {
-        return ResponseEntity.ok(chambreService.findAll());
+    public ResponseEntity<List<ChambreDTO>> getAllChambres(
+            @Parameter(description = "Inclure les équipements de chaque chambre")
+            @RequestParam(defaultValue = "false") boolean withEquipements,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.all", () -> chambreService.findAll(withEquipements),
+                Table.CHAMBRES);
     }
 
     @GetMapping("/{id}")
@@ -47,14 +61,49 @@ public class ChambreRestController {
         @ApiResponse(responseCode = "200", description = "Chambre trouvée"),
         @ApiResponse(responseCode = "404", description = "Chambre non trouvée")
     })
-    public ResponseEntity<ChambreDTO> getChambreById(@PathVariable Long id) {
-        return ResponseEntity.ok(chambreService.findById(id));
+    public ResponseEntity<ChambreDTO> getChambreById(@PathVariable Long id, WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.byId", () -> chambreService.findById(id), Table.CHAMBRES);
     }
 
     @GetMapping("/numero/{numero}")
     @Operation(summary = "Récupérer une chambre par numéro")
-    public ResponseEntity<ChambreDTO> getChambreByNumero(@PathVariable String numero) {
-        return ResponseEntity.ok(chambreService.findByNumero(numero));
+    public ResponseEntity<ChambreDTO> getChambreByNumero(@PathVariable String numero, WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.byNumero", () -> chambreService.findByNumero(numero),
+                Table.CHAMBRES);
+    }
+
+    @GetMapping("/{id}/equipements")
+    @Operation(summary = "Récupérer les équipements d'une chambre")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Équipements de la chambre"),
+        @ApiResponse(responseCode = "404", description = "Chambre non trouvée")
+    })
+    public ResponseEntity<List<String>> getEquipements(@PathVariable Long id, WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.equipements", () -> chambreService.findEquipements(id),
+                Table.CHAMBRES);
+    }
+
+    @GetMapping("/equipements")
+    @Operation(summary = "Récupérer tous les équipements proposés")
+    public ResponseEntity<List<String>> getAllEquipements(WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.allEquipements", chambreService::findAllEquipements,
+                Table.CHAMBRES);
+    }
+
+    @GetMapping("/by-equipements")
+    @Operation(summary = "Récupérer les chambres disposant de tous les équipements demandés")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Chambres disposant de tous les équipements"),
+        @ApiResponse(responseCode = "400", description = "Aucun équipement demandé")
+    })
+    public ResponseEntity<List<ChambreDTO>> getChambresByEquipements(
+            @Parameter(description = "Équipements requis, ex. WiFi,Jacuzzi")
+            @RequestParam List<String> equipements,
+            @Parameter(description = "Inclure les équipements de chaque chambre")
+            @RequestParam(defaultValue = "false") boolean withEquipements,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.byEquipements",
+                () -> chambreService.findByEquipements(equipements, withEquipements), Table.CHAMBRES);
     }
 
     @PostMapping
@@ -93,30 +142,66 @@ public class ChambreRestController {
 
     @GetMapping("/available")
     @Operation(summary = "Récupérer les chambres disponibles")
-    public ResponseEntity<List<ChambreDTO>> getAvailableChambres() {
-        return ResponseEntity.ok(chambreService.findAvailable());
+    public ResponseEntity<List<ChambreDTO>> getAvailableChambres(WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.available", chambreService::findAvailable,
+                Table.CHAMBRES);
     }
 
     @GetMapping("/type/{type}")
     @Operation(summary = "Récupérer les chambres par type")
-    public ResponseEntity<List<ChambreDTO>> getChambresByType(@PathVariable TypeChambre type) {
-        return ResponseEntity.ok(chambreService.findByType(type));
+    public ResponseEntity<List<ChambreDTO>> getChambresByType(@PathVariable TypeChambre type, WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.byType", () -> chambreService.findByType(type),
+                Table.CHAMBRES);
+    }
+
+    @GetMapping("/capacite/{nombrePersonnes}")
+    @Operation(summary = "Récupérer les chambres pouvant accueillir un nombre de personnes")
+    public ResponseEntity<List<ChambreDTO>> getChambresByCapacite(@PathVariable int nombrePersonnes,
+                                                                  WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.byCapacite",
+                () -> chambreService.findByCapacite(nombrePersonnes), Table.CHAMBRES);
     }
 
     @GetMapping("/price-range")
     @Operation(summary = "Récupérer les chambres par fourchette de prix")
     public ResponseEntity<List<ChambreDTO>> getChambresByPriceRange(
             @RequestParam BigDecimal minPrix,
-            @RequestParam BigDecimal maxPrix) {
-        return ResponseEntity.ok(chambreService.findByPriceRange(minPrix, maxPrix));
+            @RequestParam BigDecimal maxPrix,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.priceRange",
+                () -> chambreService.findByPriceRange(minPrix, maxPrix), Table.CHAMBRES);
     }
 
     @GetMapping("/available-dates")
     @Operation(summary = "Récupérer les chambres disponibles pour des dates")
     public ResponseEntity<List<ChambreDTO>> getAvailableChambresForDates(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin) {
-        return ResponseEntity.ok(chambreService.findAvailableForDates(dateDebut, dateFin));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "chambres.availableDates",
+                () -> chambreService.findAvailableForDates(dateDebut, dateFin), Table.CHAMBRES, Table.RESERVATIONS,
+                Table.HOLDS);
+    }
+
+    @GetMapping("/quote")
+    @Operation(summary = "Chiffrer les chambres disponibles pour plusieurs séjours")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Une ligne par chambre disponible et par séjour"),
+        @ApiResponse(responseCode = "400", description = "Séjours invalides")
+    })
+    public ResponseEntity<List<QuoteDTO>> quote(
+            @Parameter(description = "Séjours, ex. 2026-07-01/2026-07-04,2026-07-01/2026-07-08")
+            @RequestParam List<String> stays,
+            @RequestParam(required = false) Integer nombrePersonnes,
+            @RequestParam(required = false) TypeChambre type,
+            @RequestParam(required = false) BigDecimal minPrix,
+            @RequestParam(required = false) BigDecimal maxPrix,
+            WebRequest request) {
+        List<Stay> parsed = stays.stream().map(ChambreRestController::parseStay).toList();
+        QuoteFilter filter = QuoteFilter.builder().type(type).minPrix(minPrix).maxPrix(maxPrix).build();
+        return conditionalRequests.respond(request, "chambres.quote",
+                () -> chambreService.quote(parsed, nombrePersonnes, filter),
+                Table.CHAMBRES, Table.RESERVATIONS, Table.HOLDS);
     }
 
     @PatchMapping("/{id}/availability")
@@ -127,4 +212,16 @@ public class ChambreRestController {
         chambreService.updateAvailability(id, disponible);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * {@code 2026-07-01/2026-07-04}: arrival and departure, as in an ISO 8601 interval.
+     */
+    private static Stay parseStay(String value) {
+        int slash = value.indexOf('/');
+        try {
+            return new Stay(LocalDate.parse(value.substring(0, slash)), LocalDate.parse(value.substring(slash + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Séjour invalide: '" + value + "', attendu AAAA-MM-JJ/AAAA-MM-JJ");
+        }
+    }
 }
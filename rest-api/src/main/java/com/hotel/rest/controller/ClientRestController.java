@@ -2,6 +2,8 @@ package com.hotel.rest.controller;
 
 import com.hotel.common.dto.ClientDTO;
 import com.hotel.common.service.ClientService;
+import com.hotel.common.version.TableVersions.Table;
+import com.hotel.rest.web.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,17 +27,19 @@ import java.util.List;
 public class ClientRestController {
 
     private final ClientService clientService;
+    private final ConditionalRequests conditionalRequests;
 
     @Autowired
-    public ClientRestController(ClientService clientService) {
+    public ClientRestController(ClientService clientService, ConditionalRequests conditionalRequests) {
         this.clientService = clientService;
+        this.conditionalRequests = conditionalRequests;
     }
 
     @GetMapping
     @Operation(summary = "Récupérer tous les clients")
     @ApiResponse(responseCode = "200", description = "Liste des clients récupérée avec succès")
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        return ResponseEntity.ok(clientService.findAll());
+    public ResponseEntity<List<ClientDTO>> getAllClients(WebRequest request) {
+        return conditionalRequests.respond(request, "clients.all", clientService::findAll, Table.CLIENTS);
     }
 
     @GetMapping("/{id}")
@@ -43,14 +48,15 @@ public class ClientRestController {
         @ApiResponse(responseCode = "200", description = "Client trouvé"),
         @ApiResponse(responseCode = "404", description = "Client non trouvé")
     })
-    public ResponseEntity<ClientDTO> getClientById(@PathVariable Long id) {
-        return ResponseEntity.ok(clientService.findById(id));
+    public ResponseEntity<ClientDTO> getClientById(@PathVariable Long id, WebRequest request) {
+        return conditionalRequests.respond(request, "clients.byId", () -> clientService.findById(id), Table.CLIENTS);
     }
 
     @GetMapping("/email/{email}")
     @Operation(summary = "Récupérer un client par email")
-    public ResponseEntity<ClientDTO> getClientByEmail(@PathVariable String email) {
-        return ResponseEntity.ok(clientService.findByEmail(email));
+    public ResponseEntity<ClientDTO> getClientByEmail(@PathVariable String email, WebRequest request) {
+        return conditionalRequests.respond(request, "clients.byEmail", () -> clientService.findByEmail(email),
+                Table.CLIENTS);
     }
 
     @PostMapping
@@ -90,13 +96,14 @@ public class ClientRestController {
 
     @GetMapping("/search")
     @Operation(summary = "Rechercher des clients par nom")
-    public ResponseEntity<List<ClientDTO>> searchClients(@RequestParam String nom) {
-        return ResponseEntity.ok(clientService.search(nom));
+    public ResponseEntity<List<ClientDTO>> searchClients(@RequestParam String nom, WebRequest request) {
+        return conditionalRequests.respond(request, "clients.search", () -> clientService.search(nom), Table.CLIENTS);
     }
 
     @GetMapping("/exists")
     @Operation(summary = "Vérifier si un email existe")
-    public ResponseEntity<Boolean> checkEmailExists(@RequestParam String email) {
-        return ResponseEntity.ok(clientService.existsByEmail(email));
+    public ResponseEntity<Boolean> checkEmailExists(@RequestParam String email, WebRequest request) {
+        return conditionalRequests.respond(request, "clients.exists", () -> clientService.existsByEmail(email),
+                Table.CLIENTS);
     }
 }
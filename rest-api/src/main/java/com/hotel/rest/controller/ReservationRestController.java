@@ -1,22 +1,32 @@
 package com.hotel.rest.controller;
 
+import com.hotel.common.dto.HoldDTO;
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
 import com.hotel.common.entity.Reservation.StatutReservation;
+import com.hotel.common.idempotency.IdempotencyStore;
+import com.hotel.common.limit.RateLimiter;
 import com.hotel.common.service.ReservationService;
+import com.hotel.common.version.TableVersions.Table;
+import com.hotel.rest.web.ConditionalRequests;
+import com.hotel.rest.web.ReservationFieldsAdvice;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST Controller for Reservation operations.
@@ -27,29 +37,55 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ReservationRestController {
 
+    /**
+     * Reservation responses embed the client and the room.
+     */
+    private static final Table[] RESERVATION_TABLES = {Table.RESERVATIONS, Table.CLIENTS, Table.CHAMBRES};
+
     private final ReservationService reservationService;
+    private final ConditionalRequests conditionalRequests;
+    private final IdempotencyStore idempotencyStore;
+    private final RateLimiter rateLimiter;
 
     @Autowired
-    public ReservationRestController(ReservationService reservationService) {
+    public ReservationRestController(ReservationService reservationService, ConditionalRequests conditionalRequests,
+                                     IdempotencyStore idempotencyStore, RateLimiter rateLimiter) {
         this.reservationService = reservationService;
+        this.conditionalRequests = conditionalRequests;
+        this.idempotencyStore = idempotencyStore;
+        this.rateLimiter = rateLimiter;
     }
 
     @GetMapping
     @Operation(summary = "Récupérer toutes les réservations")
     @ApiResponse(responseCode = "200", description = "Liste des réservations récupérée avec succès")
-    public ResponseEntity<List<ReservationDTO>> getAllReservations() {
-        return ResponseEntity.ok(reservationService.findAll());
+    public ResponseEntity<List<ReservationDTO>> getAllReservations(
+            @Parameter(description = "Champs à renvoyer, ex. id,dateDebut,dateFin,statut")
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (fields == null || fields.isEmpty()) {
+            return conditionalRequests.respond(request, "reservations.all", reservationService::findAll,
+                    RESERVATION_TABLES);
+        }
+        Set<ReservationField> selection = ReservationField.parse(fields);
+        ReservationFieldsAdvice.select(request, selection);
+        return conditionalRequests.respond(request, "reservations.all", () -> reservationService.findAll(selection),
+                RESERVATION_TABLES);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Récupérer une réservation par ID")
+    @Operation(summary = "Récupérer une réservation par ID",
+            description = "Les réservations archivées sont aussi renvoyées, en lecture seule ; "
+                    + "elles n'apparaissent plus dans les listes.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Réservation trouvée"),
         @ApiResponse(responseCode = "404", description = "Réservation non trouvée")
     })
     public ResponseEntity<ReservationDTO> getReservationById(
-            @Parameter(description = "ID de la réservation") @PathVariable Long id) {
-        return ResponseEntity.ok(reservationService.findById(id));
+            @Parameter(description = "ID de la réservation") @PathVariable Long id,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "reservations.byId", () -> reservationService.findById(id),
+                RESERVATION_TABLES);
     }
 
     @PostMapping
@@ -59,8 +95,15 @@ public class ReservationRestController {
         @ApiResponse(responseCode = "400", description = "Données invalides")
     })
     public ResponseEntity<ReservationDTO> createReservation(
-            @Valid @RequestBody ReservationDTO reservationDTO) {
-        ReservationDTO created = reservationService.create(reservationDTO);
+            @Parameter(description = "Clé rendant les tentatives répétées sans effet, "
+                    + "propre à chaque appelant (clé d'API ou adresse)")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody ReservationDTO reservationDTO,
+            HttpServletRequest request) {
+        // Keys are scoped to the caller the rate limiter sees: its API key, or its address
+        String caller = rateLimiter.clientOf(request.getHeader(rateLimiter.getApiKeyHeader()), request.getRemoteAddr());
+        ReservationDTO created = idempotencyStore.execute(caller, idempotencyKey, reservationDTO,
+                () -> reservationService.create(reservationDTO));
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -89,28 +132,45 @@ public class ReservationRestController {
 
     @GetMapping("/client/{clientId}")
     @Operation(summary = "Récupérer les réservations d'un client")
-    public ResponseEntity<List<ReservationDTO>> getReservationsByClient(@PathVariable Long clientId) {
-        return ResponseEntity.ok(reservationService.findByClientId(clientId));
+    public ResponseEntity<List<ReservationDTO>> getReservationsByClient(
+            @PathVariable Long clientId,
+            @Parameter(description = "Champs à renvoyer, ex. id,dateDebut,dateFin,statut")
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (fields == null || fields.isEmpty()) {
+            return conditionalRequests.respond(request, "reservations.byClient",
+                    () -> reservationService.findByClientId(clientId), RESERVATION_TABLES);
+        }
+        Set<ReservationField> selection = ReservationField.parse(fields);
+        ReservationFieldsAdvice.select(request, selection);
+        return conditionalRequests.respond(request, "reservations.byClient",
+                () -> reservationService.findByClientId(clientId, selection), RESERVATION_TABLES);
     }
 
     @GetMapping("/chambre/{chambreId}")
     @Operation(summary = "Récupérer les réservations d'une chambre")
-    public ResponseEntity<List<ReservationDTO>> getReservationsByChambre(@PathVariable Long chambreId) {
-        return ResponseEntity.ok(reservationService.findByChambreId(chambreId));
+    public ResponseEntity<List<ReservationDTO>> getReservationsByChambre(@PathVariable Long chambreId,
+                                                                         WebRequest request) {
+        return conditionalRequests.respond(request, "reservations.byChambre",
+                () -> reservationService.findByChambreId(chambreId), RESERVATION_TABLES);
     }
 
     @GetMapping("/status/{statut}")
     @Operation(summary = "Récupérer les réservations par statut")
-    public ResponseEntity<List<ReservationDTO>> getReservationsByStatus(@PathVariable StatutReservation statut) {
-        return ResponseEntity.ok(reservationService.findByStatus(statut));
+    public ResponseEntity<List<ReservationDTO>> getReservationsByStatus(@PathVariable StatutReservation statut,
+                                                                        WebRequest request) {
+        return conditionalRequests.respond(request, "reservations.byStatus",
+                () -> reservationService.findByStatus(statut), RESERVATION_TABLES);
     }
 
     @GetMapping("/dates")
     @Operation(summary = "Récupérer les réservations dans une période")
     public ResponseEntity<List<ReservationDTO>> getReservationsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(reservationService.findByDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "reservations.dates",
+                () -> reservationService.findByDateRange(startDate, endDate), RESERVATION_TABLES);
     }
 
     @PatchMapping("/{id}/status")
@@ -126,13 +186,53 @@ public class ReservationRestController {
     public ResponseEntity<Boolean> checkAvailability(
             @RequestParam Long chambreId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin) {
-        return ResponseEntity.ok(reservationService.isRoomAvailable(chambreId, dateDebut, dateFin));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+            WebRequest request) {
+        return conditionalRequests.respond(request, "reservations.availability",
+                () -> reservationService.isRoomAvailable(chambreId, dateDebut, dateFin),
+                Table.RESERVATIONS, Table.HOLDS);
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Poser une option temporaire sur une chambre",
+            description = "L'option est diffusée à toutes les instances des API REST, SOAP et gRPC, qui "
+                    + "refusent alors de réserver la chambre. Elle peut être confirmée ou libérée sur "
+                    + "n'importe quelle instance.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Option posée"),
+        @ApiResponse(responseCode = "400", description = "Chambre non disponible ou données invalides")
+    })
+    public ResponseEntity<HoldDTO> createHold(@Valid @RequestBody ReservationDTO reservationDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.createHold(reservationDTO));
+    }
+
+    @PostMapping("/holds/{token}/confirm")
+    @Operation(summary = "Confirmer une option en réservation",
+            description = "Les options posées sur les autres instances sont connues dès leur diffusion.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Réservation confirmée"),
+        @ApiResponse(responseCode = "404", description = "Option inconnue ou expirée")
+    })
+    public ResponseEntity<ReservationDTO> confirmHold(@PathVariable String token) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.confirmHold(token));
+    }
+
+    @DeleteMapping("/holds/{token}")
+    @Operation(summary = "Libérer une option")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Option libérée"),
+        @ApiResponse(responseCode = "404", description = "Option inconnue ou expirée")
+    })
+    public ResponseEntity<Void> releaseHold(@PathVariable String token) {
+        reservationService.releaseHold(token);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/current")
     @Operation(summary = "Récupérer les réservations en cours et à venir")
-    public ResponseEntity<List<ReservationDTO>> getCurrentAndUpcoming() {
-        return ResponseEntity.ok(reservationService.findCurrentAndUpcoming());
+    public ResponseEntity<List<ReservationDTO>> getCurrentAndUpcoming(WebRequest request) {
+        // The result also moves with the calendar, so today's date is part of the validator
+        return conditionalRequests.respond(request, "reservations.current", LocalDate.now(),
+                reservationService::findCurrentAndUpcoming, RESERVATION_TABLES);
     }
 }
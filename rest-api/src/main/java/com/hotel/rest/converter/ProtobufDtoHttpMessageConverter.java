@@ -0,0 +1,102 @@
+package com.hotel.rest.converter;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.grpc.gen.Chambre;
+import com.hotel.grpc.gen.Client;
+import com.hotel.grpc.gen.Reservation;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes DTOs as {@code application/x-protobuf}, reusing the gRPC schema.
+ * Single objects are exchanged as their message ({@code Reservation} bodies carry the client and room ids in
+ * their nested messages), responses lists as the matching {@code *List} message.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final Set<Class<?>> DTO_TYPES = Set.of(ReservationDTO.class, ChambreDTO.class, ClientDTO.class);
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DTO_TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type instanceof Class<?> clazz && canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (List.class.isAssignableFrom(clazz)) {
+            Class<?> element = type != null ? ResolvableType.forType(type).asCollection().resolveGeneric(0) : null;
+            return element != null && DTO_TYPES.contains(element);
+        }
+        return supports(clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Message message = toMessage(object, type);
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    private static Message toMessage(Object object, @Nullable Type type) {
+        if (object instanceof ReservationDTO dto) return ProtobufDtoMapper.toProto(dto);
+        if (object instanceof ChambreDTO dto) return ProtobufDtoMapper.toProto(dto);
+        if (object instanceof ClientDTO dto) return ProtobufDtoMapper.toProto(dto);
+
+        List<?> list = (List<?>) object;
+        Class<?> element = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        if (element == ChambreDTO.class) return ProtobufDtoMapper.toChambreList(list);
+        if (element == ClientDTO.class) return ProtobufDtoMapper.toClientList(list);
+        return ProtobufDtoMapper.toReservationList(list);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        return readInternal((Class<?>) type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            if (clazz == ReservationDTO.class) {
+                return ProtobufDtoMapper.fromProto(Reservation.parseFrom(inputMessage.getBody()));
+            }
+            if (clazz == ChambreDTO.class) {
+                return ProtobufDtoMapper.fromProto(Chambre.parseFrom(inputMessage.getBody()));
+            }
+            return ProtobufDtoMapper.fromProto(Client.parseFrom(inputMessage.getBody()));
+        } catch (InvalidProtocolBufferException | DateTimeParseException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Corps protobuf invalide: " + e.getMessage(), e, inputMessage);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotel.rest.converter;
+
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.grpc.gen.Chambre;
+import com.hotel.grpc.gen.ChambreList;
+import com.hotel.grpc.gen.Client;
+import com.hotel.grpc.gen.ClientList;
+import com.hotel.grpc.gen.Reservation;
+import com.hotel.grpc.gen.ReservationList;
+import com.hotel.grpc.gen.StatutReservation;
+import com.hotel.grpc.gen.TypeChambre;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Converts common DTOs to and from the messages of {@code reservation.proto}.
+ * Proto3 setters reject nulls, so absent DTO fields are simply left unset. Proto3 scalars carry no presence,
+ * so on the way back zero numbers and empty strings read as absent; booleans and enums are taken as sent.
+ */
+final class ProtobufDtoMapper {
+
+    private ProtobufDtoMapper() {
+    }
+
+    static Client toProto(ClientDTO dto) {
+        Client.Builder builder = Client.newBuilder();
+        if (dto.getId() != null) builder.setId(dto.getId());
+        if (dto.getNom() != null) builder.setNom(dto.getNom());
+        if (dto.getPrenom() != null) builder.setPrenom(dto.getPrenom());
+        if (dto.getEmail() != null) builder.setEmail(dto.getEmail());
+        if (dto.getTelephone() != null) builder.setTelephone(dto.getTelephone());
+        if (dto.getCreatedAt() != null) builder.setCreatedAt(dto.getCreatedAt().toString());
+        if (dto.getUpdatedAt() != null) builder.setUpdatedAt(dto.getUpdatedAt().toString());
+        return builder.build();
+    }
+
+    static Chambre toProto(ChambreDTO dto) {
+        Chambre.Builder builder = Chambre.newBuilder();
+        if (dto.getId() != null) builder.setId(dto.getId());
+        if (dto.getNumero() != null) builder.setNumero(dto.getNumero());
+        if (dto.getType() != null) builder.setType(TypeChambre.valueOf(dto.getType().name()));
+        if (dto.getPrix() != null) builder.setPrix(dto.getPrix().doubleValue());
+        if (dto.getDisponible() != null) builder.setDisponible(dto.getDisponible());
+        if (dto.getDescription() != null) builder.setDescription(dto.getDescription());
+        if (dto.getCapaciteMax() != null) builder.setCapaciteMax(dto.getCapaciteMax());
+        if (dto.getEquipements() != null) builder.addAllEquipements(dto.getEquipements());
+        if (dto.getCreatedAt() != null) builder.setCreatedAt(dto.getCreatedAt().toString());
+        if (dto.getUpdatedAt() != null) builder.setUpdatedAt(dto.getUpdatedAt().toString());
+        return builder.build();
+    }
+
+    static Reservation toProto(ReservationDTO dto) {
+        Reservation.Builder builder = Reservation.newBuilder();
+        if (dto.getId() != null) builder.setId(dto.getId());
+        if (dto.getClient() != null) builder.setClient(toProto(dto.getClient()));
+        if (dto.getChambre() != null) builder.setChambre(toProto(dto.getChambre()));
+        if (dto.getDateDebut() != null) builder.setDateDebut(dto.getDateDebut().toString());
+        if (dto.getDateFin() != null) builder.setDateFin(dto.getDateFin().toString());
+        if (dto.getStatut() != null) builder.setStatut(StatutReservation.valueOf(dto.getStatut().name()));
+        if (dto.getPreferences() != null) builder.setPreferences(dto.getPreferences());
+        if (dto.getNombrePersonnes() != null) builder.setNombrePersonnes(dto.getNombrePersonnes());
+        if (dto.getPrixTotal() != null) builder.setPrixTotal(dto.getPrixTotal().doubleValue());
+        if (dto.getCommentaires() != null) builder.setCommentaires(dto.getCommentaires());
+        if (dto.getCreatedAt() != null) builder.setCreatedAt(dto.getCreatedAt().toString());
+        if (dto.getUpdatedAt() != null) builder.setUpdatedAt(dto.getUpdatedAt().toString());
+        return builder.build();
+    }
+
+    static ClientDTO fromProto(Client message) {
+        return ClientDTO.builder()
+                .id(message.getId() != 0 ? message.getId() : null)
+                .nom(emptyToNull(message.getNom()))
+                .prenom(emptyToNull(message.getPrenom()))
+                .email(emptyToNull(message.getEmail()))
+                .telephone(emptyToNull(message.getTelephone()))
+                .build();
+    }
+
+    static ChambreDTO fromProto(Chambre message) {
+        return ChambreDTO.builder()
+                .id(message.getId() != 0 ? message.getId() : null)
+                .numero(emptyToNull(message.getNumero()))
+                .type(com.hotel.common.entity.Chambre.TypeChambre.valueOf(message.getType().name()))
+                .prix(message.getPrix() != 0 ? BigDecimal.valueOf(message.getPrix()) : null)
+                .disponible(message.getDisponible())
+                .description(emptyToNull(message.getDescription()))
+                .capaciteMax(message.getCapaciteMax() != 0 ? message.getCapaciteMax() : null)
+                // As over gRPC, no amenities keeps the room's current ones on update
+                .equipements(message.getEquipementsCount() > 0 ? List.copyOf(message.getEquipementsList()) : null)
+                .build();
+    }
+
+    static ReservationDTO fromProto(Reservation message) {
+        return ReservationDTO.builder()
+                .id(message.getId() != 0 ? message.getId() : null)
+                .clientId(message.hasClient() && message.getClient().getId() != 0 ? message.getClient().getId() : null)
+                .chambreId(message.hasChambre() && message.getChambre().getId() != 0
+                        ? message.getChambre().getId() : null)
+                .dateDebut(message.getDateDebut().isEmpty() ? null : LocalDate.parse(message.getDateDebut()))
+                .dateFin(message.getDateFin().isEmpty() ? null : LocalDate.parse(message.getDateFin()))
+                .statut(com.hotel.common.entity.Reservation.StatutReservation.valueOf(message.getStatut().name()))
+                .preferences(emptyToNull(message.getPreferences()))
+                .nombrePersonnes(message.getNombrePersonnes() != 0 ? message.getNombrePersonnes() : null)
+                .commentaires(emptyToNull(message.getCommentaires()))
+                .build();
+    }
+
+    static ClientList toClientList(List<?> dtos) {
+        ClientList.Builder builder = ClientList.newBuilder();
+        dtos.forEach(dto -> builder.addClients(toProto((ClientDTO) dto)));
+        return builder.build();
+    }
+
+    static ChambreList toChambreList(List<?> dtos) {
+        ChambreList.Builder builder = ChambreList.newBuilder();
+        dtos.forEach(dto -> builder.addChambres(toProto((ChambreDTO) dto)));
+        return builder.build();
+    }
+
+    static ReservationList toReservationList(List<?> dtos) {
+        ReservationList.Builder builder = ReservationList.newBuilder();
+        dtos.forEach(dto -> builder.addReservations(toProto((ReservationDTO) dto)));
+        return builder.build();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.hotel.rest.web;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds API requests with 503 once the adaptive concurrency limit is reached.
+ * Mutating methods are treated as writes and get priority over reads.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Permit permit = limiter.tryAcquire(priorityOf(request));
+        if (permit == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service surchargé, réessayez plus tard");
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = response.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            if (completed) {
+                permit.release();
+            } else {
+                permit.releaseIgnored();
+            }
+        }
+    }
+
+    private static Priority priorityOf(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+                ? Priority.READ
+                : Priority.WRITE;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.rest.web;
+
+import com.hotel.common.cache.CacheInvalidationBus;
+import com.hotel.common.datasource.ReadWriteRoutingDataSource;
+import com.hotel.common.datasource.ReplicaProperties;
+import com.hotel.common.version.TableVersions;
+import com.hotel.common.version.TableVersions.Table;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Answers {@code If-None-Match} from the table version counters, so a 304 costs neither a query nor a
+ * serialization. No {@code Last-Modified} is sent: at one-second granularity, a write in the same second as a
+ * previous response would be answered 304 with the stale body.
+ * The ETag also covers the Accept header since JSON, Smile, CBOR and Protobuf share URLs.
+ * The counters only follow writes made by other modules and instances while the invalidation bus is listening;
+ * until then every GET is answered in full, without validators.
+ * Versions are bumped once the primary has committed, while reads may go to a replica still behind it: for a
+ * replication-lag window after a bump, bodies are read from the primary so they are never older than their ETag.
+ * Outcomes are counted in {@code hotel.http.conditional} (tags: endpoint, result).
+ */
+@Component
+public class ConditionalRequests {
+
+    private final TableVersions tableVersions;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final boolean replicated;
+    /**
+     * A replica further behind than the lag limit leaves the rotation within one check interval.
+     */
+    private final Duration replicationWindow;
+
+    public ConditionalRequests(TableVersions tableVersions, CacheInvalidationBus invalidationBus,
+                               ReplicaProperties replicaProperties, MeterRegistry meterRegistry) {
+        this.tableVersions = tableVersions;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.replicated = !replicaProperties.getReplicas().isEmpty();
+        this.replicationWindow = replicaProperties.getMaxReplicationLag()
+                .plus(replicaProperties.getLagCheckInterval());
+    }
+
+    /**
+     * Return 304 when the client's validators still match the given tables,
+     * otherwise load the body. The ETag is set on both outcomes.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String endpoint, Supplier<T> body, Table... tables) {
+        return respond(request, endpoint, null, body, tables);
+    }
+
+    /**
+     * Same as above for results that also change without any write (e.g. depend on today's date).
+     * The variant is folded into the ETag.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String endpoint, Object variant,
+                                         Supplier<T> body, Table... tables) {
+        if (!invalidationBus.isListening()) {
+            counter(endpoint, "unversioned").increment();
+            return ResponseEntity.ok(body.get());
+        }
+        // Validators are read before the query: a concurrent write can only make them older than the body
+        String etag = tableVersions.etag(tables) + '-' + Integer.toHexString(
+                Objects.hash(request.getHeader(HttpHeaders.ACCEPT), variant));
+
+        if (request.checkNotModified(etag)) {
+            counter(endpoint, "not_modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        counter(endpoint, "modified").increment();
+        if (replicated && tableVersions.bumpedWithin(replicationWindow, tables)) {
+            return ResponseEntity.ok(ReadWriteRoutingDataSource.onPrimary(body));
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    private Counter counter(String endpoint, String result) {
+        return Counter.builder("hotel.http.conditional")
+                .description("Conditional GET outcomes; not_modified / total gives the 304 ratio")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
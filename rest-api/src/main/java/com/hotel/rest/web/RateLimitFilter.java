@@ -0,0 +1,70 @@
+package com.hotel.rest.web;
+
+import com.hotel.common.limit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Rejects API requests with 429 when the caller exceeds its rate for the operation.
+ * The operation is the HTTP method and resource root, e.g. {@code GET /api/reservations}, when a controller
+ * maps it; any other request falls in {@link RateLimiter#OTHER_OPERATION}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final Supplier<Set<String>> mappedOperations;
+    private volatile Set<String> operations;
+
+    /**
+     * @param mappedOperations the mapped operations, as returned by {@link #operationOf(String, String)};
+     *                         resolved on the first request, once the controllers are mapped
+     */
+    public RateLimitFilter(RateLimiter rateLimiter, Supplier<Set<String>> mappedOperations) {
+        this.rateLimiter = rateLimiter;
+        this.mappedOperations = mappedOperations;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(rateLimiter.getApiKeyHeader());
+        String client = rateLimiter.clientOf(apiKey, request.getRemoteAddr());
+        long wait = rateLimiter.tryAcquire(client, operationOf(request));
+        if (wait > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(wait)));
+            response.sendError(429, "Trop de requêtes, réessayez plus tard");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String operationOf(HttpServletRequest request) {
+        Set<String> known = operations;
+        if (known == null) {
+            known = Set.copyOf(mappedOperations.get());
+            operations = known;
+        }
+        String operation = operationOf(request.getMethod(), request.getRequestURI());
+        return known.contains(operation) ? operation : RateLimiter.OTHER_OPERATION;
+    }
+
+    public static String operationOf(String method, String path) {
+        // "/api/reservations/12/status" -> "/api/reservations"
+        int second = path.indexOf('/', 1);
+        int third = second < 0 ? -1 : path.indexOf('/', second + 1);
+        return method + ' ' + (third < 0 ? path : path.substring(0, third));
+    }
+}
@@ -0,0 +1,67 @@
+package com.hotel.rest.web;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hotel.common.dto.ReservationField;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts JSON, Smile and CBOR reservation bodies to the {@code ?fields=} selection of the request.
+ * Responses without a selection keep every property, nulls included. Protobuf needs nothing: unset fields
+ * are not encoded.
+ */
+@ControllerAdvice
+public class ReservationFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    /**
+     * Jackson filter id of {@code ReservationDTO}; see {@code JacksonConfig}.
+     */
+    public static final String FILTER = "reservationFields";
+
+    private static final String SELECTION_ATTRIBUTE = ReservationFieldsAdvice.class.getName() + ".selection";
+
+    /**
+     * Filters that keep every property, for responses without a selection.
+     */
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /**
+     * Limits the reservations of this request's response to {@code selection}.
+     */
+    public static void select(WebRequest request, Set<ReservationField> selection) {
+        request.setAttribute(SELECTION_ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Object selection = servletRequest.getServletRequest().getAttribute(SELECTION_ATTRIBUTE);
+        if (selection == null) {
+            return;
+        }
+        Set<String> attributes = ((Set<ReservationField>) selection).stream()
+                .map(ReservationField::getAttribute)
+                .collect(Collectors.toSet());
+        bodyContainer.setFilters(defaultFilters()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(attributes)));
+    }
+}
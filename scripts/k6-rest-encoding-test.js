@@ -0,0 +1,83 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Compares JSON, gzip-compressed JSON, Smile, CBOR and Protobuf on the REST API.
+// Run: k6 run scripts/k6-rest-encoding-test.js
+// One scenario per (encoding, payload size); the summary reports, for each scenario,
+// throughput (http_reqs), latency (http_req_duration) and bandwidth (data_received).
+
+const ENCODINGS = {
+    json: { Accept: 'application/json', 'Accept-Encoding': 'identity' },
+    json_gzip: { Accept: 'application/json', 'Accept-Encoding': 'gzip' },
+    smile: { Accept: 'application/x-jackson-smile', 'Accept-Encoding': 'identity' },
+    cbor: { Accept: 'application/cbor', 'Accept-Encoding': 'identity' },
+    protobuf: { Accept: 'application/x-protobuf', 'Accept-Encoding': 'identity' },
+    protobuf_gzip: { Accept: 'application/x-protobuf', 'Accept-Encoding': 'gzip' },
+};
+
+// Endpoints chosen for increasing payload sizes with the sample data set
+const PAYLOADS = {
+    small: '/api/reservations/1',
+    medium: '/api/chambres',
+    large: '/api/reservations',
+};
+
+const DURATION_SECONDS = parseInt(__ENV.DURATION_SECONDS || '60');
+const VUS = parseInt(__ENV.VUS || '50');
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+function buildOptions() {
+    const scenarios = {};
+    const thresholds = {};
+    let start = 0;
+    for (const encoding of Object.keys(ENCODINGS)) {
+        for (const payload of Object.keys(PAYLOADS)) {
+            const name = `${encoding}_${payload}`;
+            scenarios[name] = {
+                executor: 'constant-vus',
+                vus: VUS,
+                duration: `${DURATION_SECONDS}s`,
+                startTime: `${start}s`,
+                exec: 'fetch',
+                env: { ENCODING: encoding, PAYLOAD: payload },
+            };
+            // Empty thresholds make k6 report the per-scenario sub-metrics
+            thresholds[`http_reqs{scenario:${name}}`] = [];
+            thresholds[`http_req_duration{scenario:${name}}`] = [];
+            thresholds[`data_received{scenario:${name}}`] = [];
+            start += DURATION_SECONDS + 5;
+        }
+    }
+    return { scenarios, thresholds };
+}
+
+export const options = buildOptions();
+
+export function fetch() {
+    const response = http.get(`${BASE_URL}${PAYLOADS[__ENV.PAYLOAD]}`, {
+        headers: ENCODINGS[__ENV.ENCODING],
+        responseType: 'none',
+    });
+
+    check(response, {
+        'status is 200': (r) => r.status === 200,
+    });
+}
+
+export function handleSummary(data) {
+    let output = '\n=== k6 REST Encoding Comparison ===\n\n';
+    output += 'scenario              req/s     p95 (ms)   bytes/req\n';
+    for (const name of Object.keys(options.scenarios)) {
+        const reqs = data.metrics[`http_reqs{scenario:${name}}`]?.values || {};
+        const duration = data.metrics[`http_req_duration{scenario:${name}}`]?.values || {};
+        const received = data.metrics[`data_received{scenario:${name}}`]?.values || {};
+        const perRequest = reqs.count ? (received.count || 0) / reqs.count : 0;
+        output += `${name.padEnd(20)} ${((reqs.count || 0) / DURATION_SECONDS).toFixed(1).padStart(7)} ` +
+            `${(duration['p(95)'] || 0).toFixed(2).padStart(11)} ${perRequest.toFixed(0).padStart(11)}\n`;
+    }
+
+    return {
+        'results/k6-rest-encoding-summary.json': JSON.stringify(data, null, 2),
+        stdout: output,
+    };
+}
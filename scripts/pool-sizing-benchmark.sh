@@ -0,0 +1,183 @@
+#!/usr/bin/env bash
+# Throughput and connection wait of an API module for each connection pool size, to pick the smallest pool
+# that reaches the best throughput. Each size starts the module with
+# --hotel.datasource.pool.maximum-pool-size=N (and as many idle connections), warms it up, then drives a
+# database-bound call with VUS concurrent clients:
+#   rest-api  GET /api/reservations
+#   soap-api  getAllReservationsRequest
+#   grpc-api  ReservationService/GetAllReservations
+#
+# Run from the repository root, with PostgreSQL up and some reservations loaded:
+#   mvn -B package -DskipTests
+#   scripts/pool-sizing-benchmark.sh                    # rest-api soap-api grpc-api
+#   SIZES="4 8 16" VUS=400 scripts/pool-sizing-benchmark.sh grpc-api
+# Environment: SIZES (default "4 8 12 16 24 32 48"), VUS (default 200), LOAD_SECONDS (default 60),
+# WARMUP_SECONDS (default 20), TIMEOUT_SECONDS (default 120). Requires k6, ghz, grpcurl and jq.
+#
+# The wait columns come from the module's actuator over the measured phase only: hikaricp.connections.acquire
+# (time to get a connection) and hotel.datasource.pending (threads queued for one, sampled every 250 ms).
+# Past the best size, throughput stays flat or drops while the database spends its time switching between
+# connections; below it, the pending queue grows.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+SIZES=${SIZES:-"4 8 12 16 24 32 48"}
+VUS=${VUS:-200}
+LOAD_SECONDS=${LOAD_SECONDS:-60}
+WARMUP_SECONDS=${WARMUP_SECONDS:-20}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+WORK="$ROOT/target/pool-sizing-benchmark"
+MODULES=("$@")
+if [ ${#MODULES[@]} -eq 0 ]; then
+    MODULES=(rest-api soap-api grpc-api)
+fi
+
+SOAP_ENVELOPE='<soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" xmlns:h="http://hotel.com/soap/reservation"><soapenv:Body><h:getAllReservationsRequest/></soapenv:Body></soapenv:Envelope>'
+PROTO_DIR="$ROOT/grpc-api/src/main/proto"
+GRPC_CALL=hotel.ReservationService/GetAllReservations
+
+jar_of() {
+    ls "$ROOT/$1"/target/"$1"-*.jar 2>/dev/null | grep -v -- '-plain\.jar$' | head -1
+}
+
+http_port() {
+    case "$1" in
+        rest-api) echo 8080 ;;
+        soap-api) echo 8081 ;;
+        grpc-api) echo 8082 ;;
+    esac
+}
+
+probe() {
+    case "$1" in
+        rest-api) curl -fsS -o /dev/null http://localhost:8080/api/reservations ;;
+        soap-api) curl -fsS -o /dev/null -H 'Content-Type: text/xml; charset=utf-8' --data "$SOAP_ENVELOPE" \
+                      http://localhost:8081/soap ;;
+        grpc-api) grpcurl -plaintext -import-path "$PROTO_DIR" -proto reservation.proto \
+                      -d '{}' localhost:9090 "$GRPC_CALL" >/dev/null ;;
+    esac
+}
+
+# Requests per second over the given number of seconds
+drive() {
+    local module=$1 seconds=$2 summary="$WORK/$1-load.json"
+    case "$module" in
+        grpc-api)
+            ghz --insecure --import-paths "$PROTO_DIR" --proto reservation.proto \
+                --call "$GRPC_CALL" -d '{}' -c "$VUS" -z "${seconds}s" \
+                --format json localhost:9090 >"$summary"
+            jq -r '.rps | floor' "$summary" ;;
+        *)
+            local url=http://localhost:8080/api/reservations body=''
+            if [ "$module" = soap-api ]; then
+                url=http://localhost:8081/soap
+                body=$SOAP_ENVELOPE
+            fi
+            URL=$url BODY=$body k6 run --quiet --vus "$VUS" --duration "${seconds}s" --summary-export "$summary" - \
+                >/dev/null <<'EOF'
+import http from 'k6/http';
+export default function () {
+    if (__ENV.BODY) {
+        http.post(__ENV.URL, __ENV.BODY, { headers: { 'Content-Type': 'text/xml; charset=utf-8' } });
+    } else {
+        http.get(__ENV.URL);
+    }
+}
+EOF
+            jq -r '.metrics.http_reqs.rate | floor' "$summary" ;;
+    esac
+}
+
+# "<count> <total>" of a timer or distribution summary of the primary pool
+totals() {
+    curl -fsS "http://localhost:$(http_port "$1")/actuator/metrics/$2?tag=pool:primary" \
+        | jq -r '[.measurements[] | select(.statistic == "COUNT" or .statistic == "TOTAL_TIME" or .statistic == "TOTAL")
+                  | .value] | "\(.[0]) \(.[1])"'
+}
+
+max_of() {
+    curl -fsS "http://localhost:$(http_port "$1")/actuator/metrics/$2?tag=pool:primary" \
+        | jq -r '.measurements[] | select(.statistic == "MAX") | .value'
+}
+
+# Mean between two "<count> <total>" readings, times the given factor
+mean_between() {
+    awk -v before="$1" -v after="$2" -v factor="$3" 'BEGIN {
+        split(before, b, " "); split(after, a, " ")
+        n = a[1] - b[1]
+        if (n > 0) printf "%.2f", (a[2] - b[2]) / n * factor; else print "n/a"
+    }'
+}
+
+stop() {
+    kill "$1" 2>/dev/null || true
+    wait "$1" 2>/dev/null || true
+}
+
+# Starts the module with the given pool size and waits for its first successful call; sets PID
+start_and_wait() {
+    local module=$1 size=$2 start now
+    start=$(date +%s)
+    java -jar "$(jar_of "$module")" --hotel.datasource.pool.maximum-pool-size="$size" \
+        --hotel.datasource.pool.minimum-idle="$size" >"$WORK/$module-$size.log" 2>&1 &
+    PID=$!
+    until probe "$module" 2>/dev/null; do
+        if ! kill -0 "$PID" 2>/dev/null; then
+            echo "$module (pool $size) exited, see $WORK/$module-$size.log" >&2
+            return 1
+        fi
+        now=$(date +%s)
+        if (( now - start >= TIMEOUT_SECONDS )); then
+            echo "$module (pool $size) not answering after ${TIMEOUT_SECONDS}s" >&2
+            stop "$PID"
+            return 1
+        fi
+        sleep 0.2
+    done
+}
+
+mkdir -p "$WORK"
+for module in "${MODULES[@]}"; do
+    if [ -z "$(jar_of "$module")" ]; then
+        echo "No jar for $module: run mvn -B package -DskipTests first" >&2
+        exit 1
+    fi
+done
+for tool in k6 ghz grpcurl jq; do
+    if ! command -v "$tool" >/dev/null; then
+        echo "$tool is required" >&2
+        exit 1
+    fi
+done
+
+for module in "${MODULES[@]}"; do
+    echo
+    echo "### $module ($VUS clients, ${LOAD_SECONDS}s)"
+    echo
+    echo "| Pool size | Throughput (req/s) | Acquire, mean (ms) | Acquire, max (ms) | Pending threads, mean | Pending threads, max |"
+    echo "|---|---|---|---|---|---|"
+    best_size=''
+    best_rps=0
+    for size in $SIZES; do
+        start_and_wait "$module" "$size"
+        drive "$module" "$WARMUP_SECONDS" >/dev/null
+        acquire_before=$(totals "$module" hikaricp.connections.acquire)
+        pending_before=$(totals "$module" hotel.datasource.pending)
+        rps=$(drive "$module" "$LOAD_SECONDS")
+        acquire_after=$(totals "$module" hikaricp.connections.acquire)
+        pending_after=$(totals "$module" hotel.datasource.pending)
+        acquire_max=$(awk -v s="$(max_of "$module" hikaricp.connections.acquire)" 'BEGIN { printf "%.2f", s * 1000 }')
+        pending_max=$(max_of "$module" hotel.datasource.pending)
+        stop "$PID"
+
+        echo "| $size | $rps | $(mean_between "$acquire_before" "$acquire_after" 1000) | $acquire_max |" \
+             "$(mean_between "$pending_before" "$pending_after" 1) | ${pending_max%.*} |"
+        # A larger pool must gain more than 5% to be worth its connections
+        if (( rps * 100 > best_rps * 105 )); then
+            best_size=$size
+            best_rps=$rps
+        fi
+    done
+    echo
+    echo "Best pool size for $module: $best_size ($best_rps req/s)"
+done
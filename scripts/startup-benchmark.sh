@@ -0,0 +1,212 @@
+#!/usr/bin/env bash
+# Startup time, memory footprint and steady-state throughput of the API modules, per build:
+#   jvm         plain executable jar
+#   fast-start  Spring AOT bean definitions + AppCDS archive + lazy initialization (mvn -Pfast-start)
+#   native      GraalVM native executable (mvn -Pnative, rest-api and grpc-api only)
+#
+# Run from the repository root, with PostgreSQL up (docker-compose up -d postgres):
+#   mvn -B -Pfast-start package -DskipTests
+#   scripts/startup-benchmark.sh                 # rest-api soap-api grpc-api
+#   RUNS=10 scripts/startup-benchmark.sh rest-api
+#   mvn -B -Pnative package -pl rest-api,grpc-api -am -DskipTests
+#   MODES="jvm native" LOAD_SECONDS=60 scripts/startup-benchmark.sh rest-api grpc-api
+# Environment: RUNS (default 5), MODES (default "jvm fast-start"), TIMEOUT_SECONDS (default 120),
+# LOAD_SECONDS (default 0: no throughput phase), WARMUP_SECONDS (default 30), VUS (default 50).
+#
+# Time-to-first-request runs from process launch to the first successful business call:
+# GET /api/chambres (REST), getAllChambresRequest (SOAP), ChambreService/GetAllChambres (gRPC, needs grpcurl).
+# RSS is read right after that call. The fast-start mode extracts the jar, records a CDS archive during a
+# training run that exits once the context is refreshed, then starts from that archive; a jar built without
+# -Pfast-start has no AOT classes and fails in that mode.
+# The throughput phase starts the module once more, drives the same call for WARMUP_SECONDS, then measures
+# LOAD_SECONDS with VUS concurrent clients (k6 for REST and SOAP, ghz for gRPC) and reports the peak RSS.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+RUNS=${RUNS:-5}
+MODES=${MODES:-"jvm fast-start"}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+LOAD_SECONDS=${LOAD_SECONDS:-0}
+WARMUP_SECONDS=${WARMUP_SECONDS:-30}
+VUS=${VUS:-50}
+WORK="$ROOT/target/startup-benchmark"
+MODULES=("$@")
+if [ ${#MODULES[@]} -eq 0 ]; then
+    MODULES=(rest-api soap-api grpc-api)
+fi
+
+SOAP_ENVELOPE='<soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" xmlns:h="http://hotel.com/soap/reservation"><soapenv:Body><h:getAllChambresRequest/></soapenv:Body></soapenv:Envelope>'
+FAST_START_FLAGS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start)
+PROTO_DIR="$ROOT/grpc-api/src/main/proto"
+
+jar_of() {
+    ls "$ROOT/$1"/target/"$1"-*.jar 2>/dev/null | grep -v -- '-plain\.jar$' | head -1
+}
+
+native_of() {
+    echo "$ROOT/$1/target/hotel-$1"
+}
+
+probe() {
+    case "$1" in
+        rest-api) curl -fsS -o /dev/null http://localhost:8080/api/chambres ;;
+        soap-api) curl -fsS -o /dev/null -H 'Content-Type: text/xml; charset=utf-8' --data "$SOAP_ENVELOPE" \
+                      http://localhost:8081/soap ;;
+        grpc-api) grpcurl -plaintext -import-path "$PROTO_DIR" -proto reservation.proto \
+                      -d '{}' localhost:9090 hotel.ChambreService/GetAllChambres >/dev/null ;;
+    esac
+}
+
+# Requests per second over the given number of seconds
+drive() {
+    local module=$1 seconds=$2 summary="$WORK/$1-load.json"
+    case "$module" in
+        grpc-api)
+            ghz --insecure --import-paths "$PROTO_DIR" --proto reservation.proto \
+                --call hotel.ChambreService/GetAllChambres -d '{}' -c "$VUS" -z "${seconds}s" \
+                --format json localhost:9090 >"$summary"
+            jq -r '.rps | floor' "$summary" ;;
+        *)
+            local url=http://localhost:8080/api/chambres body=''
+            if [ "$module" = soap-api ]; then
+                url=http://localhost:8081/soap
+                body=$SOAP_ENVELOPE
+            fi
+            URL=$url BODY=$body k6 run --quiet --vus "$VUS" --duration "${seconds}s" --summary-export "$summary" - \
+                >/dev/null <<'EOF'
+import http from 'k6/http';
+export default function () {
+    if (__ENV.BODY) {
+        http.post(__ENV.URL, __ENV.BODY, { headers: { 'Content-Type': 'text/xml; charset=utf-8' } });
+    } else {
+        http.get(__ENV.URL);
+    }
+}
+EOF
+            jq -r '.metrics.http_reqs.rate | floor' "$summary" ;;
+    esac
+}
+
+# Once per module and mode: fast-start records its extracted layout and app.jsa, native checks the executable
+prepare() {
+    local module=$1 mode=$2 jar dir
+    case "$mode" in
+        fast-start)
+            jar=$(jar_of "$module")
+            dir="$WORK/$module"
+            rm -rf "$dir"
+            java -Djarmode=tools -jar "$jar" extract --destination "$dir" >/dev/null
+            (cd "$dir" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+                "${FAST_START_FLAGS[@]}" -jar "$(basename "$jar")") >"$WORK/$module-training.log" 2>&1 ;;
+        native)
+            if [ ! -x "$(native_of "$module")" ]; then
+                echo "No native executable for $module: run mvn -B -Pnative package -pl $module -am -DskipTests" >&2
+                return 1
+            fi ;;
+    esac
+}
+
+launch() {
+    local module=$1 mode=$2 jar log
+    jar=$(jar_of "$module")
+    log="$WORK/$module-$mode.log"
+    case "$mode" in
+        jvm) java -jar "$jar" >"$log" 2>&1 & ;;
+        fast-start) (cd "$WORK/$module" && exec java -XX:SharedArchiveFile=app.jsa "${FAST_START_FLAGS[@]}" \
+                        -jar "$(basename "$jar")") >"$log" 2>&1 & ;;
+        native) "$(native_of "$module")" >"$log" 2>&1 & ;;
+        *) echo "Unknown mode: $mode" >&2; return 1 ;;
+    esac
+    PID=$!
+}
+
+stop() {
+    kill "$1" 2>/dev/null || true
+    wait "$1" 2>/dev/null || true
+}
+
+rss_mb() {
+    echo $(( $(ps -o rss= -p "$1") / 1024 ))
+}
+
+peak_rss_mb() {
+    echo $(( $(awk '/^VmHWM:/ {print $2}' "/proc/$1/status") / 1024 ))
+}
+
+# Launches the module and waits for its first successful call; sets PID and ELAPSED_MS
+start_and_wait() {
+    local module=$1 mode=$2 start now
+    start=$(date +%s%N)
+    launch "$module" "$mode"
+    until probe "$module" 2>/dev/null; do
+        if ! kill -0 "$PID" 2>/dev/null; then
+            echo "$module ($mode) exited, see $WORK/$module-$mode.log" >&2
+            return 1
+        fi
+        now=$(date +%s%N)
+        if (( (now - start) / 1000000000 >= TIMEOUT_SECONDS )); then
+            echo "$module ($mode) not answering after ${TIMEOUT_SECONDS}s" >&2
+            stop "$PID"
+            return 1
+        fi
+        sleep 0.02
+    done
+    now=$(date +%s%N)
+    ELAPSED_MS=$(( (now - start) / 1000000 ))
+}
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+mkdir -p "$WORK"
+for module in "${MODULES[@]}"; do
+    if [ -z "$(jar_of "$module")" ]; then
+        echo "No jar for $module: run mvn -B -Pfast-start package -DskipTests first" >&2
+        exit 1
+    fi
+done
+if [[ " ${MODULES[*]} " == *" grpc-api "* ]] && ! command -v grpcurl >/dev/null; then
+    echo "grpcurl is required to probe grpc-api" >&2
+    exit 1
+fi
+if (( LOAD_SECONDS > 0 )); then
+    for tool in k6 ghz jq; do
+        if ! command -v "$tool" >/dev/null; then
+            echo "$tool is required for the throughput phase (LOAD_SECONDS > 0)" >&2
+            exit 1
+        fi
+    done
+fi
+
+echo "| Module | Mode | First request, median (ms) | Min (ms) | Max (ms) | Context refresh | RSS at first request (MB) | Throughput (req/s) | Peak RSS under load (MB) |"
+echo "|---|---|---|---|---|---|---|---|---|"
+for module in "${MODULES[@]}"; do
+    for mode in $MODES; do
+        prepare "$module" "$mode"
+        times=()
+        rss=()
+        for ((run = 0; run < RUNS; run++)); do
+            start_and_wait "$module" "$mode"
+            times+=("$ELAPSED_MS")
+            rss+=("$(rss_mb "$PID")")
+            stop "$PID"
+        done
+        started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$WORK/$module-$mode.log" | tail -1 \
+            | awk '{print $4 " s"}')
+
+        throughput=n/a
+        peak=n/a
+        if (( LOAD_SECONDS > 0 )); then
+            start_and_wait "$module" "$mode"
+            drive "$module" "$WARMUP_SECONDS" >/dev/null
+            throughput=$(drive "$module" "$LOAD_SECONDS")
+            peak=$(peak_rss_mb "$PID")
+            stop "$PID"
+        fi
+
+        sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+        echo "| $module | $mode | $(median "${times[@]}") | ${sorted[0]} | ${sorted[$((RUNS - 1))]} |" \
+             "${started:-n/a} | $(median "${rss[@]}") | $throughput | $peak |"
+    done
+done
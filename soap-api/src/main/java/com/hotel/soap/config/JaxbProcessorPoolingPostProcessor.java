@@ -0,0 +1,39 @@
+package com.hotel.soap.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.JaxbElementPayloadMethodProcessor;
+
+/**
+ * Swaps the endpoint adapter's default JAXBElement processors for pooled ones.
+ * Runs before the serialization metrics post-processor, which wraps whatever it finds.
+ */
+public class JaxbProcessorPoolingPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DefaultMethodEndpointAdapter adapter) {
+            PooledJaxbElementPayloadMethodProcessor pooled = new PooledJaxbElementPayloadMethodProcessor();
+            adapter.setMethodArgumentResolvers(adapter.getMethodArgumentResolvers().stream()
+                    .map(resolver -> isDefaultProcessor(resolver) ? (MethodArgumentResolver) pooled : resolver)
+                    .toList());
+            adapter.setMethodReturnValueHandlers(adapter.getMethodReturnValueHandlers().stream()
+                    .map(handler -> isDefaultProcessor(handler) ? (MethodReturnValueHandler) pooled : handler)
+                    .toList());
+        }
+        return bean;
+    }
+
+    private static boolean isDefaultProcessor(Object processor) {
+        return processor.getClass() == JaxbElementPayloadMethodProcessor.class;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
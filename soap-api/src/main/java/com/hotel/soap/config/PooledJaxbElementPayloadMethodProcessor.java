@@ -0,0 +1,43 @@
+package com.hotel.soap.config;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.JaxbElementPayloadMethodProcessor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link JaxbElementPayloadMethodProcessor} that keeps one marshaller and unmarshaller per
+ * payload class and per thread instead of creating them on every request.
+ * JAXB contexts are already cached by the parent class; marshallers are not thread-safe,
+ * so they are confined to the request thread that created them.
+ */
+public class PooledJaxbElementPayloadMethodProcessor extends JaxbElementPayloadMethodProcessor {
+
+    private final ThreadLocal<Map<Class<?>, Marshaller>> marshallers = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<Class<?>, Unmarshaller>> unmarshallers = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    protected Marshaller createMarshaller(Class<?> clazz) throws JAXBException {
+        Map<Class<?>, Marshaller> cache = marshallers.get();
+        Marshaller marshaller = cache.get(clazz);
+        if (marshaller == null) {
+            marshaller = super.createMarshaller(clazz);
+            cache.put(clazz, marshaller);
+        }
+        return marshaller;
+    }
+
+    @Override
+    protected Unmarshaller createUnmarshaller(Class<?> clazz) throws JAXBException {
+        Map<Class<?>, Unmarshaller> cache = unmarshallers.get();
+        Unmarshaller unmarshaller = cache.get(clazz);
+        if (unmarshaller == null) {
+            unmarshaller = super.createUnmarshaller(clazz);
+            cache.put(clazz, unmarshaller);
+        }
+        return unmarshaller;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hotel.soap.config;
+
+import com.hotel.common.metrics.TransportMetrics;
+import com.hotel.soap.metrics.SoapPayloadSizeFilter;
+import com.hotel.soap.metrics.TimedMethodArgumentResolver;
+import com.hotel.soap.metrics.TimedMethodReturnValueHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+
+/**
+ * Hooks serialization metrics into the MessageDispatcherServlet pipeline.
+ */
+@Configuration
+public class SoapMetricsConfig {
+
+    /**
+     * Wraps the JAXB argument resolvers and return value handlers of the endpoint adapter
+     * so that unmarshalling and marshalling are timed separately from the endpoint itself.
+     */
+    @Bean
+    public static BeanPostProcessor soapSerializationMetricsPostProcessor(ObjectProvider<TransportMetrics> transportMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DefaultMethodEndpointAdapter adapter) {
+                    TransportMetrics metrics = transportMetrics.getObject();
+                    adapter.setMethodArgumentResolvers(adapter.getMethodArgumentResolvers().stream()
+                            .<MethodArgumentResolver>map(resolver -> new TimedMethodArgumentResolver(resolver, metrics))
+                            .toList());
+                    adapter.setMethodReturnValueHandlers(adapter.getMethodReturnValueHandlers().stream()
+                            .<MethodReturnValueHandler>map(handler -> new TimedMethodReturnValueHandler(handler, metrics))
+                            .toList());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SoapPayloadSizeFilter> soapPayloadSizeFilter(TransportMetrics transportMetrics) {
+        FilterRegistrationBean<SoapPayloadSizeFilter> registration =
+                new FilterRegistrationBean<>(new SoapPayloadSizeFilter(transportMetrics));
+        registration.addUrlPatterns("/soap/*");
+        return registration;
+    }
+}
@@ -1,5 +1,13 @@
 package com.hotel.soap.config;
 
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.RateLimiter;
+import com.hotel.common.service.ReservationService;
+import com.hotel.soap.interceptor.ConcurrencyLimitInterceptor;
+import com.hotel.soap.interceptor.RateLimitInterceptor;
+import com.hotel.soap.stream.ReservationStreamingServlet;
+import com.hotel.soap.stream.StreamingLimitFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -7,11 +15,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
+import org.springframework.ws.server.EndpointInterceptor;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
+import org.springframework.ws.wsdl.wsdl11.SimpleWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 
+import java.util.List;
+
 /**
  * Web Services configuration for SOAP API.
  */
@@ -21,6 +33,23 @@ public class WebServiceConfig extends WsConfigurerAdapter {
 
     public static final String NAMESPACE_URI = "http://hotel.com/soap/reservation";
 
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public WebServiceConfig(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Rate limiting first, so that rejected callers never hold a concurrency slot.
+     */
+    @Override
+    public void addInterceptors(List<EndpointInterceptor> interceptors) {
+        interceptors.add(new RateLimitInterceptor(rateLimiter));
+        interceptors.add(new ConcurrencyLimitInterceptor(concurrencyLimiter));
+    }
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext context) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
@@ -29,6 +58,31 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/soap/*");
     }
 
+    @Bean
+    public static JaxbProcessorPoolingPostProcessor jaxbProcessorPoolingPostProcessor() {
+        return new JaxbProcessorPoolingPostProcessor();
+    }
+
+    /**
+     * Streaming getAllReservations. The exact mapping takes precedence over {@code /soap/*}.
+     */
+    @Bean
+    public ServletRegistrationBean<ReservationStreamingServlet> reservationStreamingServlet(
+            ReservationService reservationService) {
+        return new ServletRegistrationBean<>(new ReservationStreamingServlet(reservationService), "/soap/stream");
+    }
+
+    /**
+     * The streaming servlet bypasses the endpoint interceptors, so it gets the same limits as a filter.
+     */
+    @Bean
+    public FilterRegistrationBean<StreamingLimitFilter> streamingLimitFilter() {
+        FilterRegistrationBean<StreamingLimitFilter> registration =
+                new FilterRegistrationBean<>(new StreamingLimitFilter(rateLimiter, concurrencyLimiter));
+        registration.addUrlPatterns("/soap/stream");
+        return registration;
+    }
+
     @Bean(name = "reservation")
     public DefaultWsdl11Definition defaultWsdl11Definition(XsdSchema reservationSchema) {
         DefaultWsdl11Definition wsdl11Definition = new DefaultWsdl11Definition();
@@ -39,6 +93,15 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return wsdl11Definition;
     }
 
+    /**
+     * WSDL of {@code /soap/stream}, served at {@code /soap/reservationStream.wsdl}. It imports the
+     * types from {@code /soap/reservationSchema.xsd}.
+     */
+    @Bean(name = "reservationStream")
+    public SimpleWsdl11Definition reservationStreamWsdl11Definition() {
+        return new SimpleWsdl11Definition(new ClassPathResource("wsdl/reservationStream.wsdl"));
+    }
+
     @Bean
     public XsdSchema reservationSchema() {
         return new SimpleXsdSchema(new ClassPathResource("xsd/reservation.xsd"));
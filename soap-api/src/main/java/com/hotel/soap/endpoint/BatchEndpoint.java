@@ -0,0 +1,161 @@
+package com.hotel.soap.endpoint;
+
+import com.hotel.common.exception.BusinessException;
+import com.hotel.common.idempotency.IdempotencyStore;
+import com.hotel.soap.config.WebServiceConfig;
+import com.hotel.soap.endpoint.ChambreEndpoint.*;
+import com.hotel.soap.endpoint.ClientEndpoint.*;
+import com.hotel.soap.endpoint.ReservationEndpoint.*;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElements;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+import org.springframework.ws.soap.SoapHeaderElement;
+import org.springframework.ws.soap.server.endpoint.annotation.SoapHeader;
+import org.springframework.xml.transform.TransformerHelper;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamResult;
+import java.beans.Introspector;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SOAP Endpoint carrying several operations in one envelope.
+ * Sub-requests run in order inside a single transaction; the first failure
+ * rolls the whole batch back and is returned as a SOAP fault.
+ * An {@code IdempotencyKey} header applies to the whole batch: since it commits or rolls back as a unit, a retry
+ * with the same key and payload gets the first response back instead of running the batch again.
+ */
+@Endpoint
+@RequiredArgsConstructor
+@Slf4j
+public class BatchEndpoint {
+
+    private final ReservationEndpoint reservationEndpoint;
+    private final ClientEndpoint clientEndpoint;
+    private final ChambreEndpoint chambreEndpoint;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyStore idempotencyStore;
+    private final TransformerHelper transformerHelper = new TransformerHelper();
+    private static final String NAMESPACE_URI = WebServiceConfig.NAMESPACE_URI;
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "batchRequest")
+    @ResponsePayload
+    public JAXBElement<BatchResponse> batch(
+            @RequestPayload JAXBElement<BatchRequest> request,
+            @SoapHeader("{" + NAMESPACE_URI + "}IdempotencyKey") SoapHeaderElement idempotencyKey,
+            MessageContext messageContext) {
+        List<Object> operations = request.getValue().getOperations();
+        log.info("SOAP: Executing batch of {} operations", operations.size());
+
+        String key = idempotencyKey != null ? idempotencyKey.getText() : null;
+        String digest = key != null ? payloadDigest(messageContext) : null;
+        BatchResponse response = idempotencyStore.execute(reservationEndpoint.caller(), key, digest,
+                () -> transactionTemplate.execute(status -> {
+                    BatchResponse batch = new BatchResponse();
+                    for (Object operation : operations) {
+                        batch.getResults().add(dispatch(operation));
+                    }
+                    return batch;
+                }));
+
+        return new JAXBElement<>(new QName(NAMESPACE_URI, "batchResponse"), BatchResponse.class, response);
+    }
+
+    /**
+     * SHA-256 of the request payload: the JAXB request types have no {@code equals}.
+     */
+    private String payloadDigest(MessageContext messageContext) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            transformerHelper.transform(messageContext.getRequest().getPayloadSource(), new StreamResult(payload));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload.toByteArray()));
+        } catch (TransformerException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Empreinte du lot impossible à calculer", e);
+        }
+    }
+
+    private JAXBElement<?> dispatch(Object operation) {
+        return switch (operation) {
+            case UpdateReservationRequest req -> reservationEndpoint.updateReservation(wrap(req));
+            case CreateReservationRequest req -> reservationEndpoint.createReservation(wrap(req), null);
+            case GetReservationByIdRequest req -> reservationEndpoint.getReservationById(wrap(req));
+            case DeleteReservationRequest req -> {
+                JAXBElement<DeleteReservationResponse> result = reservationEndpoint.deleteReservation(wrap(req));
+                if (!result.getValue().isSuccess()) {
+                    throw new BusinessException(result.getValue().getMessage());
+                }
+                yield result;
+            }
+            case GetReservationsByClientRequest req -> reservationEndpoint.getReservationsByClient(wrap(req));
+            case UpdateClientRequest req -> clientEndpoint.updateClient(wrap(req));
+            case CreateClientRequest req -> clientEndpoint.createClient(wrap(req));
+            case GetClientByIdRequest req -> clientEndpoint.getClientById(wrap(req));
+            case SearchClientsRequest req -> clientEndpoint.searchClients(wrap(req));
+            case GetChambreByIdRequest req -> chambreEndpoint.getChambreById(wrap(req));
+            case GetAvailableChambresRequest req -> chambreEndpoint.getAvailableChambres(wrap(req));
+            case UpdateChambreAvailabilityRequest req -> chambreEndpoint.updateChambreAvailability(wrap(req));
+            default -> throw new BusinessException(
+                    "Opération non supportée dans un lot: " + operation.getClass().getSimpleName());
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> JAXBElement<T> wrap(T value) {
+        String localPart = Introspector.decapitalize(value.getClass().getSimpleName());
+        return new JAXBElement<>(new QName(NAMESPACE_URI, localPart), (Class<T>) value.getClass(), value);
+    }
+
+    // ==================== INNER CLASSES (Generated from XSD) ====================
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class BatchRequest {
+        @XmlElements({
+            @XmlElement(name = "getReservationByIdRequest", namespace = NAMESPACE_URI, type = GetReservationByIdRequest.class),
+            @XmlElement(name = "createReservationRequest", namespace = NAMESPACE_URI, type = CreateReservationRequest.class),
+            @XmlElement(name = "updateReservationRequest", namespace = NAMESPACE_URI, type = UpdateReservationRequest.class),
+            @XmlElement(name = "deleteReservationRequest", namespace = NAMESPACE_URI, type = DeleteReservationRequest.class),
+            @XmlElement(name = "getReservationsByClientRequest", namespace = NAMESPACE_URI, type = GetReservationsByClientRequest.class),
+            @XmlElement(name = "getClientByIdRequest", namespace = NAMESPACE_URI, type = GetClientByIdRequest.class),
+            @XmlElement(name = "createClientRequest", namespace = NAMESPACE_URI, type = CreateClientRequest.class),
+            @XmlElement(name = "updateClientRequest", namespace = NAMESPACE_URI, type = UpdateClientRequest.class),
+            @XmlElement(name = "searchClientsRequest", namespace = NAMESPACE_URI, type = SearchClientsRequest.class),
+            @XmlElement(name = "getChambreByIdRequest", namespace = NAMESPACE_URI, type = GetChambreByIdRequest.class),
+            @XmlElement(name = "getAvailableChambresRequest", namespace = NAMESPACE_URI, type = GetAvailableChambresRequest.class),
+            @XmlElement(name = "updateChambreAvailabilityRequest", namespace = NAMESPACE_URI, type = UpdateChambreAvailabilityRequest.class)
+        })
+        private List<Object> operations = new ArrayList<>();
+        public List<Object> getOperations() { return operations; }
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlSeeAlso({
+        GetReservationByIdResponse.class, CreateReservationResponse.class, UpdateReservationResponse.class,
+        DeleteReservationResponse.class, GetReservationsByClientResponse.class,
+        GetClientByIdResponse.class, CreateClientResponse.class, UpdateClientResponse.class,
+        SearchClientsResponse.class, GetChambreByIdResponse.class, GetAvailableChambresResponse.class,
+        UpdateChambreAvailabilityResponse.class
+    })
+    public static class BatchResponse {
+        @XmlAnyElement(lax = true)
+        private List<Object> results = new ArrayList<>();
+        public List<Object> getResults() { return results; }
+    }
+}
@@ -0,0 +1,263 @@
+package com.hotel.soap.endpoint;
+
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.QuoteFilter;
+import com.hotel.common.entity.Chambre.TypeChambre;
+import com.hotel.common.pricing.PricingEngine.Stay;
+import com.hotel.common.service.ChambreService;
+import com.hotel.soap.config.WebServiceConfig;
+import com.hotel.soap.endpoint.ReservationEndpoint.Chambre;
+import com.hotel.soap.endpoint.ReservationEndpoint.TypeChambreType;
+import com.hotel.soap.mapper.SoapMapper;
+import com.hotel.soap.mapper.XmlDateConverter;
+import jakarta.xml.bind.JAXBElement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * SOAP Endpoint for Chambre operations.
+ */
+@Endpoint
+@RequiredArgsConstructor
+@Slf4j
+public class ChambreEndpoint {
+
+    private final ChambreService chambreService;
+    private final SoapMapper soapMapper;
+    private static final String NAMESPACE_URI = WebServiceConfig.NAMESPACE_URI;
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAllChambresRequest")
+    @ResponsePayload
+    public JAXBElement<GetAllChambresResponse> getAllChambres(
+            @RequestPayload JAXBElement<GetAllChambresRequest> request) {
+        log.info("SOAP: Getting all chambres");
+
+        GetAllChambresResponse response = new GetAllChambresResponse();
+        addAll(response.getChambres(), chambreService.findAll());
+
+        return createElement("getAllChambresResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getChambreByIdRequest")
+    @ResponsePayload
+    public JAXBElement<GetChambreByIdResponse> getChambreById(
+            @RequestPayload JAXBElement<GetChambreByIdRequest> request) {
+        Long id = request.getValue().getId();
+        log.info("SOAP: Getting chambre by ID: {}", id);
+
+        GetChambreByIdResponse response = new GetChambreByIdResponse();
+        response.setChambre(soapMapper.toSoapChambre(chambreService.findById(id)));
+
+        return createElement("getChambreByIdResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAvailableChambresRequest")
+    @ResponsePayload
+    public JAXBElement<GetAvailableChambresResponse> getAvailableChambres(
+            @RequestPayload JAXBElement<GetAvailableChambresRequest> request) {
+        GetAvailableChambresRequest req = request.getValue();
+        log.info("SOAP: Getting chambres available from {} to {}", req.getDateDebut(), req.getDateFin());
+
+        GetAvailableChambresResponse response = new GetAvailableChambresResponse();
+        addAll(response.getChambres(), chambreService.findAvailableForDates(
+                XmlDateConverter.toLocalDate(req.getDateDebut()),
+                XmlDateConverter.toLocalDate(req.getDateFin())));
+
+        return createElement("getAvailableChambresResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getChambresByTypeRequest")
+    @ResponsePayload
+    public JAXBElement<GetChambresByTypeResponse> getChambresByType(
+            @RequestPayload JAXBElement<GetChambresByTypeRequest> request) {
+        TypeChambreType type = request.getValue().getType();
+        log.info("SOAP: Getting chambres by type: {}", type);
+
+        GetChambresByTypeResponse response = new GetChambresByTypeResponse();
+        addAll(response.getChambres(), chambreService.findByType(TypeChambre.valueOf(type.name())));
+
+        return createElement("getChambresByTypeResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "updateChambreAvailabilityRequest")
+    @ResponsePayload
+    public JAXBElement<UpdateChambreAvailabilityResponse> updateChambreAvailability(
+            @RequestPayload JAXBElement<UpdateChambreAvailabilityRequest> request) {
+        UpdateChambreAvailabilityRequest req = request.getValue();
+        log.info("SOAP: Updating availability of chambre {} to {}", req.getId(), req.isDisponible());
+
+        chambreService.updateAvailability(req.getId(), req.isDisponible());
+        UpdateChambreAvailabilityResponse response = new UpdateChambreAvailabilityResponse();
+        response.setChambre(soapMapper.toSoapChambre(chambreService.findById(req.getId())));
+
+        return createElement("updateChambreAvailabilityResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "quoteChambresRequest")
+    @ResponsePayload
+    public JAXBElement<QuoteChambresResponse> quoteChambres(
+            @RequestPayload JAXBElement<QuoteChambresRequest> request) {
+        QuoteChambresRequest req = request.getValue();
+        log.info("SOAP: Quoting chambres for {} stays", req.getStays().size());
+
+        List<Stay> stays = req.getStays().stream()
+                .map(stay -> new Stay(XmlDateConverter.toLocalDate(stay.getDateDebut()),
+                        XmlDateConverter.toLocalDate(stay.getDateFin())))
+                .toList();
+        QuoteFilter filter = QuoteFilter.builder()
+                .type(req.getType() != null ? TypeChambre.valueOf(req.getType().name()) : null)
+                .minPrix(req.getMinPrix())
+                .maxPrix(req.getMaxPrix())
+                .build();
+
+        QuoteChambresResponse response = new QuoteChambresResponse();
+        for (QuoteDTO dto : chambreService.quote(stays, req.getNombrePersonnes(), filter)) {
+            response.getQuotes().add(soapMapper.toSoapQuote(dto));
+        }
+
+        return createElement("quoteChambresResponse", response);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void addAll(List<Chambre> target, List<ChambreDTO> chambres) {
+        for (ChambreDTO dto : chambres) {
+            target.add(soapMapper.toSoapChambre(dto));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JAXBElement<T> createElement(String localPart, T value) {
+        return new JAXBElement<>(
+                new QName(NAMESPACE_URI, localPart),
+                (Class<T>) value.getClass(),
+                value
+        );
+    }
+
+    // ==================== INNER CLASSES (Generated from XSD) ====================
+
+    public static class GetAllChambresRequest {}
+    public static class GetAllChambresResponse {
+        private List<Chambre> chambres = new java.util.ArrayList<>();
+        public List<Chambre> getChambres() { return chambres; }
+    }
+
+    public static class GetChambreByIdRequest {
+        private Long id;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+    }
+    public static class GetChambreByIdResponse {
+        private Chambre chambre;
+        public Chambre getChambre() { return chambre; }
+        public void setChambre(Chambre chambre) { this.chambre = chambre; }
+    }
+
+    public static class GetAvailableChambresRequest {
+        private XMLGregorianCalendar dateDebut;
+        private XMLGregorianCalendar dateFin;
+        public XMLGregorianCalendar getDateDebut() { return dateDebut; }
+        public void setDateDebut(XMLGregorianCalendar dateDebut) { this.dateDebut = dateDebut; }
+        public XMLGregorianCalendar getDateFin() { return dateFin; }
+        public void setDateFin(XMLGregorianCalendar dateFin) { this.dateFin = dateFin; }
+    }
+    public static class GetAvailableChambresResponse {
+        private List<Chambre> chambres = new java.util.ArrayList<>();
+        public List<Chambre> getChambres() { return chambres; }
+    }
+
+    public static class GetChambresByTypeRequest {
+        private TypeChambreType type;
+        public TypeChambreType getType() { return type; }
+        public void setType(TypeChambreType type) { this.type = type; }
+    }
+    public static class GetChambresByTypeResponse {
+        private List<Chambre> chambres = new java.util.ArrayList<>();
+        public List<Chambre> getChambres() { return chambres; }
+    }
+
+    public static class UpdateChambreAvailabilityRequest {
+        private Long id;
+        private boolean disponible;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public boolean isDisponible() { return disponible; }
+        public void setDisponible(boolean disponible) { this.disponible = disponible; }
+    }
+    public static class UpdateChambreAvailabilityResponse {
+        private Chambre chambre;
+        public Chambre getChambre() { return chambre; }
+        public void setChambre(Chambre chambre) { this.chambre = chambre; }
+    }
+
+    public static class StayRange {
+        private XMLGregorianCalendar dateDebut;
+        private XMLGregorianCalendar dateFin;
+        public XMLGregorianCalendar getDateDebut() { return dateDebut; }
+        public void setDateDebut(XMLGregorianCalendar dateDebut) { this.dateDebut = dateDebut; }
+        public XMLGregorianCalendar getDateFin() { return dateFin; }
+        public void setDateFin(XMLGregorianCalendar dateFin) { this.dateFin = dateFin; }
+    }
+
+    public static class QuoteChambresRequest {
+        private List<StayRange> stays = new java.util.ArrayList<>();
+        private Integer nombrePersonnes;
+        private TypeChambreType type;
+        private BigDecimal minPrix;
+        private BigDecimal maxPrix;
+        public List<StayRange> getStays() { return stays; }
+        public Integer getNombrePersonnes() { return nombrePersonnes; }
+        public void setNombrePersonnes(Integer nombrePersonnes) { this.nombrePersonnes = nombrePersonnes; }
+        public TypeChambreType getType() { return type; }
+        public void setType(TypeChambreType type) { this.type = type; }
+        public BigDecimal getMinPrix() { return minPrix; }
+        public void setMinPrix(BigDecimal minPrix) { this.minPrix = minPrix; }
+        public BigDecimal getMaxPrix() { return maxPrix; }
+        public void setMaxPrix(BigDecimal maxPrix) { this.maxPrix = maxPrix; }
+    }
+    public static class QuoteChambresResponse {
+        private List<Quote> quotes = new java.util.ArrayList<>();
+        public List<Quote> getQuotes() { return quotes; }
+    }
+
+    public static class Quote {
+        private Long chambreId;
+        private String numero;
+        private TypeChambreType type;
+        private Integer capaciteMax;
+        private BigDecimal prix;
+        private XMLGregorianCalendar dateDebut;
+        private XMLGregorianCalendar dateFin;
+        private Integer nuits;
+        private BigDecimal prixTotal;
+        public Long getChambreId() { return chambreId; }
+        public void setChambreId(Long chambreId) { this.chambreId = chambreId; }
+        public String getNumero() { return numero; }
+        public void setNumero(String numero) { this.numero = numero; }
+        public TypeChambreType getType() { return type; }
+        public void setType(TypeChambreType type) { this.type = type; }
+        public Integer getCapaciteMax() { return capaciteMax; }
+        public void setCapaciteMax(Integer capaciteMax) { this.capaciteMax = capaciteMax; }
+        public BigDecimal getPrix() { return prix; }
+        public void setPrix(BigDecimal prix) { this.prix = prix; }
+        public XMLGregorianCalendar getDateDebut() { return dateDebut; }
+        public void setDateDebut(XMLGregorianCalendar dateDebut) { this.dateDebut = dateDebut; }
+        public XMLGregorianCalendar getDateFin() { return dateFin; }
+        public void setDateFin(XMLGregorianCalendar dateFin) { this.dateFin = dateFin; }
+        public Integer getNuits() { return nuits; }
+        public void setNuits(Integer nuits) { this.nuits = nuits; }
+        public BigDecimal getPrixTotal() { return prixTotal; }
+        public void setPrixTotal(BigDecimal prixTotal) { this.prixTotal = prixTotal; }
+    }
+}
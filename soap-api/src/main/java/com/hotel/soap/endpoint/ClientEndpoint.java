@@ -0,0 +1,218 @@
+package com.hotel.soap.endpoint;
+
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.service.ClientService;
+import com.hotel.soap.config.WebServiceConfig;
+import com.hotel.soap.endpoint.ReservationEndpoint.Client;
+import com.hotel.soap.mapper.SoapMapper;
+import jakarta.xml.bind.JAXBElement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+import javax.xml.namespace.QName;
+import java.util.List;
+
+/**
+ * SOAP Endpoint for Client operations.
+ */
+@Endpoint
+@RequiredArgsConstructor
+@Slf4j
+public class ClientEndpoint {
+
+    private final ClientService clientService;
+    private final SoapMapper soapMapper;
+    private static final String NAMESPACE_URI = WebServiceConfig.NAMESPACE_URI;
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAllClientsRequest")
+    @ResponsePayload
+    public JAXBElement<GetAllClientsResponse> getAllClients(
+            @RequestPayload JAXBElement<GetAllClientsRequest> request) {
+        log.info("SOAP: Getting all clients");
+
+        GetAllClientsResponse response = new GetAllClientsResponse();
+        for (ClientDTO dto : clientService.findAll()) {
+            response.getClients().add(soapMapper.toSoapClient(dto));
+        }
+
+        return createElement("getAllClientsResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getClientByIdRequest")
+    @ResponsePayload
+    public JAXBElement<GetClientByIdResponse> getClientById(
+            @RequestPayload JAXBElement<GetClientByIdRequest> request) {
+        Long id = request.getValue().getId();
+        log.info("SOAP: Getting client by ID: {}", id);
+
+        GetClientByIdResponse response = new GetClientByIdResponse();
+        response.setClient(soapMapper.toSoapClient(clientService.findById(id)));
+
+        return createElement("getClientByIdResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createClientRequest")
+    @ResponsePayload
+    public JAXBElement<CreateClientResponse> createClient(
+            @RequestPayload JAXBElement<CreateClientRequest> request) {
+        CreateClientRequest req = request.getValue();
+        log.info("SOAP: Creating client {}", req.getEmail());
+
+        ClientDTO dto = ClientDTO.builder()
+                .nom(req.getNom())
+                .prenom(req.getPrenom())
+                .email(req.getEmail())
+                .telephone(req.getTelephone())
+                .build();
+
+        CreateClientResponse response = new CreateClientResponse();
+        response.setClient(soapMapper.toSoapClient(clientService.create(dto)));
+
+        return createElement("createClientResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "updateClientRequest")
+    @ResponsePayload
+    public JAXBElement<UpdateClientResponse> updateClient(
+            @RequestPayload JAXBElement<UpdateClientRequest> request) {
+        UpdateClientRequest req = request.getValue();
+        log.info("SOAP: Updating client: {}", req.getId());
+
+        ClientDTO dto = ClientDTO.builder()
+                .nom(req.getNom())
+                .prenom(req.getPrenom())
+                .email(req.getEmail())
+                .telephone(req.getTelephone())
+                .build();
+
+        UpdateClientResponse response = new UpdateClientResponse();
+        response.setClient(soapMapper.toSoapClient(clientService.update(req.getId(), dto)));
+
+        return createElement("updateClientResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "deleteClientRequest")
+    @ResponsePayload
+    public JAXBElement<DeleteClientResponse> deleteClient(
+            @RequestPayload JAXBElement<DeleteClientRequest> request) {
+        Long id = request.getValue().getId();
+        log.info("SOAP: Deleting client: {}", id);
+
+        DeleteClientResponse response = new DeleteClientResponse();
+        try {
+            clientService.delete(id);
+            response.setSuccess(true);
+            response.setMessage("Client supprimé avec succès");
+        } catch (Exception e) {
+            response.setSuccess(false);
+            response.setMessage(e.getMessage());
+        }
+
+        return createElement("deleteClientResponse", response);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "searchClientsRequest")
+    @ResponsePayload
+    public JAXBElement<SearchClientsResponse> searchClients(
+            @RequestPayload JAXBElement<SearchClientsRequest> request) {
+        String nom = request.getValue().getNom();
+        log.info("SOAP: Searching clients: {}", nom);
+
+        SearchClientsResponse response = new SearchClientsResponse();
+        for (ClientDTO dto : clientService.search(nom)) {
+            response.getClients().add(soapMapper.toSoapClient(dto));
+        }
+
+        return createElement("searchClientsResponse", response);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    @SuppressWarnings("unchecked")
+    private <T> JAXBElement<T> createElement(String localPart, T value) {
+        return new JAXBElement<>(
+                new QName(NAMESPACE_URI, localPart),
+                (Class<T>) value.getClass(),
+                value
+        );
+    }
+
+    // ==================== INNER CLASSES (Generated from XSD) ====================
+
+    public static class GetAllClientsRequest {}
+    public static class GetAllClientsResponse {
+        private List<Client> clients = new java.util.ArrayList<>();
+        public List<Client> getClients() { return clients; }
+    }
+
+    public static class GetClientByIdRequest {
+        private Long id;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+    }
+    public static class GetClientByIdResponse {
+        private Client client;
+        public Client getClient() { return client; }
+        public void setClient(Client client) { this.client = client; }
+    }
+
+    public static class CreateClientRequest {
+        private String nom;
+        private String prenom;
+        private String email;
+        private String telephone;
+
+        public String getNom() { return nom; }
+        public void setNom(String nom) { this.nom = nom; }
+        public String getPrenom() { return prenom; }
+        public void setPrenom(String prenom) { this.prenom = prenom; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getTelephone() { return telephone; }
+        public void setTelephone(String telephone) { this.telephone = telephone; }
+    }
+    public static class CreateClientResponse {
+        private Client client;
+        public Client getClient() { return client; }
+        public void setClient(Client client) { this.client = client; }
+    }
+
+    public static class UpdateClientRequest extends CreateClientRequest {
+        private Long id;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+    }
+    public static class UpdateClientResponse {
+        private Client client;
+        public Client getClient() { return client; }
+        public void setClient(Client client) { this.client = client; }
+    }
+
+    public static class DeleteClientRequest {
+        private Long id;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+    }
+    public static class DeleteClientResponse {
+        private boolean success;
+        private String message;
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    public static class SearchClientsRequest {
+        private String nom;
+        public String getNom() { return nom; }
+        public void setNom(String nom) { this.nom = nom; }
+    }
+    public static class SearchClientsResponse {
+        private List<Client> clients = new java.util.ArrayList<>();
+        public List<Client> getClients() { return clients; }
+    }
+}
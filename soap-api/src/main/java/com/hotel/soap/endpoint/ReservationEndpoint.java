@@ -1,9 +1,15 @@
 package com.hotel.soap.endpoint;
 
 import com.hotel.common.dto.ReservationDTO;
+import com.hotel.common.dto.ReservationField;
 import com.hotel.common.entity.Reservation.StatutReservation;
+import com.hotel.common.idempotency.IdempotencyStore;
+import com.hotel.common.limit.RateLimiter;
 import com.hotel.common.service.ReservationService;
 import com.hotel.soap.config.WebServiceConfig;
+import com.hotel.soap.mapper.SoapMapper;
+import com.hotel.soap.mapper.XmlDateConverter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.xml.bind.JAXBElement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,14 +17,15 @@ import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+import org.springframework.ws.soap.SoapHeaderElement;
+import org.springframework.ws.soap.server.endpoint.annotation.SoapHeader;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
 
-import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.GregorianCalendar;
 import java.util.List;
 
 /**
@@ -30,6 +37,9 @@ import java.util.List;
 public class ReservationEndpoint {
 
     private final ReservationService reservationService;
+    private final SoapMapper soapMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final RateLimiter rateLimiter;
     private static final String NAMESPACE_URI = WebServiceConfig.NAMESPACE_URI;
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAllReservationsRequest")
@@ -38,11 +48,14 @@ public class ReservationEndpoint {
             @RequestPayload JAXBElement<GetAllReservationsRequest> request) {
         log.info("SOAP: Getting all reservations");
         
-        List<ReservationDTO> reservations = reservationService.findAll();
+        List<String> fields = request.getValue().getFields();
+        List<ReservationDTO> reservations = fields.isEmpty()
+                ? reservationService.findAll()
+                : reservationService.findAll(ReservationField.parse(fields));
         GetAllReservationsResponse response = new GetAllReservationsResponse();
         
         for (ReservationDTO dto : reservations) {
-            response.getReservations().add(toSoapReservation(dto));
+            response.getReservations().add(soapMapper.toSoapReservation(dto));
         }
         
         return createElement("getAllReservationsResponse", response);
@@ -57,7 +70,7 @@ public class ReservationEndpoint {
         
         ReservationDTO dto = reservationService.findById(id);
         GetReservationByIdResponse response = new GetReservationByIdResponse();
-        response.setReservation(toSoapReservation(dto));
+        response.setReservation(soapMapper.toSoapReservation(dto));
         
         return createElement("getReservationByIdResponse", response);
     }
@@ -65,23 +78,25 @@ public class ReservationEndpoint {
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createReservationRequest")
     @ResponsePayload
     public JAXBElement<CreateReservationResponse> createReservation(
-            @RequestPayload JAXBElement<CreateReservationRequest> request) {
+            @RequestPayload JAXBElement<CreateReservationRequest> request,
+            @SoapHeader("{" + NAMESPACE_URI + "}IdempotencyKey") SoapHeaderElement idempotencyKey) {
         CreateReservationRequest req = request.getValue();
         log.info("SOAP: Creating reservation for client {} in room {}", req.getClientId(), req.getChambreId());
         
         ReservationDTO dto = ReservationDTO.builder()
                 .clientId(req.getClientId())
                 .chambreId(req.getChambreId())
-                .dateDebut(toLocalDate(req.getDateDebut()))
-                .dateFin(toLocalDate(req.getDateFin()))
+                .dateDebut(XmlDateConverter.toLocalDate(req.getDateDebut()))
+                .dateFin(XmlDateConverter.toLocalDate(req.getDateFin()))
                 .preferences(req.getPreferences())
                 .nombrePersonnes(req.getNombrePersonnes())
                 .commentaires(req.getCommentaires())
                 .build();
         
-        ReservationDTO created = reservationService.create(dto);
+        String key = idempotencyKey != null ? idempotencyKey.getText() : null;
+        ReservationDTO created = idempotencyStore.execute(caller(), key, dto, () -> reservationService.create(dto));
         CreateReservationResponse response = new CreateReservationResponse();
-        response.setReservation(toSoapReservation(created));
+        response.setReservation(soapMapper.toSoapReservation(created));
         
         return createElement("createReservationResponse", response);
     }
@@ -96,8 +111,8 @@ public class ReservationEndpoint {
         ReservationDTO dto = ReservationDTO.builder()
                 .clientId(req.getClientId())
                 .chambreId(req.getChambreId())
-                .dateDebut(toLocalDate(req.getDateDebut()))
-                .dateFin(toLocalDate(req.getDateFin()))
+                .dateDebut(XmlDateConverter.toLocalDate(req.getDateDebut()))
+                .dateFin(XmlDateConverter.toLocalDate(req.getDateFin()))
                 .preferences(req.getPreferences())
                 .nombrePersonnes(req.getNombrePersonnes())
                 .commentaires(req.getCommentaires())
@@ -105,7 +120,7 @@ public class ReservationEndpoint {
         
         ReservationDTO updated = reservationService.update(req.getId(), dto);
         UpdateReservationResponse response = new UpdateReservationResponse();
-        response.setReservation(toSoapReservation(updated));
+        response.setReservation(soapMapper.toSoapReservation(updated));
         
         return createElement("updateReservationResponse", response);
     }
@@ -137,11 +152,14 @@ public class ReservationEndpoint {
         Long clientId = request.getValue().getClientId();
         log.info("SOAP: Getting reservations for client: {}", clientId);
         
-        List<ReservationDTO> reservations = reservationService.findByClientId(clientId);
+        List<String> fields = request.getValue().getFields();
+        List<ReservationDTO> reservations = fields.isEmpty()
+                ? reservationService.findByClientId(clientId)
+                : reservationService.findByClientId(clientId, ReservationField.parse(fields));
         GetReservationsByClientResponse response = new GetReservationsByClientResponse();
         
         for (ReservationDTO dto : reservations) {
-            response.getReservations().add(toSoapReservation(dto));
+            response.getReservations().add(soapMapper.toSoapReservation(dto));
         }
         
         return createElement("getReservationsByClientResponse", response);
@@ -149,56 +167,16 @@ public class ReservationEndpoint {
 
     // ==================== HELPER METHODS ====================
 
-    private Reservation toSoapReservation(ReservationDTO dto) {
-        Reservation reservation = new Reservation();
-        reservation.setId(dto.getId());
-        reservation.setDateDebut(toXmlDate(dto.getDateDebut()));
-        reservation.setDateFin(toXmlDate(dto.getDateFin()));
-        reservation.setStatut(StatutReservationType.fromValue(dto.getStatut().name()));
-        reservation.setPreferences(dto.getPreferences());
-        reservation.setNombrePersonnes(dto.getNombrePersonnes());
-        reservation.setPrixTotal(dto.getPrixTotal());
-        reservation.setCommentaires(dto.getCommentaires());
-        
-        if (dto.getClient() != null) {
-            Client client = new Client();
-            client.setId(dto.getClient().getId());
-            client.setNom(dto.getClient().getNom());
-            client.setPrenom(dto.getClient().getPrenom());
-            client.setEmail(dto.getClient().getEmail());
-            client.setTelephone(dto.getClient().getTelephone());
-            reservation.setClient(client);
-        }
-        
-        if (dto.getChambre() != null) {
-            Chambre chambre = new Chambre();
-            chambre.setId(dto.getChambre().getId());
-            chambre.setNumero(dto.getChambre().getNumero());
-            chambre.setType(TypeChambreType.fromValue(dto.getChambre().getType().name()));
-            chambre.setPrix(dto.getChambre().getPrix());
-            chambre.setDisponible(dto.getChambre().getDisponible());
-            chambre.setDescription(dto.getChambre().getDescription());
-            chambre.setCapaciteMax(dto.getChambre().getCapaciteMax());
-            reservation.setChambre(chambre);
-        }
-        
-        return reservation;
-    }
-
-    private LocalDate toLocalDate(XMLGregorianCalendar xmlCal) {
-        if (xmlCal == null) return null;
-        return LocalDate.of(xmlCal.getYear(), xmlCal.getMonth(), xmlCal.getDay());
-    }
-
-    private XMLGregorianCalendar toXmlDate(LocalDate date) {
-        if (date == null) return null;
-        try {
-            GregorianCalendar gcal = new GregorianCalendar();
-            gcal.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth());
-            return DatatypeFactory.newInstance().newXMLGregorianCalendar(gcal);
-        } catch (DatatypeConfigurationException e) {
-            throw new RuntimeException("Error converting date", e);
+    /**
+     * Caller idempotency keys are scoped to: its API key, or its address, as for rate limiting.
+     */
+    String caller() {
+        TransportContext transport = TransportContextHolder.getTransportContext();
+        if (transport == null || !(transport.getConnection() instanceof HttpServletConnection connection)) {
+            return null;
         }
+        HttpServletRequest request = connection.getHttpServletRequest();
+        return rateLimiter.clientOf(request.getHeader(rateLimiter.getApiKeyHeader()), request.getRemoteAddr());
     }
 
     @SuppressWarnings("unchecked")
@@ -213,7 +191,10 @@ public class ReservationEndpoint {
     // ==================== INNER CLASSES (Generated from XSD) ====================
     // These would normally be generated by JAXB from the XSD
     
-    public static class GetAllReservationsRequest {}
+    public static class GetAllReservationsRequest {
+        private java.util.List<String> fields = new java.util.ArrayList<>();
+        public java.util.List<String> getFields() { return fields; }
+    }
     public static class GetAllReservationsResponse {
         private java.util.List<Reservation> reservations = new java.util.ArrayList<>();
         public java.util.List<Reservation> getReservations() { return reservations; }
@@ -289,6 +270,8 @@ public class ReservationEndpoint {
         private Long clientId;
         public Long getClientId() { return clientId; }
         public void setClientId(Long clientId) { this.clientId = clientId; }
+        private java.util.List<String> fields = new java.util.ArrayList<>();
+        public java.util.List<String> getFields() { return fields; }
     }
     public static class GetReservationsByClientResponse {
         private java.util.List<Reservation> reservations = new java.util.ArrayList<>();
@@ -0,0 +1,81 @@
+package com.hotel.soap.interceptor;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Sheds SOAP requests with a server fault once the adaptive concurrency limit is reached.
+ * Runs before the payload is unmarshalled. Create, update, delete and batch operations are writes.
+ */
+public class ConcurrencyLimitInterceptor implements EndpointInterceptor {
+
+    private static final String PERMIT_PROPERTY = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) throws IOException {
+        Permit permit = limiter.tryAcquire(priorityOf(endpoint));
+        if (permit == null) {
+            if (TransportContextHolder.getTransportContext() != null
+                    && TransportContextHolder.getTransportContext().getConnection() instanceof HttpServletConnection connection) {
+                connection.getHttpServletResponse().setHeader("Retry-After", "1");
+            }
+            ((SoapMessage) messageContext.getResponse()).getSoapBody()
+                    .addServerOrReceiverFault("Service surchargé, réessayez plus tard", Locale.FRENCH);
+            return false;
+        }
+        messageContext.setProperty(PERMIT_PROPERTY, permit);
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        Permit permit = (Permit) messageContext.getProperty(PERMIT_PROPERTY);
+        if (permit == null) {
+            return;
+        }
+        messageContext.removeProperty(PERMIT_PROPERTY);
+        boolean fault = messageContext.hasResponse() && messageContext.getResponse().hasFault();
+        if (ex == null && !fault) {
+            permit.release();
+        } else {
+            permit.releaseIgnored();
+        }
+    }
+
+    private static Priority priorityOf(Object endpoint) {
+        if (endpoint instanceof MethodEndpoint methodEndpoint) {
+            String name = methodEndpoint.getMethod().getName();
+            if (name.startsWith("create") || name.startsWith("update") || name.startsWith("delete")
+                    || name.equals("batch")) {
+                return Priority.WRITE;
+            }
+        }
+        return Priority.READ;
+    }
+}
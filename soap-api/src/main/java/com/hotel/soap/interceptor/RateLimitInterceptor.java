@@ -0,0 +1,66 @@
+package com.hotel.soap.interceptor;
+
+import com.hotel.common.limit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Rejects SOAP requests with a client fault when the caller exceeds its rate for the operation.
+ * The operation is the endpoint method name, e.g. {@code getAllReservations}.
+ */
+public class RateLimitInterceptor implements EndpointInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) throws IOException {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        TransportContext transport = TransportContextHolder.getTransportContext();
+        if (transport == null || !(transport.getConnection() instanceof HttpServletConnection connection)) {
+            return true;
+        }
+        HttpServletRequest request = connection.getHttpServletRequest();
+        String apiKey = request.getHeader(rateLimiter.getApiKeyHeader());
+        String client = rateLimiter.clientOf(apiKey, request.getRemoteAddr());
+        String operation = endpoint instanceof MethodEndpoint method ? method.getMethod().getName() : "unknown";
+
+        long wait = rateLimiter.tryAcquire(client, operation);
+        if (wait > 0) {
+            connection.getHttpServletResponse().setHeader("Retry-After",
+                    Long.toString(RateLimiter.retryAfterSeconds(wait)));
+            ((SoapMessage) messageContext.getResponse()).getSoapBody()
+                    .addClientOrSenderFault("Trop de requêtes, réessayez plus tard", Locale.FRENCH);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.soap.mapper;
+
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.QuoteDTO;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.soap.endpoint.ChambreEndpoint.Quote;
+import com.hotel.soap.endpoint.ReservationEndpoint.Chambre;
+import com.hotel.soap.endpoint.ReservationEndpoint.Client;
+import com.hotel.soap.endpoint.ReservationEndpoint.Reservation;
+import com.hotel.soap.endpoint.ReservationEndpoint.StatutReservationType;
+import com.hotel.soap.endpoint.ReservationEndpoint.TypeChambreType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for converting DTOs to SOAP types, shared by all endpoints.
+ */
+@Component
+public class SoapMapper {
+
+    public Reservation toSoapReservation(ReservationDTO dto) {
+        if (dto == null) return null;
+        Reservation reservation = new Reservation();
+        reservation.setId(dto.getId());
+        reservation.setDateDebut(XmlDateConverter.toXmlDate(dto.getDateDebut()));
+        reservation.setDateFin(XmlDateConverter.toXmlDate(dto.getDateFin()));
+        if (dto.getStatut() != null) reservation.setStatut(StatutReservationType.fromValue(dto.getStatut().name()));
+        reservation.setPreferences(dto.getPreferences());
+        reservation.setNombrePersonnes(dto.getNombrePersonnes());
+        reservation.setPrixTotal(dto.getPrixTotal());
+        reservation.setCommentaires(dto.getCommentaires());
+        reservation.setClient(toSoapClient(dto.getClient()));
+        reservation.setChambre(toSoapChambre(dto.getChambre()));
+        return reservation;
+    }
+
+    public Client toSoapClient(ClientDTO dto) {
+        if (dto == null) return null;
+        Client client = new Client();
+        client.setId(dto.getId());
+        client.setNom(dto.getNom());
+        client.setPrenom(dto.getPrenom());
+        client.setEmail(dto.getEmail());
+        client.setTelephone(dto.getTelephone());
+        return client;
+    }
+
+    public Chambre toSoapChambre(ChambreDTO dto) {
+        if (dto == null) return null;
+        Chambre chambre = new Chambre();
+        chambre.setId(dto.getId());
+        chambre.setNumero(dto.getNumero());
+        if (dto.getType() != null) chambre.setType(TypeChambreType.fromValue(dto.getType().name()));
+        chambre.setPrix(dto.getPrix());
+        chambre.setDisponible(dto.getDisponible());
+        chambre.setDescription(dto.getDescription());
+        chambre.setCapaciteMax(dto.getCapaciteMax());
+        return chambre;
+    }
+
+    public Quote toSoapQuote(QuoteDTO dto) {
+        Quote quote = new Quote();
+        quote.setChambreId(dto.getChambreId());
+        quote.setNumero(dto.getNumero());
+        if (dto.getType() != null) quote.setType(TypeChambreType.fromValue(dto.getType().name()));
+        quote.setCapaciteMax(dto.getCapaciteMax());
+        quote.setPrix(dto.getPrix());
+        quote.setDateDebut(XmlDateConverter.toXmlDate(dto.getDateDebut()));
+        quote.setDateFin(XmlDateConverter.toXmlDate(dto.getDateFin()));
+        quote.setNuits(dto.getNuits());
+        quote.setPrixTotal(dto.getPrixTotal());
+        return quote;
+    }
+}
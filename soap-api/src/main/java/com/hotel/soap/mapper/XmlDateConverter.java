@@ -0,0 +1,124 @@
+package com.hotel.soap.mapper;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Thread-safe {@code LocalDate} / {@code xs:date} conversion.
+ * {@link DatatypeFactory#newInstance()} is a service-loader lookup, so the factory is resolved once.
+ * Calendars for the dates most responses contain (two years back, three years ahead) are built at startup and
+ * shared, so converting them allocates nothing. The shared calendars are read-only: their setters throw, and
+ * {@link XMLGregorianCalendar#clone()} returns a mutable copy for callers that need one.
+ */
+public final class XmlDateConverter {
+
+    private static final int DAYS_BEFORE = 2 * 366;
+    private static final int DAYS_AFTER = 3 * 366;
+
+    private static final DatatypeFactory DATATYPE_FACTORY;
+    private static final long FIRST_CACHED_DAY;
+    private static final XMLGregorianCalendar[] CACHE;
+
+    static {
+        try {
+            DATATYPE_FACTORY = DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        FIRST_CACHED_DAY = LocalDate.now().toEpochDay() - DAYS_BEFORE;
+        CACHE = new XMLGregorianCalendar[DAYS_BEFORE + DAYS_AFTER + 1];
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new ReadOnlyCalendar(create(LocalDate.ofEpochDay(FIRST_CACHED_DAY + i)));
+        }
+    }
+
+    private XmlDateConverter() {
+    }
+
+    /**
+     * The returned calendar may be shared and read-only; clone it before changing it.
+     */
+    public static XMLGregorianCalendar toXmlDate(LocalDate date) {
+        if (date == null) return null;
+        long index = date.toEpochDay() - FIRST_CACHED_DAY;
+        if (index >= 0 && index < CACHE.length) {
+            return CACHE[(int) index];
+        }
+        return create(date);
+    }
+
+    public static LocalDate toLocalDate(XMLGregorianCalendar xmlCal) {
+        if (xmlCal == null) return null;
+        return LocalDate.of(xmlCal.getYear(), xmlCal.getMonth(), xmlCal.getDay());
+    }
+
+    private static XMLGregorianCalendar create(LocalDate date) {
+        return DATATYPE_FACTORY.newXMLGregorianCalendarDate(
+                date.getYear(), date.getMonthValue(), date.getDayOfMonth(), DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    /**
+     * Delegates reads to a calendar nobody else holds and rejects every change.
+     */
+    private static final class ReadOnlyCalendar extends XMLGregorianCalendar {
+
+        private final XMLGregorianCalendar calendar;
+
+        ReadOnlyCalendar(XMLGregorianCalendar calendar) {
+            this.calendar = calendar;
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Date xs:date partagée, à cloner avant modification");
+        }
+
+        @Override public void clear() { throw readOnly(); }
+        @Override public void reset() { throw readOnly(); }
+        @Override public void setYear(BigInteger year) { throw readOnly(); }
+        @Override public void setYear(int year) { throw readOnly(); }
+        @Override public void setMonth(int month) { throw readOnly(); }
+        @Override public void setDay(int day) { throw readOnly(); }
+        @Override public void setTimezone(int offset) { throw readOnly(); }
+        @Override public void setHour(int hour) { throw readOnly(); }
+        @Override public void setMinute(int minute) { throw readOnly(); }
+        @Override public void setSecond(int second) { throw readOnly(); }
+        @Override public void setMillisecond(int millisecond) { throw readOnly(); }
+        @Override public void setFractionalSecond(BigDecimal fractional) { throw readOnly(); }
+        @Override public void add(Duration duration) { throw readOnly(); }
+
+        @Override public BigInteger getEon() { return calendar.getEon(); }
+        @Override public int getYear() { return calendar.getYear(); }
+        @Override public BigInteger getEonAndYear() { return calendar.getEonAndYear(); }
+        @Override public int getMonth() { return calendar.getMonth(); }
+        @Override public int getDay() { return calendar.getDay(); }
+        @Override public int getTimezone() { return calendar.getTimezone(); }
+        @Override public int getHour() { return calendar.getHour(); }
+        @Override public int getMinute() { return calendar.getMinute(); }
+        @Override public int getSecond() { return calendar.getSecond(); }
+        @Override public BigDecimal getFractionalSecond() { return calendar.getFractionalSecond(); }
+        @Override public int compare(XMLGregorianCalendar other) { return calendar.compare(other); }
+        @Override public XMLGregorianCalendar normalize() { return calendar.normalize(); }
+        @Override public String toXMLFormat() { return calendar.toXMLFormat(); }
+        @Override public QName getXMLSchemaType() { return calendar.getXMLSchemaType(); }
+        @Override public boolean isValid() { return calendar.isValid(); }
+        @Override public GregorianCalendar toGregorianCalendar() { return calendar.toGregorianCalendar(); }
+        @Override public TimeZone getTimeZone(int defaultZoneoffset) { return calendar.getTimeZone(defaultZoneoffset); }
+        @Override public Object clone() { return calendar.clone(); }
+
+        @Override
+        public GregorianCalendar toGregorianCalendar(TimeZone timezone, Locale locale,
+                                                     XMLGregorianCalendar defaults) {
+            return calendar.toGregorianCalendar(timezone, locale, defaults);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.soap.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.ws.transport.WebServiceConnection;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+/**
+ * Hands the resolved SOAP operation name from the endpoint pipeline to the servlet filter.
+ */
+final class SoapOperations {
+
+    static final String OPERATION_ATTRIBUTE = SoapOperations.class.getName() + ".operation";
+    static final String UNKNOWN = "UNKNOWN";
+
+    private SoapOperations() {
+    }
+
+    static void bind(String operation) {
+        TransportContext context = TransportContextHolder.getTransportContext();
+        if (context == null) return;
+        WebServiceConnection connection = context.getConnection();
+        if (connection instanceof HttpServletConnection servletConnection) {
+            servletConnection.getHttpServletRequest().setAttribute(OPERATION_ATTRIBUTE, operation);
+        }
+    }
+
+    static String of(HttpServletRequest request) {
+        Object operation = request.getAttribute(OPERATION_ATTRIBUTE);
+        return operation != null ? operation.toString() : UNKNOWN;
+    }
+}
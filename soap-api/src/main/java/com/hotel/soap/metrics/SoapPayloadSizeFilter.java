@@ -0,0 +1,148 @@
+package com.hotel.soap.metrics;
+
+import com.hotel.common.metrics.TransportMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records SOAP envelope sizes as they cross the servlet boundary. Both directions are counted as they are
+ * streamed: a chunked request has no Content-Length.
+ */
+public class SoapPayloadSizeFilter extends OncePerRequestFilter {
+
+    private final TransportMetrics transportMetrics;
+
+    public SoapPayloadSizeFilter(TransportMetrics transportMetrics) {
+        this.transportMetrics = transportMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingRequest countedRequest = new CountingRequest(request);
+        CountingResponse counted = new CountingResponse(response);
+        try {
+            chain.doFilter(countedRequest, counted);
+        } finally {
+            if (!"GET".equals(request.getMethod())) {
+                transportMetrics.recordBytes(TransportMetrics.SOAP, SoapOperations.of(request),
+                        countedRequest.count, counted.count);
+            }
+        }
+    }
+
+    private static final class CountingRequest extends HttpServletRequestWrapper {
+
+        private long count;
+        private ServletInputStream stream;
+
+        CountingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                stream = new ServletInputStream() {
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        delegate.setReadListener(listener);
+                    }
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) count++;
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = delegate.read(b, off, len);
+                        if (n > 0) count += n;
+                        return n;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long count;
+        private ServletOutputStream stream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        count++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        count += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+}
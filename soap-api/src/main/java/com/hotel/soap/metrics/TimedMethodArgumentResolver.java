@@ -0,0 +1,40 @@
+package com.hotel.soap.metrics;
+
+import com.hotel.common.metrics.TransportMetrics;
+import org.springframework.core.MethodParameter;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+
+/**
+ * Times payload unmarshalling performed by a delegate argument resolver.
+ */
+public class TimedMethodArgumentResolver implements MethodArgumentResolver {
+
+    private final MethodArgumentResolver delegate;
+    private final TransportMetrics transportMetrics;
+
+    public TimedMethodArgumentResolver(MethodArgumentResolver delegate, TransportMetrics transportMetrics) {
+        this.delegate = delegate;
+        this.transportMetrics = transportMetrics;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MessageContext messageContext, MethodParameter parameter) throws Exception {
+        if (!parameter.hasParameterAnnotation(RequestPayload.class)) {
+            return delegate.resolveArgument(messageContext, parameter);
+        }
+        String operation = parameter.getMethod() != null ? parameter.getMethod().getName() : SoapOperations.UNKNOWN;
+        SoapOperations.bind(operation);
+        long start = System.nanoTime();
+        Object argument = delegate.resolveArgument(messageContext, parameter);
+        // Payload size is recorded by the servlet filter, which sees the raw envelope
+        transportMetrics.recordRequest(TransportMetrics.SOAP, operation, -1, System.nanoTime() - start);
+        return argument;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.soap.metrics;
+
+import com.hotel.common.metrics.TransportMetrics;
+import org.springframework.core.MethodParameter;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+
+/**
+ * Times payload marshalling performed by a delegate return value handler.
+ */
+public class TimedMethodReturnValueHandler implements MethodReturnValueHandler {
+
+    private final MethodReturnValueHandler delegate;
+    private final TransportMetrics transportMetrics;
+
+    public TimedMethodReturnValueHandler(MethodReturnValueHandler delegate, TransportMetrics transportMetrics) {
+        this.delegate = delegate;
+        this.transportMetrics = transportMetrics;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return delegate.supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(MessageContext messageContext, MethodParameter returnType, Object returnValue)
+            throws Exception {
+        String operation = returnType.getMethod() != null ? returnType.getMethod().getName() : SoapOperations.UNKNOWN;
+        long start = System.nanoTime();
+        delegate.handleReturnValue(messageContext, returnType, returnValue);
+        transportMetrics.recordResponse(TransportMetrics.SOAP, operation, -1, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotel.soap.stream;
+
+import com.hotel.common.dto.ChambreDTO;
+import com.hotel.common.dto.ClientDTO;
+import com.hotel.common.dto.ReservationDTO;
+import com.hotel.soap.config.WebServiceConfig;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+
+/**
+ * Writes a {@code getAllReservationsResponse} SOAP 1.1 envelope incrementally with StAX.
+ * Element names and order follow {@code reservation.xsd}, and every element is namespace-qualified as its
+ * {@code elementFormDefault="qualified"} requires. The JAXB endpoint's hand-written classes leave the
+ * children of the response element unqualified, so the two documents differ in namespaces only.
+ */
+public class ReservationStreamWriter implements AutoCloseable {
+
+    static final String SOAP_ENV_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final String NS = WebServiceConfig.NAMESPACE_URI;
+    private static final String PREFIX = "ns2";
+
+    private final XMLStreamWriter writer;
+
+    public ReservationStreamWriter(OutputStream out) throws XMLStreamException {
+        this.writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+    }
+
+    public void writeStart() throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("SOAP-ENV", "Envelope", SOAP_ENV_NS);
+        writer.writeNamespace("SOAP-ENV", SOAP_ENV_NS);
+        writer.writeEmptyElement("SOAP-ENV", "Header", SOAP_ENV_NS);
+        writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV_NS);
+        writer.writeStartElement(PREFIX, "getAllReservationsResponse", NS);
+        writer.writeNamespace(PREFIX, NS);
+    }
+
+    public void writeReservation(ReservationDTO dto) throws XMLStreamException {
+        writer.writeStartElement(PREFIX, "reservations", NS);
+        element("id", dto.getId());
+        if (dto.getClient() != null) {
+            writeClient(dto.getClient());
+        }
+        if (dto.getChambre() != null) {
+            writeChambre(dto.getChambre());
+        }
+        element("dateDebut", dto.getDateDebut());
+        element("dateFin", dto.getDateFin());
+        element("statut", dto.getStatut() != null ? dto.getStatut().name() : null);
+        element("preferences", dto.getPreferences());
+        element("nombrePersonnes", dto.getNombrePersonnes());
+        element("prixTotal", dto.getPrixTotal() != null ? dto.getPrixTotal().toPlainString() : null);
+        element("commentaires", dto.getCommentaires());
+        writer.writeEndElement();
+    }
+
+    public void writeEnd() throws XMLStreamException {
+        writer.writeEndElement(); // getAllReservationsResponse
+        writer.writeEndElement(); // Body
+        writer.writeEndElement(); // Envelope
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    /**
+     * Writes a complete envelope holding a single SOAP 1.1 fault.
+     *
+     * @param code {@code Client} or {@code Server}
+     */
+    public static void writeFault(OutputStream out, String code, String message) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        try {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("SOAP-ENV", "Envelope", SOAP_ENV_NS);
+            writer.writeNamespace("SOAP-ENV", SOAP_ENV_NS);
+            writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV_NS);
+            writer.writeStartElement("SOAP-ENV", "Fault", SOAP_ENV_NS);
+            writer.writeStartElement("faultcode");
+            writer.writeCharacters("SOAP-ENV:" + code);
+            writer.writeEndElement();
+            writer.writeStartElement("faultstring");
+            writer.writeAttribute("xml", "http://www.w3.org/XML/1998/namespace", "lang", "fr");
+            writer.writeCharacters(message);
+            writer.writeEndElement();
+            writer.writeEndElement(); // Fault
+            writer.writeEndElement(); // Body
+            writer.writeEndElement(); // Envelope
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        writer.close();
+    }
+
+    private void writeClient(ClientDTO client) throws XMLStreamException {
+        writer.writeStartElement(PREFIX, "client", NS);
+        element("id", client.getId());
+        element("nom", client.getNom());
+        element("prenom", client.getPrenom());
+        element("email", client.getEmail());
+        element("telephone", client.getTelephone());
+        writer.writeEndElement();
+    }
+
+    private void writeChambre(ChambreDTO chambre) throws XMLStreamException {
+        writer.writeStartElement(PREFIX, "chambre", NS);
+        element("id", chambre.getId());
+        element("numero", chambre.getNumero());
+        element("type", chambre.getType() != null ? chambre.getType().name() : null);
+        element("prix", chambre.getPrix() != null ? chambre.getPrix().toPlainString() : null);
+        element("disponible", chambre.getDisponible());
+        element("description", chambre.getDescription());
+        element("capaciteMax", chambre.getCapaciteMax());
+        writer.writeEndElement();
+    }
+
+    private void element(String name, Object value) throws XMLStreamException {
+        if (value == null) return;
+        writer.writeStartElement(PREFIX, name, NS);
+        writer.writeCharacters(value.toString());
+        writer.writeEndElement();
+    }
+}
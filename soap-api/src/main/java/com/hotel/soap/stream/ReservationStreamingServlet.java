@@ -0,0 +1,69 @@
+package com.hotel.soap.stream;
+
+import com.hotel.common.service.ReservationService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * Streaming variant of {@code getAllReservations}.
+ * Rows are read from a database cursor and written to the response as they arrive,
+ * instead of building the whole JAXB tree and SAAJ DOM in memory, so memory use no
+ * longer grows with the number of reservations.
+ * The request envelope carries no parameters and is not parsed. The port is described by
+ * {@code /soap/reservationStream.wsdl}.
+ */
+@Slf4j
+public class ReservationStreamingServlet extends HttpServlet {
+
+    private final transient ReservationService reservationService;
+
+    public ReservationStreamingServlet(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("SOAP: Streaming all reservations");
+        response.setContentType("text/xml;charset=UTF-8");
+        try (ReservationStreamWriter writer = new ReservationStreamWriter(response.getOutputStream())) {
+            writer.writeStart();
+            reservationService.streamAll(dto -> {
+                try {
+                    writer.writeReservation(dto);
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("Error writing reservation " + dto.getId(), e);
+                }
+            });
+            writer.writeEnd();
+        } catch (XMLStreamException | RuntimeException e) {
+            log.error("SOAP: Error streaming reservations", e);
+            if (response.isCommitted()) {
+                // Part of the envelope is already sent: the container drops the connection, so the client
+                // sees a truncated response rather than a well-formed partial list
+                throw new IOException("Flux des réservations interrompu", e);
+            }
+            response.reset();
+            sendFault(response, "Server", "Erreur lors de la lecture des réservations");
+        }
+    }
+
+    /**
+     * Sends a SOAP 1.1 fault, with status 500 as SOAP 1.1 requires for every fault.
+     *
+     * @param code {@code Client} or {@code Server}
+     */
+    static void sendFault(HttpServletResponse response, String code, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType("text/xml;charset=UTF-8");
+        try {
+            ReservationStreamWriter.writeFault(response.getOutputStream(), code, message);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.soap.stream;
+
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.hotel.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import com.hotel.common.limit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the endpoint interceptors' limits to {@code /soap/stream}, which is a plain servlet outside
+ * the Spring-WS dispatcher. It shares the {@code getAllReservations} rate bucket with the JAXB endpoint
+ * and holds a read slot of the concurrency limiter for the whole stream, without feeding its duration to the limit.
+ */
+public class StreamingLimitFilter extends OncePerRequestFilter {
+
+    static final String OPERATION = "getAllReservations";
+
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public StreamingLimitFilter(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter.isEnabled()) {
+            String apiKey = request.getHeader(rateLimiter.getApiKeyHeader());
+            long wait = rateLimiter.tryAcquire(rateLimiter.clientOf(apiKey, request.getRemoteAddr()), OPERATION);
+            if (wait > 0) {
+                response.setHeader("Retry-After", Long.toString(RateLimiter.retryAfterSeconds(wait)));
+                ReservationStreamingServlet.sendFault(response, "Client", "Trop de requêtes, réessayez plus tard");
+                return;
+            }
+        }
+
+        Permit permit = concurrencyLimiter.tryAcquire(Priority.READ);
+        if (permit == null) {
+            response.setHeader("Retry-After", "1");
+            ReservationStreamingServlet.sendFault(response, "Server", "Service surchargé, réessayez plus tard");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // A stream lasts as long as the table is big: its duration would distort the latency signal
+            permit.releaseIgnored();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.soap.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import java.time.LocalDate;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to convert the two dates of 1,000 reservation rows: the former per-date factory lookup, a shared factory
+ * with a new calendar per date, and {@link XmlDateConverter}. Run with {@code -prof gc} to compare allocations
+ * (see docs/INSTRUCTIONS-TESTS.md).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class XmlDateConverterBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private final LocalDate[] debuts = new LocalDate[ROWS];
+    private final LocalDate[] fins = new LocalDate[ROWS];
+    private DatatypeFactory factory;
+
+    @Setup
+    public void setUp() throws DatatypeConfigurationException {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            debuts[i] = today.plusDays(i % 400);
+            fins[i] = debuts[i].plusDays(1 + i % 7);
+        }
+        factory = DatatypeFactory.newInstance();
+    }
+
+    @Benchmark
+    public void factoryLookupPerDate(Blackhole blackhole) throws DatatypeConfigurationException {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar(debuts[i])));
+            blackhole.consume(DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar(fins[i])));
+        }
+    }
+
+    @Benchmark
+    public void sharedFactory(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(date(debuts[i]));
+            blackhole.consume(date(fins[i]));
+        }
+    }
+
+    @Benchmark
+    public void converter(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(XmlDateConverter.toXmlDate(debuts[i]));
+            blackhole.consume(XmlDateConverter.toXmlDate(fins[i]));
+        }
+    }
+
+    private Object date(LocalDate date) {
+        return factory.newXMLGregorianCalendarDate(
+                date.getYear(), date.getMonthValue(), date.getDayOfMonth(), DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    private static GregorianCalendar calendar(LocalDate date) {
+        GregorianCalendar calendar = new GregorianCalendar();
+        calendar.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth());
+        return calendar;
+    }
+}